@@ -0,0 +1,162 @@
+package benchmark;
+
+import building.Building;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import scanerzus.Request;
+
+/**
+ * Throughput of the Building.addRequest overloads.
+ * The string path is compared with the CharSequence, ByteBuffer and int paths,
+ * and with the split-and-parse ingestion the building used to do.
+ * The building's request queues are emptied after every call
+ * so the measurement does not include the queues growing.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AddRequestBenchmark {
+
+  @Param({"3", "10", "30"})
+  int numberOfFloors;
+
+  @Param({"UP", "DOWN", "MIXED"})
+  RequestMix mix;
+
+  private Building building;
+  private String input;
+  private StringBuilder inputChars;
+  private ByteBuffer inputBytes;
+  private int[] inputFloors;
+  private int[] inputStarts;
+  private int[] inputEnds;
+
+  /**
+   * Create and start the building.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    building = new Building(numberOfFloors, 1, 20);
+    building.startElevatorSystem();
+    input = mix.inputFor(numberOfFloors);
+    inputChars = new StringBuilder(input);
+    inputBytes = ByteBuffer.wrap(input.getBytes(StandardCharsets.US_ASCII));
+    String[] parts = input.split(" ");
+    inputFloors = new int[parts.length];
+    for (int i = 0; i < parts.length; i++) {
+      inputFloors[i] = Integer.parseInt(parts[i]);
+    }
+    inputStarts = new int[parts.length / 2];
+    inputEnds = new int[parts.length / 2];
+    for (int i = 0; i < inputStarts.length; i++) {
+      inputStarts[i] = inputFloors[2 * i];
+      inputEnds[i] = inputFloors[2 * i + 1];
+    }
+  }
+
+  /**
+   * Add one request line to the building.
+   *
+   * @return the result of addRequest
+   */
+  @Benchmark
+  public boolean addRequest() {
+    boolean added = building.addRequest(input);
+    clearRequests();
+    return added;
+  }
+
+  /**
+   * Add one request line from a CharSequence.
+   *
+   * @return the result of addRequest
+   */
+  @Benchmark
+  public boolean addRequestCharSequence() {
+    boolean added = building.addRequest(inputChars);
+    clearRequests();
+    return added;
+  }
+
+  /**
+   * Add one request line from an ASCII ByteBuffer.
+   *
+   * @return the result of addRequest
+   */
+  @Benchmark
+  public boolean addRequestByteBuffer() {
+    boolean added = building.addRequest(inputBytes);
+    clearRequests();
+    return added;
+  }
+
+  /**
+   * Add the already parsed floors one pair at a time.
+   *
+   * @return the result of the last addRequest
+   */
+  @Benchmark
+  public boolean addRequestFloors() {
+    boolean added = false;
+    for (int i = 0; i < inputFloors.length; i += 2) {
+      added = building.addRequest(inputFloors[i], inputFloors[i + 1]);
+    }
+    clearRequests();
+    return added;
+  }
+
+  /**
+   * Add the already parsed floors as one batch.
+   *
+   * @return the result of addRequests
+   */
+  @Benchmark
+  public boolean addRequestsBatch() {
+    boolean added = building.addRequests(inputStarts, inputEnds);
+    clearRequests();
+    return added;
+  }
+
+  /**
+   * The ingestion the building used to do: String.split,
+   * Integer.parseInt and a fresh list of requests per call.
+   *
+   * @return the result of the last addRequest
+   */
+  @Benchmark
+  public boolean addRequestSplitBaseline() {
+    String[] parts = input.split(" ");
+    List<Request> requests = new ArrayList<>();
+    for (int i = 0; i < parts.length; i += 2) {
+      requests.add(new Request(Integer.parseInt(parts[i]), Integer.parseInt(parts[i + 1])));
+    }
+    boolean added = false;
+    for (Request request : requests) {
+      added = building.addRequest(request.getStartFloor(), request.getEndFloor());
+    }
+    clearRequests();
+    return added;
+  }
+
+  private void clearRequests() {
+    building.clearRequests();
+  }
+}
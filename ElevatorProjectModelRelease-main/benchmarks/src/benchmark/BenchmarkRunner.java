@@ -0,0 +1,33 @@
+package benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The entry point of the benchmark jar.
+ * It accepts the usual JMH command line options
+ * and always adds the gc profiler, so every run reports
+ * the allocation rate next to the ops/s.
+ */
+public class BenchmarkRunner {
+
+  /**
+   * Run the benchmarks.
+   *
+   * @param args the JMH command line options
+   * @throws RunnerException if a benchmark fails
+   * @throws CommandLineOptionException if the options are invalid
+   */
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    Options options = new OptionsBuilder()
+        .parent(new CommandLineOptions(args))
+        .addProfiler(GCProfiler.class)
+        .build();
+    new Runner(options).run();
+  }
+}
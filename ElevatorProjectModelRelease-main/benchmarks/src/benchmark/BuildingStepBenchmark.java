@@ -0,0 +1,77 @@
+package benchmark;
+
+import building.Building;
+import building.enums.DispatchMode;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of Building.step() for a running building.
+ * A new request of the configured mix is added every few ticks,
+ * as long as the backlog in the building is below one elevator capacity.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BuildingStepBenchmark {
+
+  @Param({"3", "10", "30"})
+  int numberOfFloors;
+
+  @Param({"1", "8", "64", "1024"})
+  int numberOfElevators;
+
+  @Param({"NONE", "UP", "DOWN", "MIXED"})
+  RequestMix mix;
+
+  @Param({"4"})
+  int ticksBetweenRequests;
+
+  @Param({"firstAvailable", "allAvailable"})
+  DispatchMode dispatchMode;
+
+  private Building building;
+  private String input;
+  private int tick;
+
+  /**
+   * Create and start the building.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    building = new Building(numberOfFloors, numberOfElevators, 20, dispatchMode);
+    building.startElevatorSystem();
+    input = mix.inputFor(numberOfFloors);
+    tick = 0;
+  }
+
+  /**
+   * One simulated tick.
+   *
+   * @return the building, so the step cannot be eliminated
+   */
+  @Benchmark
+  public Building step() {
+    if (mix != RequestMix.NONE && ++tick % ticksBetweenRequests == 0
+        && building.getUpRequestCount() < building.getElevatorCapacity()
+        && building.getDownRequestCount() < building.getElevatorCapacity()) {
+      building.addRequest(input);
+    }
+    building.step();
+    return building;
+  }
+}
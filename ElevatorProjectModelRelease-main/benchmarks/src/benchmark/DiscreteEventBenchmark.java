@@ -0,0 +1,91 @@
+package benchmark;
+
+import building.Building;
+import building.DiscreteEventSimulation;
+import building.enums.DispatchMode;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Simulated ticks per second with sparse traffic,
+ * stepping one tick at a time compared with a DiscreteEventSimulation.
+ * One up and one down request arrive every ticksBetweenRequests ticks.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DiscreteEventBenchmark {
+
+  @Param({"30"})
+  int numberOfFloors;
+
+  @Param({"8", "64"})
+  int numberOfElevators;
+
+  @Param({"100", "10000"})
+  int ticksBetweenRequests;
+
+  private Building steppedBuilding;
+  private Building simulatedBuilding;
+  private DiscreteEventSimulation simulation;
+
+  /**
+   * Create and start the buildings.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    steppedBuilding = new Building(numberOfFloors, numberOfElevators, 20,
+        DispatchMode.allAvailable);
+    steppedBuilding.startElevatorSystem();
+    simulatedBuilding = new Building(numberOfFloors, numberOfElevators, 20,
+        DispatchMode.allAvailable);
+    simulatedBuilding.startElevatorSystem();
+    simulation = new DiscreteEventSimulation(simulatedBuilding);
+  }
+
+  /**
+   * Two requests followed by ticksBetweenRequests calls to step().
+   *
+   * @return the building
+   */
+  @Benchmark
+  public Building step() {
+    int top = numberOfFloors - 1;
+    steppedBuilding.addRequest(1, top);
+    steppedBuilding.addRequest(top, 0);
+    for (int i = 0; i < ticksBetweenRequests; i++) {
+      steppedBuilding.step();
+    }
+    return steppedBuilding;
+  }
+
+  /**
+   * Two requests scheduled at the current tick,
+   * then the simulation run for ticksBetweenRequests ticks.
+   *
+   * @return the building
+   */
+  @Benchmark
+  public Building discreteEvent() {
+    int top = numberOfFloors - 1;
+    long now = simulation.getCurrentTick();
+    simulation.scheduleRequest(now, 1, top);
+    simulation.scheduleRequest(now, top, 0);
+    simulation.runUntil(now + ticksBetweenRequests);
+    return simulatedBuilding;
+  }
+}
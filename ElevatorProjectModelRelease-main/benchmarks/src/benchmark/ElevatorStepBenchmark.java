@@ -0,0 +1,79 @@
+package benchmark;
+
+import elevator.Elevator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import scanerzus.Request;
+
+/**
+ * Throughput of Elevator.step() for a single elevator.
+ * Whenever the elevator is waiting at the bottom or the top
+ * it is handed the requests of the configured mix.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ElevatorStepBenchmark {
+
+  @Param({"3", "10", "30"})
+  int numberOfFloors;
+
+  @Param({"NONE", "UP", "DOWN", "MIXED"})
+  RequestMix mix;
+
+  private Elevator elevator;
+  private List<Request> upRequests;
+  private List<Request> downRequests;
+
+  /**
+   * Create and start the elevator.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    elevator = new Elevator(numberOfFloors, 20);
+    elevator.start();
+    int top = numberOfFloors - 1;
+    upRequests = new ArrayList<>();
+    downRequests = new ArrayList<>();
+    if (mix == RequestMix.UP || mix == RequestMix.MIXED) {
+      upRequests.add(new Request(1, top));
+    }
+    if (mix == RequestMix.DOWN || mix == RequestMix.MIXED) {
+      downRequests.add(new Request(top, 0));
+    }
+  }
+
+  /**
+   * One simulated tick.
+   *
+   * @return the elevator, so the step cannot be eliminated
+   */
+  @Benchmark
+  public Elevator step() {
+    if (elevator.isTakingRequests()) {
+      if (elevator.getCurrentFloor() == 0) {
+        elevator.processRequests(upRequests);
+      } else {
+        elevator.processRequests(downRequests);
+      }
+    }
+    elevator.step();
+    return elevator;
+  }
+}
@@ -0,0 +1,79 @@
+package benchmark;
+
+import building.Building;
+import building.enums.DispatchMode;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Simulated ticks per second with sparse traffic,
+ * stepping one tick at a time compared with Building.advance().
+ * One request arrives every ticksBetweenRequests ticks.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FastForwardBenchmark {
+
+  @Param({"30"})
+  int numberOfFloors;
+
+  @Param({"8", "64"})
+  int numberOfElevators;
+
+  @Param({"100", "10000"})
+  int ticksBetweenRequests;
+
+  private Building building;
+  private String input;
+
+  /**
+   * Create and start the building.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    building = new Building(numberOfFloors, numberOfElevators, 20, DispatchMode.allAvailable);
+    building.startElevatorSystem();
+    input = RequestMix.MIXED.inputFor(numberOfFloors);
+  }
+
+  /**
+   * One request followed by ticksBetweenRequests calls to step().
+   *
+   * @return the building
+   */
+  @Benchmark
+  public Building step() {
+    building.addRequest(input);
+    for (int i = 0; i < ticksBetweenRequests; i++) {
+      building.step();
+    }
+    return building;
+  }
+
+  /**
+   * One request followed by advance(ticksBetweenRequests).
+   *
+   * @return the building
+   */
+  @Benchmark
+  public Building advance() {
+    building.addRequest(input);
+    building.advance(ticksBetweenRequests);
+    return building;
+  }
+}
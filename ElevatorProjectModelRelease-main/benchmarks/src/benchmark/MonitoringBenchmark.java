@@ -0,0 +1,100 @@
+package benchmark;
+
+import building.Building;
+import building.BuildingReport;
+import building.MetricsSnapshot;
+import building.MutableBuildingReport;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A monitoring loop: step the building and read its status every tick,
+ * either as a new BuildingReport or into one reused MutableBuildingReport,
+ * or read its metrics as a MetricsSnapshot.
+ * The gc profiler should show 0 B/op for the reused report.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MonitoringBenchmark {
+
+  @Param({"30"})
+  int numberOfFloors;
+
+  @Param({"8", "64"})
+  int numberOfElevators;
+
+  private Building building;
+  private MutableBuildingReport reuse;
+  private int[] startFloors;
+  private int[] endFloors;
+
+  /**
+   * Create and start the building, and the requests that keep it busy.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    building = new Building(numberOfFloors, numberOfElevators, 20);
+    building.startElevatorSystem();
+    reuse = new MutableBuildingReport();
+    startFloors = new int[] {1, numberOfFloors - 1};
+    endFloors = new int[] {numberOfFloors - 1, 0};
+  }
+
+  /**
+   * Step the building and take a new report.
+   *
+   * @return the report
+   */
+  @Benchmark
+  public BuildingReport newReport() {
+    this.stepBusy();
+    return building.getElevatorSystemStatus();
+  }
+
+  /**
+   * Step the building and fill the reused report.
+   *
+   * @return the report
+   */
+  @Benchmark
+  public MutableBuildingReport reusedReport() {
+    this.stepBusy();
+    return building.getElevatorSystemStatus(reuse);
+  }
+
+  /**
+   * Step the building and take a snapshot of its metrics.
+   *
+   * @return the snapshot
+   */
+  @Benchmark
+  public MetricsSnapshot metricsSnapshot() {
+    this.stepBusy();
+    return building.getMetrics().snapshot();
+  }
+
+  /**
+   * Step the building, adding more requests once the queues are empty.
+   */
+  private void stepBusy() {
+    if (building.getUpRequestCount() == 0 && building.getDownRequestCount() == 0) {
+      building.addRequests(startFloors, endFloors);
+    }
+    building.step();
+  }
+}
@@ -0,0 +1,87 @@
+package benchmark;
+
+import building.Building;
+import building.enums.DispatchMode;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of Building.step() for a large bank of elevators,
+ * stepped on a fork-join pool with a growing number of threads.
+ * A parallelism of 0 steps the elevators on the calling thread.
+ * Every car is kept busy by adding a mixed request every tick
+ * while the backlog is below one elevator capacity.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParallelStepBenchmark {
+
+  @Param({"30"})
+  int numberOfFloors;
+
+  @Param({"256", "4096"})
+  int numberOfElevators;
+
+  @Param({"0", "1", "2", "4", "8"})
+  int parallelism;
+
+  private Building building;
+  private ForkJoinPool pool;
+  private String input;
+
+  /**
+   * Create and start the building, and the pool it steps on.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    building = new Building(numberOfFloors, numberOfElevators, 20, DispatchMode.allAvailable);
+    if (parallelism > 0) {
+      pool = new ForkJoinPool(parallelism);
+      building.setStepPool(pool);
+    }
+    building.startElevatorSystem();
+    input = RequestMix.MIXED.inputFor(numberOfFloors);
+  }
+
+  /**
+   * Shut the pool down.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (pool != null) {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * One simulated tick.
+   *
+   * @return the building, so the step cannot be eliminated
+   */
+  @Benchmark
+  public Building step() {
+    if (building.getUpRequestCount() < building.getElevatorCapacity()
+        && building.getDownRequestCount() < building.getElevatorCapacity()) {
+      building.addRequest(input);
+    }
+    building.step();
+    return building;
+  }
+}
@@ -0,0 +1,78 @@
+package benchmark;
+
+import building.Building;
+import building.BuildingReport;
+import building.MutableBuildingReport;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time to render the text of a building report,
+ * with toString() and into a reused StringBuilder.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RenderBenchmark {
+
+  @Param({"10", "30"})
+  int numberOfFloors;
+
+  @Param({"8", "64"})
+  int numberOfElevators;
+
+  private BuildingReport report;
+  private MutableBuildingReport reuse;
+  private StringBuilder text;
+
+  /**
+   * Create a building with some requests and take its reports.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    Building building = new Building(numberOfFloors, numberOfElevators, 20);
+    building.startElevatorSystem();
+    building.addRequest(RequestMix.MIXED.inputFor(numberOfFloors));
+    for (int i = 0; i < 3; i++) {
+      building.step();
+    }
+    report = building.getElevatorSystemStatus();
+    reuse = building.getElevatorSystemStatus(new MutableBuildingReport());
+    text = new StringBuilder();
+  }
+
+  /**
+   * Render the report with toString().
+   *
+   * @return the text
+   */
+  @Benchmark
+  public String toStringReport() {
+    return report.toString();
+  }
+
+  /**
+   * Render the reused report into the reused builder.
+   *
+   * @return the builder
+   */
+  @Benchmark
+  public StringBuilder appendReusedReport() {
+    text.setLength(0);
+    return reuse.appendTo(text);
+  }
+}
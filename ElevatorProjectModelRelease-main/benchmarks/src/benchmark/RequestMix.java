@@ -0,0 +1,33 @@
+package benchmark;
+
+/**
+ * The request mixes used by the benchmarks.
+ * Each mix is rendered in the same "startFloor endFloor ..." format
+ * that the building accepts from the console.
+ */
+public enum RequestMix {
+  NONE,
+  UP,
+  DOWN,
+  MIXED;
+
+  /**
+   * Build the request input for a building with the given number of floors.
+   *
+   * @param numberOfFloors the number of floors in the building
+   * @return the request input, or an empty string for NONE
+   */
+  public String inputFor(int numberOfFloors) {
+    int top = numberOfFloors - 1;
+    switch (this) {
+      case UP:
+        return "1 " + top;
+      case DOWN:
+        return top + " 0";
+      case MIXED:
+        return "1 " + top + " " + top + " 0";
+      default:
+        return "";
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package benchmark;
+
+import building.Building;
+import building.enums.DispatchMode;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time for three producer threads to each submit a batch of requests
+ * with Building.submitRequest() while a fourth thread steps the building.
+ * Each iteration is one batch per thread, so the submitted requests
+ * are bounded even when the stepping thread is not scheduled;
+ * the backlog is thrown away between iterations.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = 200_000)
+@Measurement(iterations = 10, batchSize = 200_000)
+@Fork(1)
+@State(Scope.Group)
+public class SubmitRequestBenchmark {
+
+  @Param({"30"})
+  int numberOfFloors;
+
+  @Param({"8", "64"})
+  int numberOfElevators;
+
+  private Building building;
+
+  /**
+   * Create and start the building.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    building = new Building(numberOfFloors, numberOfElevators, 20, DispatchMode.allAvailable);
+    building.startElevatorSystem();
+  }
+
+  /**
+   * Throw away the backlog once every thread is done.
+   */
+  @TearDown(Level.Iteration)
+  public void clearBacklog() {
+    building.clearRequests();
+  }
+
+  /**
+   * Submit one up request.
+   */
+  @Benchmark
+  @Group("submitWhileStepping")
+  @GroupThreads(3)
+  public void submit() {
+    building.submitRequest(1, numberOfFloors - 1);
+  }
+
+  /**
+   * One simulated tick, which drains the submitted requests.
+   *
+   * @return the building
+   */
+  @Benchmark
+  @Group("submitWhileStepping")
+  @GroupThreads(1)
+  public Building step() {
+    if (building.getUpRequestCount() > 10_000) {
+      building.clearRequests();
+    }
+    building.step();
+    return building;
+  }
+}
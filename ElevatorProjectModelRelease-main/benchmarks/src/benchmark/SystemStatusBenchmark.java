@@ -0,0 +1,107 @@
+package benchmark;
+
+import building.Building;
+import building.BuildingReport;
+import building.BuildingReportDelta;
+import building.BuildingSnapshot;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of Building.getElevatorSystemStatus() and of the packed
+ * Building.getElevatorSystemSnapshot(), and of monitoring
+ * every tick with a full report or with a delta.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SystemStatusBenchmark {
+
+  @Param({"3", "10", "30"})
+  int numberOfFloors;
+
+  @Param({"1", "8", "64", "1024"})
+  int numberOfElevators;
+
+  private Building building;
+
+  /**
+   * Create and start the building, then step it a few times
+   * so the elevators are not all in their initial state.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    building = new Building(numberOfFloors, numberOfElevators, 20);
+    building.startElevatorSystem();
+    building.addRequest(RequestMix.MIXED.inputFor(numberOfFloors));
+    for (int i = 0; i < 3; i++) {
+      building.step();
+    }
+  }
+
+  /**
+   * Take one report of the elevator system.
+   *
+   * @return the report
+   */
+  @Benchmark
+  public BuildingReport getElevatorSystemStatus() {
+    return building.getElevatorSystemStatus();
+  }
+
+  /**
+   * Take one packed snapshot of the elevator system.
+   *
+   * @return the snapshot
+   */
+  @Benchmark
+  public BuildingSnapshot getElevatorSystemSnapshot() {
+    return building.getElevatorSystemSnapshot();
+  }
+
+  /**
+   * Step the building and take a full report, keeping the elevators busy.
+   *
+   * @return the report
+   */
+  @Benchmark
+  public BuildingReport stepThenFullStatus() {
+    this.stepBusy();
+    return building.getElevatorSystemStatus();
+  }
+
+  /**
+   * Step the building and take a delta, keeping the elevators busy.
+   *
+   * @return the delta
+   */
+  @Benchmark
+  public BuildingReportDelta stepThenDelta() {
+    this.stepBusy();
+    return building.getElevatorSystemStatusDelta();
+  }
+
+  /**
+   * Step the building, adding more requests once the queues are empty.
+   */
+  private void stepBusy() {
+    if (building.getUpRequestCount() == 0 && building.getDownRequestCount() == 0) {
+      building.addRequest(RequestMix.MIXED.inputFor(numberOfFloors));
+    }
+    building.step();
+  }
+}
@@ -0,0 +1,79 @@
+package benchmark;
+
+import building.Building;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import simulation.TrafficGenerator;
+import simulation.TrafficPattern;
+
+/**
+ * Cost of generating one tick of traffic, alone and together with the step it feeds,
+ * so generating requests can be compared with simulating them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TrafficGeneratorBenchmark {
+
+  @Param({"30"})
+  int numberOfFloors;
+
+  @Param({"16"})
+  int numberOfElevators;
+
+  @Param({"0.2", "2"})
+  double arrivalRate;
+
+  private TrafficGenerator traffic;
+  private Building building;
+
+  /**
+   * Create the generator and the building.
+   */
+  @Setup(Level.Iteration)
+  public void setUp() {
+    traffic = new TrafficGenerator(numberOfFloors, TrafficPattern.UP_PEAK, arrivalRate, 1);
+    building = new Building(numberOfFloors, numberOfElevators, 20);
+    building.startElevatorSystem();
+  }
+
+  /**
+   * Generate one tick of traffic.
+   *
+   * @return the number of requests
+   */
+  @Benchmark
+  public int nextTick() {
+    return traffic.nextTick();
+  }
+
+  /**
+   * Generate one tick of traffic into the building and step it.
+   * The backlog is thrown away when it gets long, so the queues stay small.
+   *
+   * @return the building
+   */
+  @Benchmark
+  public Building addToAndStep() {
+    if (building.getUpRequestCount() + building.getDownRequestCount() > 1000) {
+      building.clearRequests();
+    }
+    traffic.addTo(building);
+    building.step();
+    return building;
+  }
+}
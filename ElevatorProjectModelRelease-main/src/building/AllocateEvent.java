@@ -0,0 +1,42 @@
+package building;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event for one Building.allocateRequest()
+ * that had requests waiting.
+ * It is disabled by default; enable "building.Allocate" in a recording to see it.
+ */
+@Name("building.Allocate")
+@Label("Allocate Requests")
+@Description("Hand the waiting requests to the elevators that can take them")
+@Category({"Elevator Simulation", "Building"})
+@Enabled(false)
+@StackTrace(false)
+final class AllocateEvent extends Event {
+
+  @Label("Tick")
+  long tick;
+
+  @Label("Up Queue Depth")
+  @Description("The up requests waiting before the allocation")
+  int upQueueDepth;
+
+  @Label("Down Queue Depth")
+  @Description("The down requests waiting before the allocation")
+  int downQueueDepth;
+
+  @Label("Batches")
+  @Description("The number of elevators given requests")
+  int batches;
+
+  @Label("Requests")
+  @Description("The number of requests given to the elevators")
+  int requests;
+}
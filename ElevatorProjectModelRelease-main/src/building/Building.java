@@ -1,12 +1,15 @@
 package building;
 
-import building.enums.Direction;
+import building.enums.DispatchMode;
 import building.enums.ElevatorSystemStatus;
 import elevator.Elevator;
 import elevator.ElevatorInterface;
 import elevator.ElevatorReport;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import scanerzus.Request;
@@ -17,23 +20,55 @@ import scanerzus.Request;
  * The building has the number of floors,
  * the number of elevators, the elevator capacity,
  * the system status, the list of elevators,
- * the list of up requests, and the list of down requests.
+ * the queue of up requests, and the queue of down requests.
+ * The request queues hold any backlog; requests wait in them until
+ * an elevator can take them, at most one elevator capacity at a time.
  * It is used to receive requests and give the requests to the elevators.
  * The class building can receive new requests when the elevators are moving,
  * and start or stop the elevator system.
+ * The elevators can be stepped in parallel on a fork-join pool,
+ * after the requests have been allocated on the calling thread.
+ * The building is stepped by one thread; any other thread can only
+ * submitRequest(), which is queued without locks until the next step.
+ * The status can be read in full, into a caller-owned report that is reused,
+ * as an immutable snapshot with each elevator packed into a long,
+ * or as deltas that only hold what changed since the last delta.
+ * step(), allocateRequest() and stopElevatorSystem() emit Flight Recorder
+ * events, which are disabled unless a recording enables them.
  */
 public class Building implements BuildingInterface {
 
   private final int numberOfFloors;
   private final int numberOfElevators;
   private final int elevatorCapacity;
-  private ElevatorSystemStatus systemStatus;
+  private final DispatchMode dispatchMode;
+  private volatile ElevatorSystemStatus systemStatus;
+  private long currentTick;
   private List<Elevator> elevators;
-  private List<Request> upRequests;
-  private List<Request> downRequests;
+  private final RequestQueue upRequests;
+  private final RequestQueue downRequests;
+  private final SubmissionQueue submittedUpRequests;
+  private final SubmissionQueue submittedDownRequests;
+  private volatile int submissionGeneration;
+  private final RequestParser requestParser = new RequestParser();
+  private final int[] batchStartFloors;
+  private final int[] batchEndFloors;
+  private final long[] batchArrivalTicks;
+  private DispatchListener dispatchListener;
+  private final BitSet canGoUpElevators;
+  private final BitSet canGoDownElevators;
+  private final boolean[] takingRequestsChanged;
+  private boolean steppingInParallel;
+  private ForkJoinPool stepPool;
+  private final long[] reportedElevatorVersions;
+  private long reportedUpVersion;
+  private long reportedDownVersion;
+  private long deltaVersion;
+  private final BuildingMetrics metrics;
 
   /**
    * The constructor for the building.
+   * Requests are handed to the first elevator that can take them.
    *
    * @param numberOfFloors the number of floors in the building.
    * @param numberOfElevators the number of elevators in the building.
@@ -45,6 +80,24 @@ public class Building implements BuildingInterface {
    *                                 or greater than 20
    */
   public Building(int numberOfFloors, int numberOfElevators, int elevatorCapacity) {
+    this(numberOfFloors, numberOfElevators, elevatorCapacity, DispatchMode.firstAvailable);
+  }
+
+  /**
+   * The constructor for the building.
+   *
+   * @param numberOfFloors the number of floors in the building.
+   * @param numberOfElevators the number of elevators in the building.
+   * @param elevatorCapacity the capacity of the elevators in the building.
+   * @param dispatchMode how requests are handed to the elevators that can take them.
+   *
+   * @throws IllegalArgumentException if the number of floors is less than 3 or greater than 30,
+   *                                 if the number of elevators is less than or equal to 0,
+   *                                 or if the elevator capacity is less than or equal to 3
+   *                                 or greater than 20
+   */
+  public Building(int numberOfFloors, int numberOfElevators, int elevatorCapacity,
+                  DispatchMode dispatchMode) {
     if (numberOfFloors < 3 || numberOfFloors > 30) {
       throw new IllegalArgumentException("The number of floors must be "
           + "at least 3 and less than or equal to 30.");
@@ -63,17 +116,32 @@ public class Building implements BuildingInterface {
     this.numberOfFloors = numberOfFloors;
     this.numberOfElevators = numberOfElevators;
     this.elevatorCapacity = elevatorCapacity;
+    this.dispatchMode = dispatchMode;
     this.systemStatus = ElevatorSystemStatus.outOfService; // Default status
 
-    // Initialize elevators list
+    // Initialize elevators list, and the index of the elevators that can take requests.
+    // Each elevator tells the building when it starts or stops taking requests.
     this.elevators = new ArrayList<>();
+    this.canGoUpElevators = new BitSet(numberOfElevators);
+    this.canGoDownElevators = new BitSet(numberOfElevators);
+    this.takingRequestsChanged = new boolean[numberOfElevators];
+    this.reportedElevatorVersions = new long[numberOfElevators];
     for (int i = 0; i < numberOfElevators; i++) {
-      this.elevators.add(new Elevator(numberOfFloors, elevatorCapacity));
+      Elevator elevator = new Elevator(i, numberOfFloors, elevatorCapacity);
+      final int index = i;
+      elevator.setListener(changed -> this.takingRequestsChanged(index, changed));
+      this.elevators.add(elevator);
     }
 
-    // Initialize request lists
-    this.upRequests = new ArrayList<>();
-    this.downRequests = new ArrayList<>();
+    // Initialize request queues and the buffers used to hand a batch to an elevator
+    this.upRequests = new RequestQueue();
+    this.downRequests = new RequestQueue();
+    this.submittedUpRequests = new SubmissionQueue();
+    this.submittedDownRequests = new SubmissionQueue();
+    this.batchStartFloors = new int[elevatorCapacity];
+    this.batchEndFloors = new int[elevatorCapacity];
+    this.batchArrivalTicks = new long[elevatorCapacity];
+    this.metrics = new BuildingMetrics(this);
 
   }
 
@@ -102,72 +170,238 @@ public class Building implements BuildingInterface {
     return this.elevatorCapacity;
   }
 
+  @Override
+  public DispatchMode getDispatchMode() {
+    return this.dispatchMode;
+  }
+
   @Override
   public List<Request> getUpRequests() {
-    return this.upRequests;
+    return this.upRequests.toList();
   }
 
   @Override
   public List<Request> getDownRequests() {
-    return this.downRequests;
+    return this.downRequests.toList();
+  }
+
+  @Override
+  public int getUpRequestCount() {
+    return this.upRequests.size();
+  }
+
+  @Override
+  public int getDownRequestCount() {
+    return this.downRequests.size();
+  }
+
+  /**
+   * Removes all the requests waiting in the building.
+   * The submitted requests that have not been drained yet are thrown away
+   * at the next drain, by starting a new submission generation, since the
+   * submission queues must not be changed while other threads submit.
+   * Only the thread that steps the building may call this.
+   */
+  @Override
+  public void clearRequests() {
+    this.upRequests.clear();
+    this.downRequests.clear();
+    this.submissionGeneration++;
   }
 
   @Override
   public boolean addRequest(String inputRequest) {
-    if (systemStatus != ElevatorSystemStatus.running) {
-      throw new IllegalStateException("The elevator system is not running, "
-          + "so it cannot accept requests.");
+    return this.addRequest((CharSequence) inputRequest);
+  }
+
+  @Override
+  public BuildingMetrics getMetrics() {
+    return this.metrics;
+  }
+
+  @Override
+  public boolean addRequest(CharSequence inputRequest) {
+    this.checkAcceptingRequests();
+    this.requestParser.reset(inputRequest);
+    return this.addParsedRequests();
+  }
+
+  @Override
+  public boolean addRequest(ByteBuffer inputRequest) {
+    this.checkAcceptingRequests();
+    this.requestParser.reset(inputRequest);
+    return this.addParsedRequests();
+  }
+
+  @Override
+  public boolean addRequest(int startFloor, int endFloor) {
+    this.checkAcceptingRequests();
+    this.checkRequestFloors(startFloor, endFloor);
+    this.enqueueRequest(startFloor, endFloor);
+    return true;
+  }
+
+  @Override
+  public void submitRequest(int startFloor, int endFloor) {
+    // Read the generation before the status: stopElevatorSystem() sets the status
+    // before it starts a new generation, so a request that still sees the system
+    // running after a stop began carries the old generation and is thrown away.
+    int generation = this.submissionGeneration;
+    this.checkAcceptingRequests();
+    this.checkRequestFloors(startFloor, endFloor);
+    if (startFloor < endFloor) {
+      submittedUpRequests.add(startFloor, endFloor, generation);
+    } else {
+      submittedDownRequests.add(startFloor, endFloor, generation);
     }
+  }
 
-    // Split the input request into individual requests
-    List<Request> requests = splitRequest(inputRequest);
+  /**
+   * Move the submitted requests into the request queues.
+   * They arrive at the current tick, and are counted as accepted here,
+   * since the requests submitted before the requests were last cleared
+   * are thrown away instead. Only the thread stepping the building calls this.
+   */
+  void drainSubmittedRequests() {
+    int generation = this.submissionGeneration;
+    if (!submittedUpRequests.isEmpty()) {
+      metrics.requestsAdded(submittedUpRequests.drainTo(upRequests, currentTick, generation));
+    }
+    if (!submittedDownRequests.isEmpty()) {
+      metrics.requestsAdded(
+          submittedDownRequests.drainTo(downRequests, currentTick, generation));
+    }
+  }
 
-    // Add each request to the appropriate list (upRequests or downRequests)
-    for (Request request : requests) {
-      if (request.getStartFloor() < request.getEndFloor()) {
-        upRequests.add(request);
-        if (upRequests.size() > this.elevatorCapacity) {
-          throw new IllegalArgumentException("The number of up requests exceeds the elevator capacity.");
-        }
-      } else {
-        if (downRequests.size() > this.elevatorCapacity) {
-          throw new IllegalArgumentException("The number of down requests exceeds the elevator capacity.");
-        }
-        downRequests.add(request);
+  @Override
+  public boolean addRequests(int[] startFloors, int[] endFloors) {
+    if (startFloors.length != endFloors.length) {
+      metrics.requestRejected();
+      throw new IllegalArgumentException("Every start floor must have an end floor.");
+    }
+    return this.addRequests(startFloors, endFloors, startFloors.length);
+  }
+
+  @Override
+  public boolean addRequests(int[] startFloors, int[] endFloors, int count) {
+    this.checkAcceptingRequests();
+    if (count < 0 || count > startFloors.length || count > endFloors.length) {
+      metrics.requestRejected();
+      throw new IllegalArgumentException("The number of requests must be between 0 "
+          + "and the length of the floor arrays.");
+    }
+
+    // Check every request before the first one is added
+    for (int i = 0; i < count; i++) {
+      this.checkRequestFloors(startFloors[i], endFloors[i]);
+    }
+
+    for (int i = 0; i < count; i++) {
+      this.enqueueRequest(startFloors[i], endFloors[i]);
+    }
+    return true;
+  }
+
+  /**
+   * This method is used to add the requests read by the request parser.
+   * The whole input is checked before the first request is added,
+   * so an invalid input does not leave half of its requests behind.
+   *
+   * @return true if the requests were successfully added
+   * @throws IllegalArgumentException if the input request is invalid
+   */
+  private boolean addParsedRequests() {
+    try {
+      this.requestParser.countFloors();
+
+      while (this.requestParser.hasNextFloor()) {
+        int startFloor = this.requestParser.nextFloor();
+        this.requestParser.hasNextFloor();
+        int endFloor = this.requestParser.nextFloor();
+        this.checkFloors(startFloor, endFloor);
       }
+    } catch (IllegalArgumentException e) {
+      metrics.requestRejected();
+      throw e;
+    }
+
+    this.requestParser.rewind();
+    while (this.requestParser.hasNextFloor()) {
+      int startFloor = this.requestParser.nextFloor();
+      this.requestParser.hasNextFloor();
+      int endFloor = this.requestParser.nextFloor();
+      this.enqueueRequest(startFloor, endFloor);
     }
     return true; // Indicate that the request was successfully added
   }
 
   /**
-   * This method is used to split the input request into individual requests.
+   * This method is used to add one checked request
+   * to the appropriate queue (upRequests or downRequests).
    *
-   * @param inputRequest the input request
-   * @return the list of individual requests
-   * @throws IllegalArgumentException if the input request is invalid
+   * @param startFloor the start floor of the request
+   * @param endFloor the end floor of the request
+   */
+  private void enqueueRequest(int startFloor, int endFloor) {
+    metrics.requestsAdded(1);
+    if (startFloor < endFloor) {
+      upRequests.add(startFloor, endFloor, currentTick);
+    } else {
+      downRequests.add(startFloor, endFloor, currentTick);
+    }
+  }
+
+  /**
+   * This method is used to check that both floors of a request are in the building.
+   *
+   * @param startFloor the start floor of the request
+   * @param endFloor the end floor of the request
+   * @throws IllegalArgumentException if a floor is not in the building
    */
-  private List<Request> splitRequest(String inputRequest) {
-    String[] parts = inputRequest.split(" ");
-    if (parts.length % 2 != 0) {
-      throw new IllegalArgumentException("Invalid input. Please ensure you enter values"
-          + " in an even number of arguments: <startFloor> <endFloor>");
+  void checkFloors(int startFloor, int endFloor) {
+    if (startFloor < 0 || startFloor >= this.numberOfFloors
+        || endFloor < 0 || endFloor >= this.numberOfFloors) {
+      throw new IllegalArgumentException("The floors of a request must be between 0 and "
+          + (this.numberOfFloors - 1) + ": " + startFloor + " " + endFloor);
     }
+  }
 
-    List<Request> requests = new ArrayList<>();
-    // Parse each pair of start and end floors and create Request objects
-    for (int i = 0; i < parts.length; i += 2) {
-      int startFloor = Integer.parseInt(parts[i]);
-      int endFloor = Integer.parseInt(parts[i + 1]);
-      requests.add(new Request(startFloor, endFloor));
+  /**
+   * This method is used to check both floors of a request that is being added,
+   * counting the request as rejected if a floor is not in the building.
+   *
+   * @param startFloor the start floor of the request
+   * @param endFloor the end floor of the request
+   * @throws IllegalArgumentException if a floor is not in the building
+   */
+  private void checkRequestFloors(int startFloor, int endFloor) {
+    if (startFloor < 0 || startFloor >= this.numberOfFloors
+        || endFloor < 0 || endFloor >= this.numberOfFloors) {
+      metrics.requestRejected();
     }
+    this.checkFloors(startFloor, endFloor);
+  }
 
-    return requests;
+  /**
+   * This method is used to check that the system can accept requests,
+   * counting the request as rejected if it cannot.
+   *
+   * @throws IllegalStateException if the elevator system is not running
+   */
+  private void checkAcceptingRequests() {
+    if (systemStatus != ElevatorSystemStatus.running) {
+      metrics.requestRejected();
+      throw new IllegalStateException("The elevator system is not running, "
+          + "so it cannot accept requests.");
+    }
   }
 
 
   /**
    * distribute requests to elevators
    * that are either on the ground floor or on the top floor.
+   * Each elevator is given at most its capacity of requests,
+   * the rest stay in the queue for the next allocation.
    */
   @Override
   public void allocateRequest() {
@@ -181,60 +415,163 @@ public class Building implements BuildingInterface {
     if (upRequests.isEmpty() && downRequests.isEmpty()) {
       return;
     }
-
-    // If there are no elevators that can take requests, no action is taken
-    if (this.getCanGoUpElevator() == null && this.getCanGoDownElevator() == null) {
-      return;
+    metrics.allocated();
+
+    AllocateEvent event = new AllocateEvent();
+    event.begin();
+    int upQueueDepth = upRequests.size();
+    int downQueueDepth = downRequests.size();
+
+    // Allocate the upRequests to the elevators that can go up,
+    // and the downRequests to the elevators that can go down
+    int batches = this.allocateQueue(upRequests, true);
+    batches += this.allocateQueue(downRequests, false);
+
+    if (event.shouldCommit()) {
+      event.tick = currentTick;
+      event.upQueueDepth = upQueueDepth;
+      event.downQueueDepth = downQueueDepth;
+      event.batches = batches;
+      event.requests = upQueueDepth + downQueueDepth - upRequests.size() - downRequests.size();
+      event.commit();
     }
+  }
 
-    // If there are upRequests, allocate them to the elevator that can go up
-    if (!upRequests.isEmpty()) {
-      Elevator upElevator = this.getCanGoUpElevator();
-      if (upElevator != null) {
-        upElevator.processRequests(upRequests);
-        upRequests.clear();
+  /**
+   * This method is used to hand the requests of one queue to the elevators
+   * that can take them. Each elevator takes at most its capacity.
+   * In firstAvailable mode only the first such elevator is given requests,
+   * in allAvailable mode the requests are split over all of them in order.
+   *
+   * @param queue the queue of requests
+   * @param up true for the upRequests, false for the downRequests
+   * @return the number of elevators given requests
+   */
+  private int allocateQueue(RequestQueue queue, boolean up) {
+    int batches = 0;
+    int index = up ? this.getCanGoUpElevator(0) : this.getCanGoDownElevator(0);
+    while (index >= 0 && !queue.isEmpty()) {
+      Elevator elevator = elevators.get(index);
+      int count = queue.drainTo(batchStartFloors, batchEndFloors, batchArrivalTicks,
+          elevator.getMaxOccupancy());
+      elevator.processRequests(batchStartFloors, batchEndFloors, count);
+      metrics.batchAllocated(count);
+      batches++;
+      if (dispatchListener != null) {
+        dispatchListener.requestsDispatched(index, batchStartFloors, batchEndFloors,
+            batchArrivalTicks, count, currentTick);
       }
-    }
-
-    // If there are downRequests, allocate them to the elevator that can go down
-    if (!downRequests.isEmpty()) {
-      Elevator downElevator = this.getCanGoDownElevator();
-      if (downElevator != null) {
-        downElevator.processRequests(downRequests);
-        downRequests.clear();
+      if (dispatchMode == DispatchMode.firstAvailable) {
+        return batches;
       }
+      index = up ? this.getCanGoUpElevator(index + 1) : this.getCanGoDownElevator(index + 1);
     }
-
+    return batches;
   }
 
 
   /**
    * This method is used to get elevator which can receive upRequests.
-   * @return the elevator which can receive upRequests.
+   * An elevator can receive upRequests while it is waiting for requests
+   * on the ground floor.
+   * @param fromIndex the index in the list of elevators to start looking from.
+   * @return the index of the elevator which can receive upRequests, or -1 if there is none.
    */
-  private Elevator getCanGoUpElevator() {
-    for (Elevator elevator : elevators) {
-      if (elevator.getDirection() == Direction.UP && elevator.isTakingRequests()) {
-        return elevator;
-      }
-    }
-    return null;
+  int getCanGoUpElevator(int fromIndex) {
+    return canGoUpElevators.nextSetBit(fromIndex);
   }
 
 
   /**
    * This method is used to get elevator which can receive downRequests.
-   * @return the elevator which can receive downRequests.
+   * An elevator can receive downRequests while it is waiting for requests
+   * on the top floor.
+   * @param fromIndex the index in the list of elevators to start looking from.
+   * @return the index of the elevator which can receive downRequests, or -1 if there is none.
    */
-  private Elevator getCanGoDownElevator() {
-    for (Elevator elevator : elevators) {
-      if (elevator.getDirection() == Direction.DOWN && elevator.isTakingRequests()) {
-        return elevator;
+  int getCanGoDownElevator(int fromIndex) {
+    return canGoDownElevators.nextSetBit(fromIndex);
+  }
+
+
+  /**
+   * This method is used to update the index of the elevators that can take requests
+   * when an elevator starts or stops taking requests.
+   * @param index the index of the elevator in the list of elevators.
+   * @param elevator the elevator.
+   */
+  private void updateCanTakeRequests(int index, Elevator elevator) {
+    boolean takingRequests = elevator.isTakingRequests();
+    canGoUpElevators.set(index, takingRequests && elevator.getCurrentFloor() == 0);
+    canGoDownElevators.set(index, takingRequests
+        && elevator.getCurrentFloor() == numberOfFloors - 1);
+  }
+
+
+  /**
+   * Called by an elevator when it starts or stops taking requests.
+   * While the elevators step in parallel the change is only marked,
+   * and the index is updated on the calling thread once they are done.
+   *
+   * @param index the index of the elevator in the list of elevators.
+   * @param elevator the elevator.
+   */
+  private void takingRequestsChanged(int index, Elevator elevator) {
+    if (steppingInParallel) {
+      takingRequestsChanged[index] = true;
+    } else {
+      this.updateCanTakeRequests(index, elevator);
+    }
+  }
+
+  /**
+   * Move every elevator the given number of steps,
+   * in parallel if there is a step pool and enough elevators to split.
+   *
+   * @param ticks the number of steps
+   */
+  private void moveElevators(long ticks) {
+    if (stepPool == null || elevators.size() <= ElevatorStepTask.THRESHOLD) {
+      for (Elevator elevator : elevators) {
+        if (ticks == 1) {
+          elevator.step();
+        } else {
+          elevator.advance(ticks);
+        }
+      }
+      return;
+    }
+
+    // invoke() returns once every elevator has moved, which is the barrier
+    // before the next allocation. The index is then updated in elevator order.
+    steppingInParallel = true;
+    try {
+      stepPool.invoke(new ElevatorStepTask(elevators, 0, elevators.size(), ticks));
+    } finally {
+      steppingInParallel = false;
+      for (int i = 0; i < takingRequestsChanged.length; i++) {
+        if (takingRequestsChanged[i]) {
+          takingRequestsChanged[i] = false;
+          this.updateCanTakeRequests(i, elevators.get(i));
+        }
       }
     }
-    return null;
   }
 
+  @Override
+  public void setDispatchListener(DispatchListener listener) {
+    this.dispatchListener = listener;
+  }
+
+  @Override
+  public void setStepPool(ForkJoinPool pool) {
+    this.stepPool = pool;
+  }
+
+  @Override
+  public ForkJoinPool getStepPool() {
+    return this.stepPool;
+  }
 
   /**
    * Implement the option for the building to start processing requests.
@@ -273,10 +610,96 @@ public class Building implements BuildingInterface {
           + "so it cannot accept requests.");
     }
 
+    StepEvent event = new StepEvent();
+    event.begin();
+    this.drainSubmittedRequests();
     this.allocateRequest();
+    this.moveElevators(1);
+    if (event.shouldCommit()) {
+      event.tick = currentTick;
+      event.elevators = numberOfElevators;
+      event.upQueueDepth = upRequests.size();
+      event.downQueueDepth = downRequests.size();
+      event.commit();
+    }
+    this.currentTick++;
+  }
+
+  /**
+   * The number of steps until the building does more than count down timers
+   * and move elevators: an elevator event, or waiting requests meeting
+   * an elevator that can take them.
+   *
+   * @return the number of steps until and including the next such step,
+   *         or Long.MAX_VALUE if nothing will ever change.
+   */
+  @Override
+  public long getTicksUntilNextEvent() {
+    if ((!upRequests.isEmpty() && this.getCanGoUpElevator(0) >= 0)
+        || (!downRequests.isEmpty() && this.getCanGoDownElevator(0) >= 0)) {
+      return 1;
+    }
+    long next = Long.MAX_VALUE;
     for (Elevator elevator : elevators) {
-      elevator.step();
+      next = Math.min(next, elevator.getTicksUntilNextEvent());
+    }
+    return next;
+  }
+
+  /**
+   * Move the building the given number of steps.
+   * This is the same as calling step() that many times, but the steps
+   * between events are skipped in one go for every elevator.
+   *
+   * @param ticks the number of steps, must not be negative.
+   */
+  @Override
+  public void advance(long ticks) {
+    if (systemStatus != ElevatorSystemStatus.running) {
+      throw new IllegalStateException("The elevator system is not running, "
+          + "so it cannot accept requests.");
     }
+    if (ticks < 0) {
+      throw new IllegalArgumentException("ticks must not be negative");
+    }
+
+    while (ticks > 0) {
+      this.drainSubmittedRequests();
+      if (upRequests.isEmpty() && downRequests.isEmpty()) {
+        // Without waiting requests the elevators do not affect each other,
+        // so each one runs through its own events.
+        this.moveElevators(ticks);
+        this.currentTick += ticks;
+        return;
+      }
+
+      long next = this.getTicksUntilNextEvent();
+      if (next <= 1) {
+        this.step();
+        ticks--;
+        continue;
+      }
+      // Nothing but timers and floors change before the next event,
+      // and allocating requests would not do anything either.
+      long skip = Math.min(next - 1, ticks);
+      this.moveElevators(skip);
+      this.currentTick += skip;
+      ticks -= skip;
+    }
+  }
+
+  @Override
+  public long getCurrentTick() {
+    return this.currentTick;
+  }
+
+  /**
+   * Set the current tick, for a simulation that moved the elevators itself.
+   *
+   * @param tick the current tick
+   */
+  void setCurrentTick(long tick) {
+    this.currentTick = tick;
   }
 
   /**
@@ -287,20 +710,26 @@ public class Building implements BuildingInterface {
     if (systemStatus != ElevatorSystemStatus.running) {
       return; // If the system is not running, there's no need to stop it
     }
+    StopEvent event = new StopEvent();
+    event.begin();
+    int requestsCleared = upRequests.size() + downRequests.size();
+
     // change the system status to stopping
     systemStatus = ElevatorSystemStatus.stopping;
 
     // Clear all the recorded requests in building
-    upRequests.clear();
-    downRequests.clear();
+    this.clearRequests();
 
 //     Clear all the recorded requests in elevators,
 //     Elevators stop taking requests,
 //     directions change to down,
 //     all elevators are out of service,
 //     the timers are set to 0,
-    for (Elevator elevator : elevators) {
-      elevator.takeOutOfService();
+    for (int i = 0; i < elevators.size(); i++) {
+      elevators.get(i).takeOutOfService();
+      if (dispatchListener != null) {
+        dispatchListener.elevatorTakenOutOfService(i, currentTick);
+      }
     }
     // all elevators keep going down
     // until the elevators reach the main floor it opens the door
@@ -312,6 +741,13 @@ public class Building implements BuildingInterface {
 
     // all elevators are changed to out of service
     systemStatus = ElevatorSystemStatus.outOfService;
+
+    if (event.shouldCommit()) {
+      event.tick = currentTick;
+      event.elevators = numberOfElevators;
+      event.requestsCleared = requestsCleared;
+      event.commit();
+    }
   }
 
   @Override
@@ -328,10 +764,80 @@ public class Building implements BuildingInterface {
         numberOfElevators,
         elevatorCapacity,
         elevatorReports,
-        this.upRequests,
-        this.downRequests,
+        this.upRequests.toList(),
+        this.downRequests.toList(),
         systemStatus);
   }
+
+  @Override
+  public MutableBuildingReport getElevatorSystemStatus(MutableBuildingReport reuse) {
+    reuse.set(currentTick, numberOfFloors, numberOfElevators, elevatorCapacity, systemStatus);
+    for (int i = 0; i < numberOfElevators; i++) {
+      elevators.get(i).fillStatus(reuse.getElevatorReport(i));
+    }
+    reuse.setRequests(upRequests, downRequests);
+    return reuse;
+  }
+
+  @Override
+  public BuildingSnapshot getElevatorSystemSnapshot() {
+    long[] states = new long[numberOfElevators];
+    for (int i = 0; i < numberOfElevators; i++) {
+      states[i] = elevators.get(i).getPackedStatus();
+    }
+    return new BuildingSnapshot(currentTick, numberOfFloors, elevatorCapacity, systemStatus,
+        states, upRequests.toPackedArray(), downRequests.toPackedArray());
+  }
+
+  @Override
+  public BuildingReportDelta getElevatorSystemStatusDelta() {
+    return this.getElevatorSystemStatusDelta(this.deltaVersion == 0);
+  }
+
+  @Override
+  public BuildingReportDelta getElevatorSystemStatusDelta(boolean full) {
+    // count the elevators that changed, so the arrays are the right size
+    int changed = numberOfElevators;
+    if (!full) {
+      changed = 0;
+      for (int i = 0; i < numberOfElevators; i++) {
+        if (elevators.get(i).getStateVersion() != reportedElevatorVersions[i]) {
+          changed++;
+        }
+      }
+    }
+
+    int[] indexes = new int[changed];
+    ElevatorReport[] reports = new ElevatorReport[changed];
+    int count = 0;
+    for (int i = 0; i < numberOfElevators; i++) {
+      Elevator elevator = elevators.get(i);
+      long version = elevator.getStateVersion();
+      if (full || version != reportedElevatorVersions[i]) {
+        indexes[count] = i;
+        reports[count] = elevator.getElevatorStatus();
+        reportedElevatorVersions[i] = version;
+        count++;
+      }
+    }
+
+    List<Request> up = null;
+    if (full || upRequests.version() != reportedUpVersion) {
+      up = upRequests.toList();
+      reportedUpVersion = upRequests.version();
+    }
+    List<Request> down = null;
+    if (full || downRequests.version() != reportedDownVersion) {
+      down = downRequests.toList();
+      reportedDownVersion = downRequests.version();
+    }
+
+    long baseVersion = deltaVersion;
+    deltaVersion++;
+    return new BuildingReportDelta(deltaVersion, baseVersion, full, currentTick,
+        numberOfFloors, numberOfElevators, elevatorCapacity,
+        indexes, reports, up, down, systemStatus);
+  }
 }
 
 
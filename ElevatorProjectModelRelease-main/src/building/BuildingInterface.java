@@ -1,9 +1,12 @@
 package building;
 
+import building.enums.DispatchMode;
 import building.enums.ElevatorSystemStatus;
 import elevator.Elevator;
 import elevator.ElevatorReport;
+import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import scanerzus.Request;
 
 /**
@@ -38,6 +41,12 @@ public interface BuildingInterface {
    */
   int getElevatorCapacity();
 
+  /**
+   * This method is used to get how requests are handed to the elevators.
+   * @return the dispatch mode of the building
+   */
+  DispatchMode getDispatchMode();
+
   /**
    * This method is used to get the elevator System Status in the building.
    *
@@ -55,22 +64,119 @@ public interface BuildingInterface {
   boolean addRequest(String inputRequest);
 
   /**
-   * Gets the up requests in the building.
+   * Adds a request to the building's elevator system.
+   * The floors are parsed straight from the characters,
+   * without splitting the input into strings.
+   *
+   * @param  inputRequest the request user input, "startFloor endFloor ..."
+   * @return true if the request was successfully added
+   * @throws IllegalStateException if the elevator system is stopping or out of service
+   * @throws IllegalArgumentException if the input is not an even number of floors
+   */
+  boolean addRequest(CharSequence inputRequest);
+
+  /**
+   * Adds a request to the building's elevator system.
+   * The remaining bytes of the buffer are read as ASCII text
+   * in the same format as the string request; the buffer position is not changed.
+   *
+   * @param  inputRequest the request input, "startFloor endFloor ..."
+   * @return true if the request was successfully added
+   * @throws IllegalStateException if the elevator system is stopping or out of service
+   * @throws IllegalArgumentException if the input is not an even number of floors
+   */
+  boolean addRequest(ByteBuffer inputRequest);
+
+  /**
+   * Adds a single request to the building's elevator system.
+   *
+   * @param  startFloor the start floor of the request
+   * @param  endFloor the end floor of the request
+   * @return true if the request was successfully added
+   * @throws IllegalStateException if the elevator system is stopping or out of service
+   */
+  boolean addRequest(int startFloor, int endFloor);
+
+  /**
+   * Submits a single request from any thread, while another thread steps the building.
+   * The request is queued without locking and added to the request queues
+   * at the start of the next step, arriving at that tick.
+   * Requests submitted by one thread arrive in the order they were submitted.
+   * A request that is still queued when the system stops or its requests are
+   * cleared is thrown away, so it is never served after the next start.
+   *
+   * @param  startFloor the start floor of the request
+   * @param  endFloor the end floor of the request
+   * @throws IllegalStateException if the elevator system is stopping or out of service
+   * @throws IllegalArgumentException if a floor is not in the building
+   */
+  void submitRequest(int startFloor, int endFloor);
+
+  /**
+   * Adds a batch of requests to the building's elevator system.
+   * Request i goes from startFloors[i] to endFloors[i].
+   * Every request is checked before any of them is added, so the batch
+   * is either added as a whole or rejected as a whole.
+   *
+   * @param  startFloors the start floors of the requests
+   * @param  endFloors the end floors of the requests
+   * @return true if the requests were successfully added
+   * @throws IllegalStateException if the elevator system is stopping or out of service
+   * @throws IllegalArgumentException if the arrays differ in length
+   *                                  or a floor is not in the building
+   */
+  boolean addRequests(int[] startFloors, int[] endFloors);
+
+  /**
+   * Adds the first count requests of the arrays to the building's elevator system,
+   * with the same all-or-nothing checks as {@link #addRequests(int[], int[])}.
+   *
+   * @param  startFloors the start floors of the requests
+   * @param  endFloors the end floors of the requests
+   * @param  count the number of requests to add
+   * @return true if the requests were successfully added
+   * @throws IllegalStateException if the elevator system is stopping or out of service
+   * @throws IllegalArgumentException if count is out of range
+   *                                  or a floor is not in the building
+   */
+  boolean addRequests(int[] startFloors, int[] endFloors, int count);
+
+  /**
+   * Gets a copy of the up requests waiting in the building.
    * @return the list of upRequests in the building
    */
   List<Request> getUpRequests();
 
   /**
-   * Gets the down requests in the building.
+   * Gets a copy of the down requests waiting in the building.
    * @return the list of downRequests in the building
    */
   List<Request> getDownRequests();
 
+  /**
+   * Gets the number of up requests waiting in the building.
+   * @return the number of upRequests in the building
+   */
+  int getUpRequestCount();
+
+  /**
+   * Gets the number of down requests waiting in the building.
+   * @return the number of downRequests in the building
+   */
+  int getDownRequestCount();
+
+  /**
+   * Removes all the up and down requests waiting in the building,
+   * and the submitted requests that have not reached them yet.
+   * Only the thread that steps the building may call this.
+   */
+  void clearRequests();
+
   /**
    * Allocates list of requests to certain elevator(s) in the building.
+   * An elevator is never given more requests than its capacity;
+   * the remaining requests wait for the next allocation.
    * @throws IllegalStateException if the elevator system is stopping or out of service
-   * @throws IllegalArgumentException if the request
-   * has up or down requests exceeding the elevator capacity
    */
   void allocateRequest();
 
@@ -90,6 +196,54 @@ public interface BuildingInterface {
    */
   void step();
 
+  /**
+   * Gets the number of steps until the next step in which the building does more
+   * than count down timers and move elevators one floor.
+   *
+   * @return the number of steps until and including the next such step,
+   *         or Long.MAX_VALUE if nothing will ever change
+   */
+  long getTicksUntilNextEvent();
+
+  /**
+   * Moves the building the given number of steps,
+   * with the same result as calling step() that many times.
+   *
+   * @param ticks the number of steps
+   * @throws IllegalStateException if the elevator system is not running
+   * @throws IllegalArgumentException if ticks is negative
+   */
+  void advance(long ticks);
+
+  /**
+   * Sets the listener told when requests are handed to an elevator.
+   *
+   * @param listener the listener, or null for none
+   */
+  void setDispatchListener(DispatchListener listener);
+
+  /**
+   * Sets the fork-join pool the elevators are stepped on.
+   * Requests are still allocated on the calling thread before the elevators step,
+   * and the result is the same as stepping them one by one.
+   *
+   * @param pool the pool, or null to step the elevators on the calling thread
+   */
+  void setStepPool(ForkJoinPool pool);
+
+  /**
+   * This method is used to get the fork-join pool the elevators are stepped on.
+   * @return the pool, or null if the elevators are stepped on the calling thread
+   */
+  ForkJoinPool getStepPool();
+
+  /**
+   * Gets the number of steps the building has taken since it was created.
+   *
+   * @return the current tick
+   */
+  long getCurrentTick();
+
   /**
    * Stops the elevator system, sending all elevators
    * to the ground floor and preparing to stop servicing requests.
@@ -102,5 +256,51 @@ public interface BuildingInterface {
    * @return a BuildingReport object containing the status of the building's elevator system
    */
   BuildingReport getElevatorSystemStatus();
+
+  /**
+   * Fills a caller-owned report with the status of the building.
+   * Once its buffers are big enough, this does not create any objects.
+   *
+   * @param reuse the report to fill
+   * @return the report
+   */
+  MutableBuildingReport getElevatorSystemStatus(MutableBuildingReport reuse);
+
+  /**
+   * Gets an immutable snapshot of the building, with each elevator packed into a long.
+   * It must be taken on the thread that steps the building,
+   * but can then be read on any thread.
+   *
+   * @return a BuildingSnapshot of the building
+   */
+  BuildingSnapshot getElevatorSystemSnapshot();
+
+  /**
+   * Gets the counters and gauges of the building and its elevators.
+   * They are updated as the building runs; take a snapshot of them
+   * on the thread that steps the building to read them all at one tick.
+   *
+   * @return the metrics of the building
+   */
+  BuildingMetrics getMetrics();
+
+  /**
+   * Gets what changed in the building since the last delta.
+   * The first delta is full. Only one reader should take deltas,
+   * since each delta is relative to the one before it.
+   *
+   * @return a BuildingReportDelta with the elevators and queues that changed
+   */
+  BuildingReportDelta getElevatorSystemStatusDelta();
+
+  /**
+   * Gets what changed in the building since the last delta,
+   * or every elevator and both queues if full is true.
+   * A full delta lets a reader that lost a delta start again.
+   *
+   * @param full true to include the whole building
+   * @return a BuildingReportDelta
+   */
+  BuildingReportDelta getElevatorSystemStatusDelta(boolean full);
 }
 
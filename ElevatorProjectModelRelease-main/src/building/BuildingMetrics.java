@@ -0,0 +1,149 @@
+package building;
+
+import elevator.Elevator;
+import elevator.ElevatorMetrics;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The counters and gauges of a building.
+ * The building counts the requests it accepted and rejected,
+ * the calls to allocateRequest() that had requests waiting
+ * and the batches and requests they handed out.
+ * Requests can be rejected on any thread, so rejections are counted
+ * in a striped LongAdder that many threads add to without contending.
+ * Everything else is counted by the thread that steps the building,
+ * in plain fields that cost no more than an add; submitted requests
+ * are counted when that thread moves them into the request queues.
+ * The queue depths are gauges, read when they are asked for,
+ * and each elevator keeps its own counters.
+ * <p></p>
+ * Like the status of the building, the metrics must be read
+ * on the thread that steps it; a snapshot can then be read on any thread.
+ */
+public final class BuildingMetrics {
+  private final Building building;
+  private final LongAdder requestsRejected = new LongAdder();
+  private long requestsAdded;
+  private long allocations;
+  private long batchesAllocated;
+  private long requestsAllocated;
+
+  /**
+   * Create the metrics of a building.
+   *
+   * @param building the building
+   */
+  BuildingMetrics(Building building) {
+    this.building = building;
+  }
+
+  /**
+   * Count requests added to the request queues by the thread that steps the building.
+   *
+   * @param requests the number of requests
+   */
+  void requestsAdded(int requests) {
+    requestsAdded += requests;
+  }
+
+  /**
+   * Count a call to add requests that was rejected.
+   */
+  void requestRejected() {
+    requestsRejected.increment();
+  }
+
+  /**
+   * Count a call to allocateRequest() that had requests waiting.
+   */
+  void allocated() {
+    allocations++;
+  }
+
+  /**
+   * Count a batch of requests handed to an elevator.
+   *
+   * @param requests the number of requests in the batch
+   */
+  void batchAllocated(int requests) {
+    batchesAllocated++;
+    requestsAllocated += requests;
+  }
+
+  /**
+   * Get the number of requests the building accepted into its request queues.
+   *
+   * @return the number of requests
+   */
+  public long getRequestsAccepted() {
+    return requestsAdded;
+  }
+
+  /**
+   * Get the number of calls to add or submit requests that were rejected,
+   * because the system was not running or a request was not valid.
+   * A rejected call adds none of its requests.
+   *
+   * @return the number of calls
+   */
+  public long getRequestsRejected() {
+    return requestsRejected.sum();
+  }
+
+  /**
+   * Get the number of calls to allocateRequest() that had requests waiting,
+   * including those made by step(). Calls with nothing to allocate are not counted,
+   * so counting costs nothing on the steps of an idle building.
+   *
+   * @return the number of calls
+   */
+  public long getAllocations() {
+    return allocations;
+  }
+
+  /**
+   * Get the number of batches of requests handed to elevators.
+   *
+   * @return the number of batches
+   */
+  public long getBatchesAllocated() {
+    return batchesAllocated;
+  }
+
+  /**
+   * Get the number of requests handed to elevators.
+   *
+   * @return the number of requests
+   */
+  public long getRequestsAllocated() {
+    return requestsAllocated;
+  }
+
+  /**
+   * Take a snapshot of the counters, the queue depths and the counters of every elevator.
+   *
+   * @return the snapshot
+   */
+  public MetricsSnapshot snapshot() {
+    List<Elevator> elevators = building.getElevators();
+    int count = elevators.size();
+    long[] doorOpenings = new long[count];
+    long[] floorsTravelled = new long[count];
+    long[] idleTicks = new long[count];
+    long[] directionReversals = new long[count];
+    ElevatorMetrics metrics = new ElevatorMetrics();
+    for (int i = 0; i < count; i++) {
+      elevators.get(i).fillMetrics(metrics);
+      doorOpenings[i] = metrics.getDoorOpenings();
+      floorsTravelled[i] = metrics.getFloorsTravelled();
+      idleTicks[i] = metrics.getIdleTicks();
+      directionReversals[i] = metrics.getDirectionReversals();
+    }
+    return new MetricsSnapshot(building.getCurrentTick(),
+        this.getRequestsAccepted(), this.getRequestsRejected(), this.getAllocations(),
+        this.getBatchesAllocated(), this.getRequestsAllocated(),
+        building.getUpRequestCount(), building.getDownRequestCount(),
+        doorOpenings, floorsTravelled, idleTicks, directionReversals);
+  }
+}
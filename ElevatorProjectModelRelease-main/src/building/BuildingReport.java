@@ -2,6 +2,7 @@ package building;
 
 import building.enums.ElevatorSystemStatus;
 import elevator.ElevatorReport;
+import elevator.ReportRenderer;
 import java.util.List;
 import scanerzus.Request;
 
@@ -13,20 +14,24 @@ import scanerzus.Request;
  * the down requests, and the status of the elevator system.
  * It is used to create and print out
  * the summarized information about the building.
+ * A report does not change once it is made: applying a BuildingReportDelta
+ * to it gives a new report that is up to date.
  */
 public class BuildingReport {
-  int numFloors;
-  int numElevators;
+  final int numFloors;
+  final int numElevators;
 
-  int elevatorCapacity;
+  final int elevatorCapacity;
 
-  ElevatorReport[] elevatorReports;
+  final ElevatorReport[] elevatorReports;
 
-  List<Request> upRequests;
+  final List<Request> upRequests;
 
-  List<Request> downRequests;
+  final List<Request> downRequests;
 
-  ElevatorSystemStatus systemStatus;
+  final ElevatorSystemStatus systemStatus;
+
+  final long version;
 
   /**
    * This constructor is used to create a new BuildingReport object.
@@ -46,6 +51,30 @@ public class BuildingReport {
                         List<Request> upRequests,
                         List<Request> downRequests,
                         ElevatorSystemStatus systemStatus) {
+    this(numFloors, numElevators, elevatorCapacity, elevatorsReports,
+        upRequests, downRequests, systemStatus, 0);
+  }
+
+  /**
+   * This constructor is used to create a report with the version of the last delta applied.
+   *
+   * @param numFloors        The number of floors in the building.
+   * @param numElevators     The number of elevators in the building.
+   * @param elevatorCapacity The capacity of the elevators.
+   * @param elevatorsReports The status of the elevators.
+   * @param upRequests       The up requests for the elevators.
+   * @param downRequests     The down requests for the elevators.
+   * @param systemStatus     The status of the elevator system.
+   * @param version          The version of the last delta applied.
+   */
+  private BuildingReport(int numFloors,
+                         int numElevators,
+                         int elevatorCapacity,
+                         ElevatorReport[] elevatorsReports,
+                         List<Request> upRequests,
+                         List<Request> downRequests,
+                         ElevatorSystemStatus systemStatus,
+                         long version) {
     this.numFloors = numFloors;
     this.numElevators = numElevators;
     this.elevatorCapacity = elevatorCapacity;
@@ -53,6 +82,7 @@ public class BuildingReport {
     this.upRequests = upRequests;
     this.downRequests = downRequests;
     this.systemStatus = systemStatus;
+    this.version = version;
   }
 
   /**
@@ -118,6 +148,52 @@ public class BuildingReport {
     return this.systemStatus;
   }
 
+  /**
+   * This method is used to get the version of the last delta applied to the report.
+   *
+   * @return the version, or 0 if no delta was applied
+   */
+  public long getVersion() {
+    return this.version;
+  }
+
+  /**
+   * This method is used to get a report brought up to date with a delta.
+   * The delta must follow the last delta applied, unless it is full;
+   * a full delta replaces everything in the report, including the number
+   * of floors, the number of elevators and the elevator capacity.
+   * This report is not changed.
+   *
+   * @param delta the delta
+   * @return a new report with the delta applied
+   * @throws IllegalArgumentException if the delta does not follow this report
+   */
+  public BuildingReport applyDelta(BuildingReportDelta delta) {
+    if (!delta.isFull() && delta.getBaseVersion() != this.version) {
+      throw new IllegalArgumentException("The delta follows version " + delta.getBaseVersion()
+          + " but the report is version " + this.version + ".");
+    }
+    ElevatorReport[] elevators = delta.isFull()
+        ? new ElevatorReport[delta.getNumElevators()]
+        : this.elevatorReports.clone();
+    int[] indexes = delta.getElevatorIndexes();
+    ElevatorReport[] reports = delta.getElevatorReports();
+    for (int i = 0; i < indexes.length; i++) {
+      elevators[indexes[i]] = reports[i];
+    }
+    List<Request> up = delta.getUpRequests() != null ? delta.getUpRequests() : this.upRequests;
+    List<Request> down = delta.getDownRequests() != null
+        ? delta.getDownRequests() : this.downRequests;
+
+    if (delta.isFull()) {
+      return new BuildingReport(delta.getNumFloors(), delta.getNumElevators(),
+          delta.getElevatorCapacity(), elevators, up, down, delta.getSystemStatus(),
+          delta.getVersion());
+    }
+    return new BuildingReport(this.numFloors, this.numElevators, this.elevatorCapacity,
+        elevators, up, down, delta.getSystemStatus(), delta.getVersion());
+  }
+
   /**
    * toString method for the elevator system.
    *
@@ -125,22 +201,68 @@ public class BuildingReport {
    */
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
+    return this.appendTo(new StringBuilder()).toString();
+  }
+
+  /**
+   * Append the text of the report, the same as toString(), to a builder.
+   * Rendering into a reused builder does not create any strings.
+   *
+   * @param sb the builder to append to
+   * @return the builder
+   */
+  public StringBuilder appendTo(StringBuilder sb) {
+    appendHeader(sb, this.numFloors, this.numElevators, this.elevatorCapacity, this.systemStatus);
+    sb.append("Up Requests: [");
+    for (int i = 0; i < this.upRequests.size(); i++) {
+      Request request = this.upRequests.get(i);
+      appendRequest(sb, i, request.getStartFloor(), request.getEndFloor());
+    }
+    sb.append("]\nDown Requests: [");
+    for (int i = 0; i < this.downRequests.size(); i++) {
+      Request request = this.downRequests.get(i);
+      appendRequest(sb, i, request.getStartFloor(), request.getEndFloor());
+    }
+    sb.append("]\nElevator Reports: \n");
+
+    for (int i = 0; i < this.numElevators; i++) {
+      sb.append("Elevator ").append(i).append(": ");
+      ReportRenderer.appendElevator(sb, this.elevatorReports[i]).append('\n');
+    }
+    return sb;
+  }
+
+  /**
+   * Append the lines of a report before the requests.
+   *
+   * @param sb the builder to append to
+   * @param numFloors the number of floors
+   * @param numElevators the number of elevators
+   * @param elevatorCapacity the capacity of the elevators
+   * @param systemStatus the status of the elevator system
+   */
+  static void appendHeader(StringBuilder sb, int numFloors, int numElevators,
+                           int elevatorCapacity, ElevatorSystemStatus systemStatus) {
     sb.append("Building Report:\n");
-    sb.append("Number of Floors: ").append(this.getNumFloors()).append("\n");
-    sb.append("Number of Elevators: ").append(this.getNumElevators()).append("\n");
-    sb.append("Elevator Capacity: ").append(this.getElevatorCapacity()).append("\n");
-    sb.append("Elevator System Status: ").append(this.getSystemStatus()).append("\n");
-    sb.append("Up Requests: ").append(this.getUpRequests()).append("\n");
-    sb.append("Down Requests: ").append(this.getDownRequests()).append("\n");
-    sb.append("Elevator Reports: ").append("\n");
-
-    for (int i = 0; i < this.getNumElevators(); i++) {
-      String eachReport = "Elevator " + i + ": "
-          + this.getElevatorReports()[i].toString();
-      sb.append(eachReport).append("\n");
+    sb.append("Number of Floors: ").append(numFloors).append('\n');
+    sb.append("Number of Elevators: ").append(numElevators).append('\n');
+    sb.append("Elevator Capacity: ").append(elevatorCapacity).append('\n');
+    sb.append("Elevator System Status: ").append(systemStatus).append('\n');
+  }
+
+  /**
+   * Append one request of a request list, like Request.toString().
+   *
+   * @param sb the builder to append to
+   * @param index the index of the request in the list
+   * @param startFloor the start floor
+   * @param endFloor the end floor
+   */
+  static void appendRequest(StringBuilder sb, int index, int startFloor, int endFloor) {
+    if (index > 0) {
+      sb.append(", ");
     }
-    return sb.toString();
+    sb.append(startFloor).append("->").append(endFloor);
   }
 
 }
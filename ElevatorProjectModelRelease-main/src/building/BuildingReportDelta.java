@@ -0,0 +1,187 @@
+package building;
+
+import building.enums.ElevatorSystemStatus;
+import elevator.ElevatorReport;
+import java.util.List;
+import scanerzus.Request;
+
+/**
+ * This class holds what changed in a building since the last delta was taken:
+ * the reports of the elevators whose state changed, and the request queues
+ * if they changed. Each delta has a version one higher than the delta before it,
+ * so applying the deltas in order, starting from a BuildingReport, gives
+ * reports that are the same as a full report of the building.
+ * A full delta holds every elevator and both queues, and can start a new report.
+ */
+public class BuildingReportDelta {
+  private final long version;
+  private final long baseVersion;
+  private final boolean full;
+  private final long tick;
+  private final int numFloors;
+  private final int numElevators;
+  private final int elevatorCapacity;
+  private final int[] elevatorIndexes;
+  private final ElevatorReport[] elevatorReports;
+  private final List<Request> upRequests;
+  private final List<Request> downRequests;
+  private final ElevatorSystemStatus systemStatus;
+
+  /**
+   * This constructor is used to create a new BuildingReportDelta object.
+   *
+   * @param version          The version of the delta.
+   * @param baseVersion      The version of the delta this one follows.
+   * @param full             True if the delta holds every elevator and both queues.
+   * @param tick             The tick of the building.
+   * @param numFloors        The number of floors in the building.
+   * @param numElevators     The number of elevators in the building.
+   * @param elevatorCapacity The capacity of the elevators.
+   * @param elevatorIndexes  The indexes of the elevators that changed.
+   * @param elevatorReports  The status of the elevators that changed, in the same order.
+   * @param upRequests       The up requests, or null if they did not change.
+   * @param downRequests     The down requests, or null if they did not change.
+   * @param systemStatus     The status of the elevator system.
+   */
+  BuildingReportDelta(long version, long baseVersion, boolean full, long tick,
+                      int numFloors, int numElevators, int elevatorCapacity,
+                      int[] elevatorIndexes, ElevatorReport[] elevatorReports,
+                      List<Request> upRequests, List<Request> downRequests,
+                      ElevatorSystemStatus systemStatus) {
+    this.version = version;
+    this.baseVersion = baseVersion;
+    this.full = full;
+    this.tick = tick;
+    this.numFloors = numFloors;
+    this.numElevators = numElevators;
+    this.elevatorCapacity = elevatorCapacity;
+    this.elevatorIndexes = elevatorIndexes;
+    this.elevatorReports = elevatorReports;
+    this.upRequests = upRequests;
+    this.downRequests = downRequests;
+    this.systemStatus = systemStatus;
+  }
+
+  /**
+   * This method is used to get the version of the delta.
+   *
+   * @return the version of the delta
+   */
+  public long getVersion() {
+    return this.version;
+  }
+
+  /**
+   * This method is used to get the version of the delta this one follows.
+   *
+   * @return the version this delta applies to
+   */
+  public long getBaseVersion() {
+    return this.baseVersion;
+  }
+
+  /**
+   * This method is used to check if the delta holds the whole building.
+   *
+   * @return true if the delta holds every elevator and both queues
+   */
+  public boolean isFull() {
+    return this.full;
+  }
+
+  /**
+   * This method is used to get the tick of the building when the delta was taken.
+   *
+   * @return the tick
+   */
+  public long getTick() {
+    return this.tick;
+  }
+
+  /**
+   * This method is used to get the number of floors in the building.
+   *
+   * @return the number of floors in the building
+   */
+  public int getNumFloors() {
+    return this.numFloors;
+  }
+
+  /**
+   * This method is used to get the number of elevators in the building.
+   *
+   * @return the number of elevators in the building
+   */
+  public int getNumElevators() {
+    return this.numElevators;
+  }
+
+  /**
+   * This method is used to get the max occupancy of the elevators.
+   *
+   * @return the max occupancy of the elevators
+   */
+  public int getElevatorCapacity() {
+    return this.elevatorCapacity;
+  }
+
+  /**
+   * This method is used to get the indexes of the elevators that changed.
+   *
+   * @return the indexes, in increasing order
+   */
+  public int[] getElevatorIndexes() {
+    return this.elevatorIndexes;
+  }
+
+  /**
+   * This method is used to get the status of the elevators that changed.
+   *
+   * @return the status of the elevators, in the order of getElevatorIndexes()
+   */
+  public ElevatorReport[] getElevatorReports() {
+    return this.elevatorReports;
+  }
+
+  /**
+   * This method is used to get the up requests.
+   *
+   * @return the up requests, or null if they did not change
+   */
+  public List<Request> getUpRequests() {
+    return this.upRequests;
+  }
+
+  /**
+   * This method is used to get the down requests.
+   *
+   * @return the down requests, or null if they did not change
+   */
+  public List<Request> getDownRequests() {
+    return this.downRequests;
+  }
+
+  /**
+   * This method is used to get the status of the elevator system.
+   *
+   * @return the status of the elevator system.
+   */
+  public ElevatorSystemStatus getSystemStatus() {
+    return this.systemStatus;
+  }
+
+  /**
+   * This method is used to start a new report from a full delta.
+   *
+   * @return the report of the building
+   * @throws IllegalStateException if the delta is not full
+   */
+  public BuildingReport toReport() {
+    if (!full) {
+      throw new IllegalStateException("Only a full delta can start a report.");
+    }
+    BuildingReport report = new BuildingReport(numFloors, numElevators, elevatorCapacity,
+        new ElevatorReport[0], upRequests, downRequests, systemStatus);
+    return report.applyDelta(this);
+  }
+}
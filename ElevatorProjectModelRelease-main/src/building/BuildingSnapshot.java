@@ -0,0 +1,214 @@
+package building;
+
+import building.enums.ElevatorSystemStatus;
+import elevator.ElevatorReport;
+import elevator.ElevatorState;
+import java.util.ArrayList;
+import java.util.List;
+import scanerzus.Request;
+
+/**
+ * This class is an immutable snapshot of a building at one tick.
+ * Each elevator is one packed long (see ElevatorState) and each request
+ * is one int holding the start floor in bits 8-15 and the end floor in bits 0-7,
+ * so a snapshot is three arrays instead of an object per elevator and request.
+ * Every field is final and the arrays are never changed or handed out,
+ * so a snapshot can be shared with other threads once it is taken.
+ */
+public final class BuildingSnapshot {
+  private final long tick;
+  private final int numFloors;
+  private final int elevatorCapacity;
+  private final ElevatorSystemStatus systemStatus;
+  private final long[] elevatorStates;
+  private final int[] upRequests;
+  private final int[] downRequests;
+
+  /**
+   * This constructor is used to create a new BuildingSnapshot object.
+   * The arrays are kept, not copied, so the caller must not change them.
+   *
+   * @param tick             The tick of the building.
+   * @param numFloors        The number of floors in the building.
+   * @param elevatorCapacity The capacity of the elevators.
+   * @param systemStatus     The status of the elevator system.
+   * @param elevatorStates   The packed state of each elevator.
+   * @param upRequests       The packed up requests.
+   * @param downRequests     The packed down requests.
+   */
+  BuildingSnapshot(long tick, int numFloors, int elevatorCapacity,
+                   ElevatorSystemStatus systemStatus, long[] elevatorStates,
+                   int[] upRequests, int[] downRequests) {
+    this.tick = tick;
+    this.numFloors = numFloors;
+    this.elevatorCapacity = elevatorCapacity;
+    this.systemStatus = systemStatus;
+    this.elevatorStates = elevatorStates;
+    this.upRequests = upRequests;
+    this.downRequests = downRequests;
+  }
+
+  /**
+   * Pack a request into an int.
+   *
+   * @param startFloor the start floor
+   * @param endFloor the end floor
+   * @return the packed request
+   */
+  static int packRequest(int startFloor, int endFloor) {
+    return startFloor << 8 | endFloor;
+  }
+
+  /**
+   * This method is used to get the tick the snapshot was taken at.
+   *
+   * @return the tick
+   */
+  public long getTick() {
+    return this.tick;
+  }
+
+  /**
+   * This method is used to get the number of floors in the building.
+   *
+   * @return the number of floors in the building
+   */
+  public int getNumFloors() {
+    return this.numFloors;
+  }
+
+  /**
+   * This method is used to get the number of elevators in the building.
+   *
+   * @return the number of elevators in the building
+   */
+  public int getNumElevators() {
+    return this.elevatorStates.length;
+  }
+
+  /**
+   * This method is used to get the max occupancy of the elevators.
+   *
+   * @return the max occupancy of the elevators
+   */
+  public int getElevatorCapacity() {
+    return this.elevatorCapacity;
+  }
+
+  /**
+   * This method is used to get the status of the elevator system.
+   *
+   * @return the status of the elevator system
+   */
+  public ElevatorSystemStatus getSystemStatus() {
+    return this.systemStatus;
+  }
+
+  /**
+   * This method is used to get the packed state of an elevator.
+   *
+   * @param index the index of the elevator
+   * @return the packed state, read with the methods of ElevatorState
+   */
+  public long getElevatorState(int index) {
+    return this.elevatorStates[index];
+  }
+
+  /**
+   * This method is used to get the report of an elevator.
+   *
+   * @param index the index of the elevator
+   * @return a new report of the elevator
+   */
+  public ElevatorReport getElevatorReport(int index) {
+    return ElevatorState.toReport(index, this.elevatorStates[index]);
+  }
+
+  /**
+   * This method is used to get the number of up requests.
+   *
+   * @return the number of up requests
+   */
+  public int getUpRequestCount() {
+    return this.upRequests.length;
+  }
+
+  /**
+   * This method is used to get the start floor of an up request.
+   *
+   * @param index the index of the request
+   * @return the start floor
+   */
+  public int getUpRequestStartFloor(int index) {
+    return this.upRequests[index] >>> 8;
+  }
+
+  /**
+   * This method is used to get the end floor of an up request.
+   *
+   * @param index the index of the request
+   * @return the end floor
+   */
+  public int getUpRequestEndFloor(int index) {
+    return this.upRequests[index] & 0xFF;
+  }
+
+  /**
+   * This method is used to get the number of down requests.
+   *
+   * @return the number of down requests
+   */
+  public int getDownRequestCount() {
+    return this.downRequests.length;
+  }
+
+  /**
+   * This method is used to get the start floor of a down request.
+   *
+   * @param index the index of the request
+   * @return the start floor
+   */
+  public int getDownRequestStartFloor(int index) {
+    return this.downRequests[index] >>> 8;
+  }
+
+  /**
+   * This method is used to get the end floor of a down request.
+   *
+   * @param index the index of the request
+   * @return the end floor
+   */
+  public int getDownRequestEndFloor(int index) {
+    return this.downRequests[index] & 0xFF;
+  }
+
+  /**
+   * This method is used to convert the snapshot to a BuildingReport.
+   * The report and its lists are new, so changing them does not change the snapshot.
+   *
+   * @return the report of the building
+   */
+  public BuildingReport toReport() {
+    ElevatorReport[] reports = new ElevatorReport[this.elevatorStates.length];
+    for (int i = 0; i < reports.length; i++) {
+      reports[i] = this.getElevatorReport(i);
+    }
+    return new BuildingReport(this.numFloors, reports.length, this.elevatorCapacity,
+        reports, toRequests(this.upRequests), toRequests(this.downRequests),
+        this.systemStatus);
+  }
+
+  /**
+   * Unpack requests into a list.
+   *
+   * @param requests the packed requests
+   * @return a new list of the requests
+   */
+  private static List<Request> toRequests(int[] requests) {
+    List<Request> list = new ArrayList<>(requests.length);
+    for (int request : requests) {
+      list.add(new Request(request >>> 8, request & 0xFF));
+    }
+    return list;
+  }
+}
@@ -0,0 +1,353 @@
+package building;
+
+import building.enums.ElevatorSystemStatus;
+import elevator.Elevator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * This class runs a building as a discrete-event simulation.
+ * Instead of stepping every elevator every tick, it keeps a priority queue
+ * of timestamped events and only does work when one of them is due:
+ * a request arriving, an elevator event (door opening or closing,
+ * arriving at a requested floor, the bottom or the top, a wait ending),
+ * or a snapshot of the building being taken.
+ * Between events each elevator is left where it is and caught up
+ * with Elevator.advance() when it is needed.
+ * The elevator events only matter to the building while requests are waiting
+ * for an elevator, so they are only scheduled then; the rest of the time
+ * the simulation jumps straight from one arrival or snapshot to the next.
+ * <p></p>
+ * The simulation gives exactly the same building as calling step() once per tick,
+ * with each request added by addRequest() at its tick before that tick's step.
+ * While the simulation runs it owns the building: the building must not be
+ * stepped or advanced directly, and all the elevators are caught up to the
+ * current tick whenever runUntil() returns.
+ * Requests submitted to the building from other threads arrive at the tick
+ * the simulation has reached when it next looks for them.
+ */
+public class DiscreteEventSimulation {
+
+  /**
+   * The kinds of events. Events due at the same tick are handled in this order:
+   * elevator events happen during the step that ends at the tick,
+   * request arrivals and snapshots happen after it.
+   */
+  private enum EventType {
+    ELEVATOR,
+    REQUEST_ARRIVAL,
+    SNAPSHOT
+  }
+
+  /**
+   * A timestamped event.
+   */
+  private static final class Event implements Comparable<Event> {
+    private final long tick;
+    private final EventType type;
+    private final long sequence;
+    private final int elevator;
+    private final int startFloor;
+    private final int endFloor;
+
+    private Event(long tick, EventType type, long sequence,
+                  int elevator, int startFloor, int endFloor) {
+      this.tick = tick;
+      this.type = type;
+      this.sequence = sequence;
+      this.elevator = elevator;
+      this.startFloor = startFloor;
+      this.endFloor = endFloor;
+    }
+
+    @Override
+    public int compareTo(Event that) {
+      if (this.tick != that.tick) {
+        return Long.compare(this.tick, that.tick);
+      }
+      if (this.type != that.type) {
+        return this.type.compareTo(that.type);
+      }
+      return Long.compare(this.sequence, that.sequence);
+    }
+  }
+
+  private final Building building;
+  private final List<Elevator> elevators;
+  private final PriorityQueue<Event> events;
+  private final List<BuildingReport> snapshots;
+
+  /************************************************************************
+   * The tick each elevator has been caught up to,
+   * and the tick of its next scheduled event (Long.MAX_VALUE for none).
+   * An event in the queue with another tick is out of date and skipped.
+   ************************************************************************/
+  private final long[] elevatorTicks;
+  private final long[] elevatorEventTicks;
+
+  private final int[] candidates;
+  private boolean tracking;
+  private long now;
+  private long sequence;
+
+  /**
+   * The constructor for the simulation.
+   * The simulation starts at the current tick of the building.
+   *
+   * @param building the building to simulate, which must be running
+   * @throws IllegalStateException if the building is not running
+   */
+  public DiscreteEventSimulation(Building building) {
+    if (building.getSystemStatus() != ElevatorSystemStatus.running) {
+      throw new IllegalStateException("The elevator system is not running.");
+    }
+    this.building = building;
+    this.elevators = building.getElevators();
+    this.events = new PriorityQueue<>();
+    this.snapshots = new ArrayList<>();
+    this.now = building.getCurrentTick();
+    this.elevatorTicks = new long[elevators.size()];
+    this.elevatorEventTicks = new long[elevators.size()];
+    this.candidates = new int[elevators.size()];
+    Arrays.fill(this.elevatorTicks, this.now);
+    Arrays.fill(this.elevatorEventTicks, Long.MAX_VALUE);
+    this.tracking = false;
+  }
+
+  /**
+   * Get the current tick of the simulation.
+   *
+   * @return the current tick
+   */
+  public long getCurrentTick() {
+    return this.now;
+  }
+
+  /**
+   * Schedule a request to arrive at the given tick.
+   * It is added to the building after the step that ends at that tick,
+   * just like addRequest() called when building.getCurrentTick() is tick.
+   *
+   * @param tick the tick the request arrives at, not before the current tick
+   * @param startFloor the start floor of the request
+   * @param endFloor the end floor of the request
+   * @throws IllegalArgumentException if the tick is in the past
+   *                                  or a floor is not in the building
+   */
+  public void scheduleRequest(long tick, int startFloor, int endFloor) {
+    this.checkNotPast(tick);
+    building.checkFloors(startFloor, endFloor);
+    events.add(new Event(tick, EventType.REQUEST_ARRIVAL, sequence++, -1, startFloor, endFloor));
+  }
+
+  /**
+   * Schedule a snapshot of the building to be taken at the given tick,
+   * after the requests arriving at that tick have been added.
+   *
+   * @param tick the tick to take the snapshot at, not before the current tick
+   * @throws IllegalArgumentException if the tick is in the past
+   */
+  public void scheduleSnapshot(long tick) {
+    this.checkNotPast(tick);
+    events.add(new Event(tick, EventType.SNAPSHOT, sequence++, -1, 0, 0));
+  }
+
+  /**
+   * Get the snapshots taken so far, in the order they were taken,
+   * and forget them.
+   *
+   * @return the snapshots
+   */
+  public List<BuildingReport> drainSnapshots() {
+    List<BuildingReport> taken = new ArrayList<>(snapshots);
+    snapshots.clear();
+    return taken;
+  }
+
+  /**
+   * Run the simulation up to the given tick.
+   * The events due at that tick are handled, and the building is left
+   * exactly as if it had been stepped up to that tick.
+   *
+   * @param tick the tick to run to
+   * @return a report of the building at that tick
+   * @throws IllegalArgumentException if the tick is in the past
+   */
+  public BuildingReport runUntil(long tick) {
+    this.checkNotPast(tick);
+    while (true) {
+      // Keep the clock of the building right for the requests it queues and hands out.
+      building.setCurrentTick(now);
+      building.drainSubmittedRequests();
+      this.handleEventsBetweenSteps();
+      if (now >= tick) {
+        break;
+      }
+
+      boolean waiting = building.getUpRequestCount() > 0 || building.getDownRequestCount() > 0;
+      if (waiting && !tracking) {
+        this.startTracking();
+      } else if (!waiting && tracking) {
+        this.stopTracking();
+      }
+
+      // Allocation only does something when requests are waiting and an
+      // elevator can take them, and then it happens in the very next step.
+      boolean allocate = this.canAllocate();
+      long next = tick;
+      if (allocate) {
+        next = now + 1;
+      } else if (!events.isEmpty()) {
+        next = Math.min(next, events.peek().tick);
+      }
+
+      if (allocate) {
+        this.allocate();
+      }
+      this.handleElevatorEvents(next);
+      now = next;
+    }
+
+    this.catchUpAll();
+    building.setCurrentTick(now);
+    return building.getElevatorSystemStatus();
+  }
+
+  /**
+   * Add the requests and take the snapshots due at the current tick.
+   */
+  private void handleEventsBetweenSteps() {
+    while (!events.isEmpty() && events.peek().tick == now
+        && events.peek().type != EventType.ELEVATOR) {
+      Event event = events.poll();
+      if (event.type == EventType.REQUEST_ARRIVAL) {
+        building.addRequest(event.startFloor, event.endFloor);
+      } else {
+        this.catchUpAll();
+        snapshots.add(building.getElevatorSystemStatus());
+      }
+    }
+  }
+
+  /**
+   * Catch every elevator up and schedule its next event.
+   */
+  private void startTracking() {
+    this.catchUpAll();
+    for (int i = 0; i < elevators.size(); i++) {
+      this.scheduleElevator(i);
+    }
+    tracking = true;
+  }
+
+  /**
+   * Forget the elevator events, the elevators are caught up when they are next needed.
+   */
+  private void stopTracking() {
+    events.removeIf(event -> event.type == EventType.ELEVATOR);
+    Arrays.fill(elevatorEventTicks, Long.MAX_VALUE);
+    tracking = false;
+  }
+
+  /**
+   * Check if waiting requests meet an elevator that can take them.
+   *
+   * @return true if the next step allocates requests
+   */
+  private boolean canAllocate() {
+    return (building.getUpRequestCount() > 0 && building.getCanGoUpElevator(0) >= 0)
+        || (building.getDownRequestCount() > 0 && building.getCanGoDownElevator(0) >= 0);
+  }
+
+  /**
+   * Allocate requests at the start of the next step.
+   * Only the elevators that can take requests are caught up,
+   * and those that were given requests are rescheduled.
+   */
+  private void allocate() {
+    int count = 0;
+    for (int i = building.getCanGoUpElevator(0); i >= 0; i = building.getCanGoUpElevator(i + 1)) {
+      candidates[count++] = i;
+    }
+    for (int i = building.getCanGoDownElevator(0); i >= 0;
+         i = building.getCanGoDownElevator(i + 1)) {
+      candidates[count++] = i;
+    }
+    for (int c = 0; c < count; c++) {
+      this.catchUp(candidates[c], now);
+    }
+
+    building.allocateRequest();
+
+    for (int c = 0; c < count; c++) {
+      int i = candidates[c];
+      if (!elevators.get(i).isTakingRequests()) {
+        this.scheduleElevator(i);
+      }
+    }
+  }
+
+  /**
+   * Take the eventful steps of the elevators whose event ends at the given tick.
+   *
+   * @param tick the tick
+   */
+  private void handleElevatorEvents(long tick) {
+    while (!events.isEmpty() && events.peek().tick == tick
+        && events.peek().type == EventType.ELEVATOR) {
+      Event event = events.poll();
+      int i = event.elevator;
+      if (elevatorEventTicks[i] != tick) {
+        continue; // out of date
+      }
+      this.catchUp(i, tick - 1);
+      elevators.get(i).step();
+      elevatorTicks[i] = tick;
+      this.scheduleElevator(i);
+    }
+  }
+
+  /**
+   * Schedule the next event of an elevator from the tick it is caught up to.
+   *
+   * @param i the index of the elevator
+   */
+  private void scheduleElevator(int i) {
+    long ticks = elevators.get(i).getTicksUntilNextEvent();
+    if (ticks == Long.MAX_VALUE || elevatorTicks[i] > Long.MAX_VALUE - ticks) {
+      elevatorEventTicks[i] = Long.MAX_VALUE;
+      return;
+    }
+    elevatorEventTicks[i] = elevatorTicks[i] + ticks;
+    events.add(new Event(elevatorEventTicks[i], EventType.ELEVATOR, sequence++, i, 0, 0));
+  }
+
+  /**
+   * Catch an elevator up to a tick before its next event.
+   *
+   * @param i the index of the elevator
+   * @param tick the tick
+   */
+  private void catchUp(int i, long tick) {
+    elevators.get(i).advance(tick - elevatorTicks[i]);
+    elevatorTicks[i] = tick;
+  }
+
+  /**
+   * Catch every elevator up to the current tick.
+   */
+  private void catchUpAll() {
+    for (int i = 0; i < elevators.size(); i++) {
+      this.catchUp(i, now);
+    }
+  }
+
+  private void checkNotPast(long tick) {
+    if (tick < now) {
+      throw new IllegalArgumentException("Tick " + tick
+          + " is before the current tick " + now + ".");
+    }
+  }
+}
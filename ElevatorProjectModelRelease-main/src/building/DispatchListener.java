@@ -0,0 +1,36 @@
+package building;
+
+/**
+ * A listener for the requests the building hands to its elevators.
+ * It lets a simulation follow each request from the tick it arrived at
+ * to the elevator that takes it.
+ */
+public interface DispatchListener {
+
+  /**
+   * Called after a batch of requests was handed to an elevator,
+   * at the start of the step that moves the elevator.
+   * The arrays are reused by the building: only the first count entries are
+   * the batch, and they are only valid until this method returns.
+   *
+   * @param elevatorIndex the index of the elevator in the list of elevators.
+   * @param startFloors the start floors of the requests.
+   * @param endFloors the end floors of the requests.
+   * @param arrivalTicks the ticks the requests arrived at.
+   * @param count the number of requests.
+   * @param tick the current tick of the building.
+   */
+  void requestsDispatched(int elevatorIndex, int[] startFloors, int[] endFloors,
+                          long[] arrivalTicks, int count, long tick);
+
+  /**
+   * Called when the building takes an elevator out of service,
+   * which drops every request the elevator was carrying.
+   * Those requests will never be picked up or dropped off.
+   *
+   * @param elevatorIndex the index of the elevator in the list of elevators.
+   * @param tick the current tick of the building.
+   */
+  default void elevatorTakenOutOfService(int elevatorIndex, long tick) {
+  }
+}
@@ -0,0 +1,58 @@
+package building;
+
+import elevator.Elevator;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class moves a range of elevators a number of steps on a fork-join pool.
+ * The range is split in half until it is small enough to step on one thread.
+ * Elevators do not affect each other while they step,
+ * so every elevator ends up the same as when they are stepped one by one.
+ */
+class ElevatorStepTask extends RecursiveAction {
+
+  private static final long serialVersionUID = 1L;
+
+  /************************************************************************
+   * The number of elevators that are stepped without splitting any more.
+   ************************************************************************/
+  static final int THRESHOLD = 32;
+
+  private final List<Elevator> elevators;
+  private final int from;
+  private final int to;
+  private final long ticks;
+
+  /**
+   * Create a task for the elevators from index from up to but not including to.
+   *
+   * @param elevators the elevators
+   * @param from the first index
+   * @param to the index after the last one
+   * @param ticks the number of steps to move each elevator
+   */
+  ElevatorStepTask(List<Elevator> elevators, int from, int to, long ticks) {
+    this.elevators = elevators;
+    this.from = from;
+    this.to = to;
+    this.ticks = ticks;
+  }
+
+  @Override
+  protected void compute() {
+    if (to - from <= THRESHOLD) {
+      for (int i = from; i < to; i++) {
+        if (ticks == 1) {
+          elevators.get(i).step();
+        } else {
+          elevators.get(i).advance(ticks);
+        }
+      }
+      return;
+    }
+    int middle = (from + to) >>> 1;
+    invokeAll(new ElevatorStepTask(elevators, from, middle, ticks),
+        new ElevatorStepTask(elevators, middle, to, ticks));
+  }
+}
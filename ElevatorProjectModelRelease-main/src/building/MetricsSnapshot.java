@@ -0,0 +1,232 @@
+package building;
+
+/**
+ * An immutable snapshot of the metrics of a building at one tick.
+ * The counters of the elevators are kept in one array per counter,
+ * indexed like the elevators of the building.
+ * Subtracting an earlier snapshot from a later one gives the counts in between.
+ */
+public final class MetricsSnapshot {
+  private final long tick;
+  private final long requestsAccepted;
+  private final long requestsRejected;
+  private final long allocations;
+  private final long batchesAllocated;
+  private final long requestsAllocated;
+  private final int upQueueDepth;
+  private final int downQueueDepth;
+  private final long[] doorOpenings;
+  private final long[] floorsTravelled;
+  private final long[] idleTicks;
+  private final long[] directionReversals;
+
+  /**
+   * Create a snapshot. The arrays are owned by the snapshot.
+   *
+   * @param tick the tick of the building
+   * @param requestsAccepted the number of requests accepted
+   * @param requestsRejected the number of calls to add requests that were rejected
+   * @param allocations the number of calls to allocateRequest() that had requests waiting
+   * @param batchesAllocated the number of batches handed to elevators
+   * @param requestsAllocated the number of requests handed to elevators
+   * @param upQueueDepth the number of up requests waiting
+   * @param downQueueDepth the number of down requests waiting
+   * @param doorOpenings the door openings of each elevator
+   * @param floorsTravelled the floors travelled by each elevator
+   * @param idleTicks the idle ticks of each elevator
+   * @param directionReversals the direction reversals of each elevator
+   */
+  MetricsSnapshot(long tick, long requestsAccepted, long requestsRejected, long allocations,
+                  long batchesAllocated, long requestsAllocated,
+                  int upQueueDepth, int downQueueDepth,
+                  long[] doorOpenings, long[] floorsTravelled, long[] idleTicks,
+                  long[] directionReversals) {
+    this.tick = tick;
+    this.requestsAccepted = requestsAccepted;
+    this.requestsRejected = requestsRejected;
+    this.allocations = allocations;
+    this.batchesAllocated = batchesAllocated;
+    this.requestsAllocated = requestsAllocated;
+    this.upQueueDepth = upQueueDepth;
+    this.downQueueDepth = downQueueDepth;
+    this.doorOpenings = doorOpenings;
+    this.floorsTravelled = floorsTravelled;
+    this.idleTicks = idleTicks;
+    this.directionReversals = directionReversals;
+  }
+
+  /**
+   * Get the tick of the building when the snapshot was taken.
+   *
+   * @return the tick
+   */
+  public long getTick() {
+    return this.tick;
+  }
+
+  /**
+   * Get the number of requests the building accepted.
+   *
+   * @return the number of requests
+   */
+  public long getRequestsAccepted() {
+    return this.requestsAccepted;
+  }
+
+  /**
+   * Get the number of calls to add requests that were rejected.
+   *
+   * @return the number of calls
+   */
+  public long getRequestsRejected() {
+    return this.requestsRejected;
+  }
+
+  /**
+   * Get the number of calls to allocateRequest() that had requests waiting.
+   *
+   * @return the number of calls
+   */
+  public long getAllocations() {
+    return this.allocations;
+  }
+
+  /**
+   * Get the number of batches of requests handed to elevators.
+   *
+   * @return the number of batches
+   */
+  public long getBatchesAllocated() {
+    return this.batchesAllocated;
+  }
+
+  /**
+   * Get the number of requests handed to elevators.
+   *
+   * @return the number of requests
+   */
+  public long getRequestsAllocated() {
+    return this.requestsAllocated;
+  }
+
+  /**
+   * Get the average number of requests handed out by a call to allocateRequest()
+   * that had requests waiting.
+   *
+   * @return the number of requests per call, or 0 if there were no such calls
+   */
+  public double getRequestsPerAllocation() {
+    return allocations == 0 ? 0 : (double) requestsAllocated / allocations;
+  }
+
+  /**
+   * Get the number of up requests waiting for an elevator.
+   *
+   * @return the depth of the up queue
+   */
+  public int getUpQueueDepth() {
+    return this.upQueueDepth;
+  }
+
+  /**
+   * Get the number of down requests waiting for an elevator.
+   *
+   * @return the depth of the down queue
+   */
+  public int getDownQueueDepth() {
+    return this.downQueueDepth;
+  }
+
+  /**
+   * Get the number of elevators in the snapshot.
+   *
+   * @return the number of elevators
+   */
+  public int getNumberOfElevators() {
+    return this.doorOpenings.length;
+  }
+
+  /**
+   * Get the number of times the door of an elevator opened.
+   *
+   * @param elevator the index of the elevator
+   * @return the number of door openings
+   */
+  public long getDoorOpenings(int elevator) {
+    return this.doorOpenings[elevator];
+  }
+
+  /**
+   * Get the number of floors an elevator travelled.
+   *
+   * @param elevator the index of the elevator
+   * @return the number of floors
+   */
+  public long getFloorsTravelled(int elevator) {
+    return this.floorsTravelled[elevator];
+  }
+
+  /**
+   * Get the number of ticks an elevator was idle.
+   *
+   * @param elevator the index of the elevator
+   * @return the number of ticks
+   */
+  public long getIdleTicks(int elevator) {
+    return this.idleTicks[elevator];
+  }
+
+  /**
+   * Get the number of times an elevator turned around.
+   *
+   * @param elevator the index of the elevator
+   * @return the number of direction reversals
+   */
+  public long getDirectionReversals(int elevator) {
+    return this.directionReversals[elevator];
+  }
+
+  /**
+   * Get the number of times the doors of all the elevators opened.
+   *
+   * @return the number of door openings
+   */
+  public long getTotalDoorOpenings() {
+    return sum(this.doorOpenings);
+  }
+
+  /**
+   * Get the number of floors all the elevators travelled.
+   *
+   * @return the number of floors
+   */
+  public long getTotalFloorsTravelled() {
+    return sum(this.floorsTravelled);
+  }
+
+  /**
+   * Get the number of ticks all the elevators were idle.
+   *
+   * @return the number of ticks
+   */
+  public long getTotalIdleTicks() {
+    return sum(this.idleTicks);
+  }
+
+  /**
+   * Get the number of times all the elevators turned around.
+   *
+   * @return the number of direction reversals
+   */
+  public long getTotalDirectionReversals() {
+    return sum(this.directionReversals);
+  }
+
+  private static long sum(long[] values) {
+    long sum = 0;
+    for (long value : values) {
+      sum += value;
+    }
+    return sum;
+  }
+}
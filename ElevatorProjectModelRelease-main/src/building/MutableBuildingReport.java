@@ -0,0 +1,265 @@
+package building;
+
+import building.enums.ElevatorSystemStatus;
+import elevator.ElevatorReport;
+import elevator.MutableElevatorReport;
+import elevator.ReportRenderer;
+import java.util.ArrayList;
+import java.util.List;
+import scanerzus.Request;
+
+/**
+ * This class is a report of a building that is filled in place by
+ * Building.getElevatorSystemStatus(MutableBuildingReport), for observers that
+ * read a report every tick and throw it away. The elevator reports and the
+ * request buffers are kept between fills, so once they are big enough
+ * filling the report does not create any objects.
+ * It is owned by the caller and is not safe to share between threads;
+ * use toReport() to keep a copy.
+ */
+public class MutableBuildingReport {
+  private long tick;
+  private int numFloors;
+  private int elevatorCapacity;
+  private ElevatorSystemStatus systemStatus = ElevatorSystemStatus.outOfService;
+  private MutableElevatorReport[] elevatorReports = new MutableElevatorReport[0];
+  private int[] upRequests = new int[0];
+  private int upRequestCount;
+  private int[] downRequests = new int[0];
+  private int downRequestCount;
+
+  /**
+   * Fill in the building, and make room for the elevators.
+   *
+   * @param tick             The tick of the building.
+   * @param numFloors        The number of floors in the building.
+   * @param numElevators     The number of elevators in the building.
+   * @param elevatorCapacity The capacity of the elevators.
+   * @param systemStatus     The status of the elevator system.
+   */
+  void set(long tick, int numFloors, int numElevators, int elevatorCapacity,
+           ElevatorSystemStatus systemStatus) {
+    this.tick = tick;
+    this.numFloors = numFloors;
+    this.elevatorCapacity = elevatorCapacity;
+    this.systemStatus = systemStatus;
+    if (this.elevatorReports.length != numElevators) {
+      this.elevatorReports = new MutableElevatorReport[numElevators];
+      for (int i = 0; i < numElevators; i++) {
+        this.elevatorReports[i] = new MutableElevatorReport();
+      }
+    }
+  }
+
+  /**
+   * Fill in the requests from the request queues.
+   *
+   * @param up the up requests
+   * @param down the down requests
+   */
+  void setRequests(RequestQueue up, RequestQueue down) {
+    this.upRequests = up.toPackedArray(this.upRequests);
+    this.upRequestCount = up.size();
+    this.downRequests = down.toPackedArray(this.downRequests);
+    this.downRequestCount = down.size();
+  }
+
+  /**
+   * This method is used to get the tick the report was filled at.
+   *
+   * @return the tick
+   */
+  public long getTick() {
+    return this.tick;
+  }
+
+  /**
+   * This method is used to get the number of floors in the building.
+   *
+   * @return the number of floors in the building
+   */
+  public int getNumFloors() {
+    return this.numFloors;
+  }
+
+  /**
+   * This method is used to get the number of elevators in the building.
+   *
+   * @return the number of elevators in the building
+   */
+  public int getNumElevators() {
+    return this.elevatorReports.length;
+  }
+
+  /**
+   * This method is used to get the max occupancy of the elevators.
+   *
+   * @return the max occupancy of the elevators
+   */
+  public int getElevatorCapacity() {
+    return this.elevatorCapacity;
+  }
+
+  /**
+   * This method is used to get the status of the elevator system.
+   *
+   * @return the status of the elevator system
+   */
+  public ElevatorSystemStatus getSystemStatus() {
+    return this.systemStatus;
+  }
+
+  /**
+   * This method is used to get the report of an elevator.
+   * The report is refilled by the next fill of this report.
+   *
+   * @param index the index of the elevator
+   * @return the report of the elevator
+   */
+  public MutableElevatorReport getElevatorReport(int index) {
+    return this.elevatorReports[index];
+  }
+
+  /**
+   * This method is used to get the number of up requests.
+   *
+   * @return the number of up requests
+   */
+  public int getUpRequestCount() {
+    return this.upRequestCount;
+  }
+
+  /**
+   * This method is used to get the start floor of an up request.
+   *
+   * @param index the index of the request
+   * @return the start floor
+   */
+  public int getUpRequestStartFloor(int index) {
+    return this.upRequests[this.checkIndex(index, this.upRequestCount)] >>> 8;
+  }
+
+  /**
+   * This method is used to get the end floor of an up request.
+   *
+   * @param index the index of the request
+   * @return the end floor
+   */
+  public int getUpRequestEndFloor(int index) {
+    return this.upRequests[this.checkIndex(index, this.upRequestCount)] & 0xFF;
+  }
+
+  /**
+   * This method is used to get the number of down requests.
+   *
+   * @return the number of down requests
+   */
+  public int getDownRequestCount() {
+    return this.downRequestCount;
+  }
+
+  /**
+   * This method is used to get the start floor of a down request.
+   *
+   * @param index the index of the request
+   * @return the start floor
+   */
+  public int getDownRequestStartFloor(int index) {
+    return this.downRequests[this.checkIndex(index, this.downRequestCount)] >>> 8;
+  }
+
+  /**
+   * This method is used to get the end floor of a down request.
+   *
+   * @param index the index of the request
+   * @return the end floor
+   */
+  public int getDownRequestEndFloor(int index) {
+    return this.downRequests[this.checkIndex(index, this.downRequestCount)] & 0xFF;
+  }
+
+  /**
+   * This method is used to copy the report into a new BuildingReport.
+   *
+   * @return the report of the building
+   */
+  public BuildingReport toReport() {
+    ElevatorReport[] reports = new ElevatorReport[this.elevatorReports.length];
+    for (int i = 0; i < reports.length; i++) {
+      reports[i] = this.elevatorReports[i].toReport();
+    }
+    return new BuildingReport(this.numFloors, reports.length, this.elevatorCapacity, reports,
+        toRequests(this.upRequests, this.upRequestCount),
+        toRequests(this.downRequests, this.downRequestCount),
+        this.systemStatus);
+  }
+
+  /**
+   * Append the text of the report, the same as BuildingReport.toString(), to a builder.
+   * Rendering into a reused builder does not create any objects.
+   *
+   * @param sb the builder to append to
+   * @return the builder
+   */
+  public StringBuilder appendTo(StringBuilder sb) {
+    BuildingReport.appendHeader(sb, this.numFloors, this.elevatorReports.length,
+        this.elevatorCapacity, this.systemStatus);
+    sb.append("Up Requests: [");
+    for (int i = 0; i < this.upRequestCount; i++) {
+      BuildingReport.appendRequest(sb, i, this.upRequests[i] >>> 8, this.upRequests[i] & 0xFF);
+    }
+    sb.append("]\nDown Requests: [");
+    for (int i = 0; i < this.downRequestCount; i++) {
+      BuildingReport.appendRequest(sb, i, this.downRequests[i] >>> 8,
+          this.downRequests[i] & 0xFF);
+    }
+    sb.append("]\nElevator Reports: \n");
+
+    for (int i = 0; i < this.elevatorReports.length; i++) {
+      sb.append("Elevator ").append(i).append(": ");
+      ReportRenderer.appendElevator(sb, this.elevatorReports[i]).append('\n');
+    }
+    return sb;
+  }
+
+  /**
+   * toString method for the report, the same as BuildingReport.toString().
+   *
+   * @return the string representation of the report.
+   */
+  @Override
+  public String toString() {
+    return this.appendTo(new StringBuilder()).toString();
+  }
+
+  /**
+   * Check that a request index is less than the number of requests,
+   * since the buffers can be longer than the requests in them.
+   *
+   * @param index the index
+   * @param count the number of requests
+   * @return the index
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  private int checkIndex(int index, int count) {
+    if (index < 0 || index >= count) {
+      throw new IndexOutOfBoundsException("Request " + index + " of " + count);
+    }
+    return index;
+  }
+
+  /**
+   * Unpack requests into a list.
+   *
+   * @param requests the packed requests
+   * @param count the number of requests
+   * @return a new list of the requests
+   */
+  private static List<Request> toRequests(int[] requests, int count) {
+    List<Request> list = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      list.add(new Request(requests[i] >>> 8, requests[i] & 0xFF));
+    }
+    return list;
+  }
+}
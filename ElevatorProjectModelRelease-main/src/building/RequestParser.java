@@ -0,0 +1,143 @@
+package building;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This class parses request input of the form "startFloor endFloor ...".
+ * The input is either a CharSequence or the remaining bytes of an
+ * ASCII ByteBuffer. The floors are read one at a time straight from the input,
+ * so no intermediate strings, arrays or lists are created.
+ * A parser is reset and reused for every input; it is not thread safe.
+ */
+class RequestParser {
+  private CharSequence text;
+  private ByteBuffer bytes;
+  private int start;
+  private int position;
+  private int limit;
+
+  /**
+   * Reset the parser to read the given characters.
+   *
+   * @param input the request input
+   */
+  void reset(CharSequence input) {
+    this.text = input;
+    this.bytes = null;
+    this.start = 0;
+    this.position = 0;
+    this.limit = input.length();
+  }
+
+  /**
+   * Reset the parser to read the remaining bytes of the given buffer.
+   * The position of the buffer is not changed.
+   *
+   * @param input the request input
+   */
+  void reset(ByteBuffer input) {
+    this.text = null;
+    this.bytes = input;
+    this.start = input.position();
+    this.position = input.position();
+    this.limit = input.limit();
+  }
+
+  /**
+   * Move the parser back to the start of the input.
+   */
+  void rewind() {
+    this.position = this.start;
+  }
+
+  /**
+   * Read the whole input once and count the floors in it.
+   * The parser is left at the start of the input.
+   *
+   * @return the number of floors in the input
+   * @throws IllegalArgumentException if a floor is not a number
+   *                                  or the number of floors is zero or odd
+   */
+  int countFloors() {
+    int count = 0;
+    while (this.hasNextFloor()) {
+      this.nextFloor();
+      count++;
+    }
+    this.rewind();
+
+    if (count == 0 || count % 2 != 0) {
+      throw new IllegalArgumentException("Invalid input. Please ensure you enter values"
+          + " in an even number of arguments: <startFloor> <endFloor>");
+    }
+    return count;
+  }
+
+  /**
+   * Skip the spaces in front of the next floor.
+   *
+   * @return true if there is another floor in the input
+   */
+  boolean hasNextFloor() {
+    while (this.position < this.limit && Character.isWhitespace(this.charAt(this.position))) {
+      this.position++;
+    }
+    return this.position < this.limit;
+  }
+
+  /**
+   * Read the next floor.
+   *
+   * @return the next floor
+   * @throws NumberFormatException if the next floor is not a number
+   */
+  int nextFloor() {
+    int start = this.position;
+    boolean negative = false;
+    char first = this.charAt(this.position);
+    if (first == '-' || first == '+') {
+      negative = first == '-';
+      this.position++;
+    }
+
+    long value = 0;
+    int digits = 0;
+    while (this.position < this.limit && !Character.isWhitespace(this.charAt(this.position))) {
+      int digit = this.charAt(this.position) - '0';
+      if (digit < 0 || digit > 9 || value > Integer.MAX_VALUE) {
+        throw this.invalidFloor(start);
+      }
+      value = value * 10 + digit;
+      digits++;
+      this.position++;
+    }
+
+    if (digits == 0) {
+      throw this.invalidFloor(start);
+    }
+    value = negative ? -value : value;
+    if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+      throw this.invalidFloor(start);
+    }
+    return (int) value;
+  }
+
+  private char charAt(int index) {
+    if (this.text != null) {
+      return this.text.charAt(index);
+    }
+    return (char) (this.bytes.get(index) & 0xff);
+  }
+
+  private NumberFormatException invalidFloor(int start) {
+    int end = start;
+    while (end < this.limit && !Character.isWhitespace(this.charAt(end))) {
+      end++;
+    }
+    StringBuilder token = new StringBuilder();
+    for (int i = start; i < end; i++) {
+      token.append(this.charAt(i));
+    }
+    return new NumberFormatException("For input string: \"" + token + "\"");
+  }
+}
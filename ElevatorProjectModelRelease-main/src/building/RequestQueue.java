@@ -0,0 +1,183 @@
+package building;
+
+import java.util.ArrayList;
+import java.util.List;
+import scanerzus.Request;
+
+/**
+ * This class is a first-in first-out queue of pending requests.
+ * The start and end floors, and the tick each request arrived at,
+ * are kept in primitive ring buffers that grow when they are full,
+ * so the queue can hold any backlog, and adding or draining a request
+ * does not create any objects.
+ */
+class RequestQueue {
+  private static final int INITIAL_CAPACITY = 16;
+
+  private int[] startFloors;
+  private int[] endFloors;
+  private long[] arrivalTicks;
+  private int head;
+  private int size;
+  private long version;
+
+  /**
+   * Create an empty queue.
+   */
+  RequestQueue() {
+    this.startFloors = new int[INITIAL_CAPACITY];
+    this.endFloors = new int[INITIAL_CAPACITY];
+    this.arrivalTicks = new long[INITIAL_CAPACITY];
+    this.head = 0;
+    this.size = 0;
+  }
+
+  /**
+   * Get the number of requests in the queue.
+   *
+   * @return the number of requests in the queue
+   */
+  int size() {
+    return this.size;
+  }
+
+  /**
+   * Check if the queue is empty.
+   *
+   * @return true if there are no requests in the queue
+   */
+  boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  /**
+   * Get the version of the queue, which goes up whenever the queue changes.
+   *
+   * @return the version of the queue
+   */
+  long version() {
+    return this.version;
+  }
+
+  /**
+   * Add a request to the end of the queue.
+   *
+   * @param startFloor the start floor of the request
+   * @param endFloor the end floor of the request
+   * @param arrivalTick the tick the request arrived at
+   */
+  void add(int startFloor, int endFloor, long arrivalTick) {
+    if (this.size == this.startFloors.length) {
+      this.grow();
+    }
+    int tail = (this.head + this.size) & (this.startFloors.length - 1);
+    this.startFloors[tail] = startFloor;
+    this.endFloors[tail] = endFloor;
+    this.arrivalTicks[tail] = arrivalTick;
+    this.size++;
+    this.version++;
+  }
+
+  /**
+   * Remove up to max requests from the front of the queue
+   * and copy them into the given arrays.
+   *
+   * @param startFloors the array for the start floors
+   * @param endFloors the array for the end floors
+   * @param arrivalTicks the array for the arrival ticks
+   * @param max the maximum number of requests to remove
+   * @return the number of requests removed
+   */
+  int drainTo(int[] startFloors, int[] endFloors, long[] arrivalTicks, int max) {
+    int count = Math.min(max, this.size);
+    int mask = this.startFloors.length - 1;
+    for (int i = 0; i < count; i++) {
+      int index = (this.head + i) & mask;
+      startFloors[i] = this.startFloors[index];
+      endFloors[i] = this.endFloors[index];
+      arrivalTicks[i] = this.arrivalTicks[index];
+    }
+    this.head = (this.head + count) & mask;
+    this.size -= count;
+    if (count > 0) {
+      this.version++;
+    }
+    return count;
+  }
+
+  /**
+   * Remove all the requests from the queue.
+   */
+  void clear() {
+    if (this.size > 0) {
+      this.version++;
+    }
+    this.head = 0;
+    this.size = 0;
+  }
+
+  /**
+   * Copy the queue into a new list of requests, front first.
+   *
+   * @return the requests in the queue
+   */
+  List<Request> toList() {
+    List<Request> requests = new ArrayList<>(this.size);
+    int mask = this.startFloors.length - 1;
+    for (int i = 0; i < this.size; i++) {
+      int index = (this.head + i) & mask;
+      requests.add(new Request(this.startFloors[index], this.endFloors[index]));
+    }
+    return requests;
+  }
+
+  /**
+   * Copy the requests, in order, into a new array of packed requests
+   * (see BuildingSnapshot.packRequest).
+   *
+   * @return the packed requests
+   */
+  int[] toPackedArray() {
+    return this.toPackedArray(new int[this.size]);
+  }
+
+  /**
+   * Copy the requests, in order, into the front of an array of packed requests.
+   * A new array is made only if the given one is too short.
+   *
+   * @param requests the array to copy into
+   * @return the array holding the requests
+   */
+  int[] toPackedArray(int[] requests) {
+    if (requests.length < this.size) {
+      requests = new int[Math.max(this.size, requests.length * 2)];
+    }
+    int mask = this.startFloors.length - 1;
+    for (int i = 0; i < this.size; i++) {
+      int index = (this.head + i) & mask;
+      requests[i] = BuildingSnapshot.packRequest(this.startFloors[index], this.endFloors[index]);
+    }
+    return requests;
+  }
+
+  /**
+   * Double the ring buffers, moving the requests to the front.
+   * The length of the buffers is always a power of two.
+   */
+  private void grow() {
+    int[] newStartFloors = new int[this.startFloors.length * 2];
+    int[] newEndFloors = new int[this.endFloors.length * 2];
+    long[] newArrivalTicks = new long[this.arrivalTicks.length * 2];
+    int mask = this.startFloors.length - 1;
+    for (int i = 0; i < this.size; i++) {
+      int index = (this.head + i) & mask;
+      newStartFloors[i] = this.startFloors[index];
+      newEndFloors[i] = this.endFloors[index];
+      newArrivalTicks[i] = this.arrivalTicks[index];
+    }
+    this.startFloors = newStartFloors;
+    this.endFloors = newEndFloors;
+    this.arrivalTicks = newArrivalTicks;
+    this.head = 0;
+  }
+}
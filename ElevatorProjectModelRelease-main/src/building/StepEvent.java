@@ -0,0 +1,38 @@
+package building;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event for one Building.step(), from draining the
+ * submitted requests to moving the elevators.
+ * It is disabled by default; enable "building.Step" in a recording to see it.
+ */
+@Name("building.Step")
+@Label("Building Step")
+@Description("One step of the building: allocate the waiting requests and move the elevators")
+@Category({"Elevator Simulation", "Building"})
+@Enabled(false)
+@StackTrace(false)
+final class StepEvent extends Event {
+
+  @Label("Tick")
+  @Description("The tick the step started at")
+  long tick;
+
+  @Label("Elevators")
+  int elevators;
+
+  @Label("Up Queue Depth")
+  @Description("The up requests still waiting after the step")
+  int upQueueDepth;
+
+  @Label("Down Queue Depth")
+  @Description("The down requests still waiting after the step")
+  int downQueueDepth;
+}
@@ -0,0 +1,31 @@
+package building;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Flight Recorder event for Building.stopElevatorSystem(),
+ * which brings every elevator down to the ground floor.
+ * It is disabled by default; enable "building.Stop" in a recording to see it.
+ */
+@Name("building.Stop")
+@Label("Stop Elevator System")
+@Description("Clear the requests and take every elevator out of service")
+@Category({"Elevator Simulation", "Building"})
+@Enabled(false)
+final class StopEvent extends Event {
+
+  @Label("Tick")
+  long tick;
+
+  @Label("Elevators")
+  int elevators;
+
+  @Label("Requests Cleared")
+  @Description("The requests that were still waiting when the system stopped")
+  int requestsCleared;
+}
@@ -0,0 +1,97 @@
+package building;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class is a lock-free queue of submitted requests with many producers
+ * and a single consumer. Any thread can add a request; only the thread that
+ * steps the building drains them.
+ * Producers swap themselves in at the tail with one atomic exchange and then
+ * link the previous node to theirs, so they never wait for each other or for
+ * the consumer. A request whose link is not written yet is simply picked up
+ * by the next drain.
+ * Each request carries the generation it was submitted in; the building
+ * starts a new generation when it clears its requests, and a drain throws
+ * away the requests of older generations instead of clearing the queue,
+ * which only the producers' atomic exchange may touch safely.
+ */
+class SubmissionQueue {
+
+  /**
+   * A submitted request.
+   */
+  private static final class Node {
+    private final int startFloor;
+    private final int endFloor;
+    private final int generation;
+    private volatile Node next;
+
+    private Node(int startFloor, int endFloor, int generation) {
+      this.startFloor = startFloor;
+      this.endFloor = endFloor;
+      this.generation = generation;
+    }
+  }
+
+  private final AtomicReference<Node> tail;
+
+  /************************************************************************
+   * The last node the consumer has taken. Only the consumer reads or writes it.
+   ************************************************************************/
+  private Node head;
+
+  /**
+   * Create an empty queue.
+   */
+  SubmissionQueue() {
+    this.head = new Node(0, 0, 0);
+    this.tail = new AtomicReference<>(this.head);
+  }
+
+  /**
+   * Add a request to the queue. Safe to call from any thread.
+   *
+   * @param startFloor the start floor of the request
+   * @param endFloor the end floor of the request
+   * @param generation the generation the request was submitted in
+   */
+  void add(int startFloor, int endFloor, int generation) {
+    Node node = new Node(startFloor, endFloor, generation);
+    Node previous = tail.getAndSet(node);
+    previous.next = node;
+  }
+
+  /**
+   * Check if there may be requests to drain.
+   * Only the consumer thread may call this.
+   *
+   * @return true if there is a request to drain
+   */
+  boolean isEmpty() {
+    return head.next == null;
+  }
+
+  /**
+   * Move every request of the given generation in the queue to the end
+   * of a request queue, in the order they were added, and throw away
+   * the requests of other generations. Only the consumer thread may call this.
+   *
+   * @param queue the request queue
+   * @param arrivalTick the tick the requests arrive at
+   * @param generation the current generation
+   * @return the number of requests moved
+   */
+  int drainTo(RequestQueue queue, long arrivalTick, int generation) {
+    int count = 0;
+    Node next = head.next;
+    while (next != null) {
+      if (next.generation == generation) {
+        queue.add(next.startFloor, next.endFloor, arrivalTick);
+        count++;
+      }
+      head = next;
+      next = next.next;
+    }
+    return count;
+  }
+}
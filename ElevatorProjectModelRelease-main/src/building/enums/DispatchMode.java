@@ -0,0 +1,20 @@
+package building.enums;
+
+/**
+ * This enum is used to represent how the building hands
+ * waiting requests to the elevators that can take them.
+ */
+public enum DispatchMode {
+  firstAvailable("First Available"),
+  allAvailable("All Available");
+  final String display;
+
+  DispatchMode(String display) {
+    this.display = display;
+  }
+
+  @Override
+  public String toString() {
+    return this.display;
+  }
+}
@@ -3,6 +3,7 @@ package elevator;
 
 import building.enums.Direction;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import scanerzus.Request;
 
 
@@ -11,14 +12,16 @@ import scanerzus.Request;
  */
 public class Elevator implements ElevatorInterface {
   /************************************************************************
-   * static value used to initialize the elevator id.
+   * static value used to initialize the elevator id
+   * of elevators that are not given one.
+   * It is atomic so that elevators can be created on many threads.
    ************************************************************************/
-  private static int newElevatorId = 0;
+  private static final AtomicInteger newElevatorId = new AtomicInteger();
 
   /************************************************************************
    * The id of the elevator.This is read only.
    ************************************************************************/
-  private final int id = newElevatorId++;
+  private final int id;
 
   /************************************************************************
    * The total number of floors in the building.
@@ -76,14 +79,38 @@ public class Elevator implements ElevatorInterface {
 
 
   /************************************************************************
-   * The requests for the floors.
+   * The requests for the floors, bit i is set if there is a request for floor i.
    ************************************************************************/
-  private final boolean[] floorRequests; // true if there is a request for the floor.
+  private int floorRequests;
 
 
   private boolean outOfService;  // start must be issued on the elevator to start it.
 
 
+  /************************************************************************
+   * Counts the changes to the state of the elevator.
+   * It goes up whenever the state may have changed, so two equal versions
+   * mean the elevator reports the same thing.
+   ************************************************************************/
+  private long stateVersion;
+
+
+  /************************************************************************
+   * The listener told about state transitions, or null.
+   ************************************************************************/
+  private ElevatorListener listener;
+
+
+  /************************************************************************
+   * The counters of the elevator, read through getMetrics().
+   * Only the thread stepping the elevator writes them, so they are plain fields.
+   ************************************************************************/
+  private long doorOpenings;
+  private long floorsTravelled;
+  private long idleTicks;
+  private long directionReversals;
+
+
   /**
    * The constructor for this elevator.
    * The elevator is initially at the ground floor and is not moving.
@@ -97,6 +124,22 @@ public class Elevator implements ElevatorInterface {
    * @throws IllegalArgumentException if the maxFloor or maxOccupancy is out of range
    */
   public Elevator(int maxFloor, int maxOccupancy) {
+    this(newElevatorId.getAndIncrement(), maxFloor, maxOccupancy);
+  }
+
+  /**
+   * The constructor for this elevator with the given id.
+   * A building numbers its own elevators, so buildings created
+   * on different threads do not share any state.
+   *
+   * @param id           the id of the elevator
+   * @param maxFloor     the total number of floors in the building,
+   *                     with the same limits as Elevator(int, int)
+   * @param maxOccupancy the maximum number of people that can fit in the elevator,
+   *                     with the same limits as Elevator(int, int)
+   * @throws IllegalArgumentException if the maxFloor or maxOccupancy is out of range
+   */
+  public Elevator(int id, int maxFloor, int maxOccupancy) {
     if (maxFloor < 3 || maxFloor > 30) {
       throw new IllegalArgumentException("maxFloor must be between 3 and 30");
     }
@@ -104,12 +147,13 @@ public class Elevator implements ElevatorInterface {
       throw new IllegalArgumentException("maxOccupancy must be between 3 and 20");
     }
 
+    this.id = id;
     this.maxFloor = maxFloor;
     this.maxOccupancy = maxOccupancy;
     this.currentFloor = 0;
     this.direction = Direction.STOPPED;
     this.outOfService = true;
-    this.floorRequests = new boolean[maxFloor];
+    this.floorRequests = 0;
     this.takingRequests = false;
 
   }
@@ -177,15 +221,87 @@ public class Elevator implements ElevatorInterface {
   }
 
   /**
-   * Return the current stop requests.
+   * Return a copy of the current stop requests.
    *
    * @return the current stop requests.
    */
   @Override
   public boolean[] getFloorRequests() {
+    return FloorMask.toArray(this.floorRequests, this.maxFloor);
+  }
+
+  /**
+   * Return the current stop requests as a bitmask.
+   *
+   * @return the current stop requests, bit i is set if there is a request for floor i.
+   */
+  @Override
+  public int getFloorRequestMask() {
     return this.floorRequests;
   }
 
+  /**
+   * Get the version of the state of the elevator.
+   * It goes up whenever the elevator may have changed,
+   * so a report only needs to be taken again when it is different.
+   *
+   * @return the version of the state
+   */
+  @Override
+  public long getStateVersion() {
+    return this.stateVersion;
+  }
+
+
+  /**
+   * Return the next requested floor in the direction the elevator is moving.
+   *
+   * @return the next requested floor, or -1 if there is none.
+   */
+  @Override
+  public int getNextStop() {
+    if (this.direction == Direction.UP) {
+      return FloorMask.nextAbove(this.floorRequests, this.currentFloor);
+    } else if (this.direction == Direction.DOWN) {
+      return FloorMask.nextBelow(this.floorRequests, this.currentFloor);
+    }
+    return -1;
+  }
+
+  /**
+   * Get a copy of the counters of the elevator.
+   *
+   * @return the counters
+   */
+  @Override
+  public ElevatorMetrics getMetrics() {
+    return this.fillMetrics(new ElevatorMetrics());
+  }
+
+  /**
+   * Copy the counters of the elevator into a caller-owned holder.
+   *
+   * @param metrics the holder to fill
+   * @return the holder
+   */
+  @Override
+  public ElevatorMetrics fillMetrics(ElevatorMetrics metrics) {
+    metrics.doorOpenings = this.doorOpenings;
+    metrics.floorsTravelled = this.floorsTravelled;
+    metrics.idleTicks = this.idleTicks;
+    metrics.directionReversals = this.directionReversals;
+    return metrics;
+  }
+
+  /**
+   * Set the listener that is told about state transitions of this elevator.
+   *
+   * @param listener the listener, or null for none.
+   */
+  public void setListener(ElevatorListener listener) {
+    this.listener = listener;
+  }
+
   /* ***********************************************************************
    * The following methods are the methods for the ElevatorStatus interface.
    *
@@ -205,8 +321,9 @@ public class Elevator implements ElevatorInterface {
    */
   @Override
   public void start() {
+    this.stateVersion++;
     this.outOfService = false;
-    this.takingRequests = true;
+    this.setTakingRequests(true);
     clearStopRequests();
     this.doorClosed = true;
     this.doorOpenTimeLeft = 0;
@@ -223,6 +340,12 @@ public class Elevator implements ElevatorInterface {
    * Fourth check to see if there is a request at this floor.
    */
   public void step() {
+    // Only an elevator parked out of service on the ground floor does not change.
+    if (!(this.outOfService && this.currentFloor == 0 && !this.doorClosed)) {
+      this.stateVersion++;
+    }
+    this.countIdleStep();
+
     // If the elevator is out of service then we need to deal with that.
     if (this.outOfService) {
       this.stepOutOfService();
@@ -246,10 +369,11 @@ public class Elevator implements ElevatorInterface {
     // the door is closed and we are not waiting at the top or bottom.
     // now we check to see if there is a request at this floor
     // We open the door and set the timer for 3 steps.
-    if (this.floorRequests[this.currentFloor]) {
+    if (FloorMask.isRequested(this.floorRequests, this.currentFloor)) {
       this.doorClosed = false;
       this.doorOpenTimeLeft = this.doorOpenTimeTotal;
-      this.floorRequests[this.currentFloor] = false;
+      this.floorRequests &= ~(1 << this.currentFloor);
+      this.doorOpenings++;
       return;
     }
 
@@ -265,8 +389,9 @@ public class Elevator implements ElevatorInterface {
     // we set the timer to this.stopWaitTimeTotal
     if (this.currentFloor == 0 && this.direction == Direction.DOWN) {
       this.direction = Direction.STOPPED;
+      this.directionReversals++;
       this.stopWaitTimeLeft = this.stopWaitTimeTotal;
-      this.takingRequests = true;
+      this.setTakingRequests(true);
       return;
     }
 
@@ -276,8 +401,9 @@ public class Elevator implements ElevatorInterface {
     // we set the timer to this.stopWaitTimeTotal
     if (this.currentFloor == this.maxFloor - 1 && this.direction == Direction.UP) {
       this.direction = Direction.STOPPED;
+      this.directionReversals++;
       this.stopWaitTimeLeft = this.stopWaitTimeTotal;
-      this.takingRequests = true;
+      this.setTakingRequests(true);
       return;
     }
 
@@ -291,8 +417,175 @@ public class Elevator implements ElevatorInterface {
     int floorIncrement = 1;
     if (this.direction == Direction.UP) {
       this.currentFloor += floorIncrement;
+      this.floorsTravelled++;
     } else if (this.direction == Direction.DOWN) {
       this.currentFloor -= floorIncrement;
+      this.floorsTravelled++;
+    }
+  }
+
+  /**
+   * Count the step as idle if the elevator is in service
+   * with its door closed and no floor requests.
+   * This is kept out of step() so step() stays small enough to be inlined.
+   */
+  private void countIdleStep() {
+    if (!this.outOfService && this.doorClosed && this.floorRequests == 0) {
+      this.idleTicks++;
+    }
+  }
+
+  /**
+   * Get the number of steps until the next step that does more than
+   * count down a timer or move one floor: the door opening or closing,
+   * a wait at the top or bottom starting or ending, or taking a request.
+   *
+   * @return the number of steps until and including the next such step,
+   *         or Long.MAX_VALUE if the elevator will never change again.
+   */
+  @Override
+  public long getTicksUntilNextEvent() {
+    long idleSteps = this.getIdleSteps();
+    return idleSteps == Long.MAX_VALUE ? Long.MAX_VALUE : idleSteps + 1;
+  }
+
+  /**
+   * Move the elevator the given number of steps.
+   * This is the same as calling step() that many times,
+   * but the steps between events are taken in one go.
+   *
+   * @param ticks the number of steps, must not be negative.
+   * @throws IllegalArgumentException if ticks is negative.
+   */
+  @Override
+  public void advance(long ticks) {
+    if (ticks < 0) {
+      throw new IllegalArgumentException("ticks must not be negative");
+    }
+    while (ticks > 0) {
+      if (this.isEmptyLoopStart()) {
+        // An empty elevator goes round the same loop forever,
+        // so whole loops can be skipped without stepping through them.
+        // Each loop is idle, goes up and down once and turns twice.
+        long loop = 2L * (this.stopWaitTimeTotal + this.maxFloor);
+        long loops = ticks / loop;
+        this.idleTicks += loops * loop;
+        this.floorsTravelled += loops * 2 * (this.maxFloor - 1);
+        this.directionReversals += loops * 2;
+        ticks %= loop;
+        if (ticks == 0) {
+          return;
+        }
+      }
+      long idleSteps = this.getIdleSteps();
+      if (idleSteps == Long.MAX_VALUE) {
+        return;
+      }
+      long skip = Math.min(idleSteps, ticks);
+      this.skipIdleSteps((int) skip);
+      ticks -= skip;
+      if (ticks > 0) {
+        this.step();
+        ticks--;
+      }
+    }
+  }
+
+  /**
+   * Get the number of steps from now that only count down a timer
+   * or move the elevator one floor in the direction it is going.
+   * This follows the same cases as step().
+   *
+   * @return the number of such steps, or Long.MAX_VALUE if no step will change anything.
+   */
+  private long getIdleSteps() {
+    if (this.outOfService) {
+      if (this.currentFloor == 0) {
+        return this.doorClosed ? 0 : Long.MAX_VALUE;
+      }
+      if (!this.doorClosed) {
+        return Math.max(this.doorOpenTimeLeft - 1, 0);
+      }
+      // going down to the ground floor
+      return this.currentFloor;
+    }
+
+    if (!this.doorClosed) {
+      return Math.max(this.doorOpenTimeLeft - 1, 0);
+    }
+
+    if (this.stopWaitTimeLeft > 0) {
+      return this.stopWaitTimeLeft - 1;
+    }
+
+    if (FloorMask.isRequested(this.floorRequests, this.currentFloor)) {
+      return 0;
+    }
+
+    if (this.direction == Direction.UP) {
+      int nextStop = FloorMask.nextAbove(this.floorRequests, this.currentFloor);
+      return (nextStop < 0 ? this.maxFloor - 1 : nextStop) - this.currentFloor;
+    }
+    if (this.direction == Direction.DOWN) {
+      int nextStop = FloorMask.nextBelow(this.floorRequests, this.currentFloor);
+      return this.currentFloor - Math.max(nextStop, 0);
+    }
+    return Long.MAX_VALUE;
+  }
+
+  /**
+   * Check if the elevator has no requests and has just arrived at the ground floor.
+   * From here it waits, goes to the top, waits, and comes back down,
+   * ending in this same state after 2 * (stopWaitTimeTotal + maxFloor) steps.
+   *
+   * @return true if the elevator is at the start of its empty loop
+   */
+  private boolean isEmptyLoopStart() {
+    return !this.outOfService
+        && this.doorClosed
+        && this.doorOpenTimeLeft == 0
+        && this.floorRequests == 0
+        && this.currentFloor == 0
+        && this.direction == Direction.STOPPED
+        && this.stopWaitTimeLeft == this.stopWaitTimeTotal;
+  }
+
+  /**
+   * Take steps that only count down a timer or move the elevator.
+   *
+   * @param steps the number of steps, at most getIdleSteps().
+   */
+  private void skipIdleSteps(int steps) {
+    if (steps == 0) {
+      return;
+    }
+    this.stateVersion++;
+    if (this.outOfService) {
+      if (!this.doorClosed) {
+        this.doorOpenTimeLeft -= steps;
+      } else {
+        this.direction = Direction.DOWN;
+        this.currentFloor -= steps;
+        this.floorsTravelled += steps;
+      }
+      return;
+    }
+    if (!this.doorClosed) {
+      this.doorOpenTimeLeft -= steps;
+      return;
+    }
+
+    if (this.floorRequests == 0) {
+      this.idleTicks += steps;
+    }
+    if (this.stopWaitTimeLeft > 0) {
+      this.stopWaitTimeLeft -= steps;
+    } else if (this.direction == Direction.UP) {
+      this.currentFloor += steps;
+      this.floorsTravelled += steps;
+    } else if (this.direction == Direction.DOWN) {
+      this.currentFloor -= steps;
+      this.floorsTravelled += steps;
     }
   }
 
@@ -313,8 +606,9 @@ public class Elevator implements ElevatorInterface {
     //
     if (this.currentFloor == 0) {
       this.doorClosed = false;
+      this.doorOpenings++;
       // we can clear the floor requests now
-      this.floorRequests[this.currentFloor] = false;
+      this.floorRequests &= ~1;
       // we can set the elevator to stopped.
       this.direction = Direction.STOPPED;
       return;
@@ -332,6 +626,7 @@ public class Elevator implements ElevatorInterface {
     // set the direction of the elevator to down.
     this.direction = Direction.DOWN;
     this.currentFloor--;
+    this.floorsTravelled++;
   }
 
   /**
@@ -350,7 +645,7 @@ public class Elevator implements ElevatorInterface {
   private void stepTopOrBottom() {
     this.stopWaitTimeLeft--;
     if (this.stopWaitTimeLeft == 0) {
-      this.takingRequests = false;
+      this.setTakingRequests(false);
       if (this.currentFloor == 0) {
         this.direction = Direction.UP;
       } else if (this.currentFloor == this.maxFloor - 1) {
@@ -367,26 +662,100 @@ public class Elevator implements ElevatorInterface {
    * If a request is received to processRequests and the elevator
    * is not on the first floor or the top floor then and exception
    * will be thrown.
+   * Every floor is checked before the stop requests are changed.
+   *
+   * @throws IllegalArgumentException if a floor is not in the building
    */
   @Override
   public void processRequests(List<Request> requests) throws IllegalStateException {
-    if (this.currentFloor != 0 && this.currentFloor != this.maxFloor - 1) {
-      throw new IllegalStateException("Elevator cannot process requests "
-          + "unless it is at the bottom or top floor.");
-    }
+    this.checkCanProcessRequests();
 
     if (requests.isEmpty()) {
       return;
     }
 
-    this.processStopRequests(requests);
+    ProcessRequestsEvent event = new ProcessRequestsEvent();
+    event.begin();
+    int mask = 0;
+    for (Request request : requests) {
+      mask = FloorMask.withFloor(mask, request.getStartFloor(), this.maxFloor);
+      mask = FloorMask.withFloor(mask, request.getEndFloor(), this.maxFloor);
+    }
+    this.floorRequests = mask;
+    this.commit(event, requests.size());
+    this.startRun();
+  }
+
+  /**
+   * Process the requests given as parallel arrays of start and end floors.
+   * This is the same as processRequests(List) for the first count requests
+   * of the arrays, without creating a Request for each of them.
+   *
+   * @throws IllegalArgumentException if a floor is not in the building
+   */
+  @Override
+  public void processRequests(int[] startFloors, int[] endFloors, int count)
+      throws IllegalStateException {
+    this.checkCanProcessRequests();
+
+    if (count == 0) {
+      return;
+    }
+
+    ProcessRequestsEvent event = new ProcessRequestsEvent();
+    event.begin();
+    int mask = 0;
+    for (int i = 0; i < count; i++) {
+      mask = FloorMask.withFloor(mask, startFloors[i], this.maxFloor);
+      mask = FloorMask.withFloor(mask, endFloors[i], this.maxFloor);
+    }
+    this.floorRequests = mask;
+    this.commit(event, count);
+    this.startRun();
+  }
+
+  /**
+   * Commit the Flight Recorder event for a batch of requests,
+   * if it is enabled in a recording.
+   *
+   * @param event the event, begun before the requests were processed
+   * @param count the number of requests in the batch
+   */
+  private void commit(ProcessRequestsEvent event, int count) {
+    if (event.shouldCommit()) {
+      event.elevatorId = this.id;
+      event.floor = this.currentFloor;
+      event.batchSize = count;
+      event.stops = Integer.bitCount(this.floorRequests);
+      event.commit();
+    }
+  }
+
+  /**
+   * Check that the elevator is at the bottom or the top,
+   * which is the only place it can take requests.
+   */
+  private void checkCanProcessRequests() {
+    if (this.currentFloor != 0 && this.currentFloor != this.maxFloor - 1) {
+      throw new IllegalStateException("Elevator cannot process requests "
+          + "unless it is at the bottom or top floor.");
+    }
+  }
+
+  /**
+   * Start a run after the stop requests have been set.
+   * If the elevator was waiting at the top or bottom
+   * the timer is set to 0 and we are off to the races.
+   */
+  private void startRun() {
+    this.stateVersion++;
+    this.stopWaitTimeLeft = 0;
     if (this.currentFloor == 0) {
       this.direction = Direction.UP;
     } else if (this.currentFloor == this.maxFloor - 1) {
       this.direction = Direction.DOWN;
     }
-    this.takingRequests = false;
-
+    this.setTakingRequests(false);
   }
 
   /**
@@ -394,8 +763,12 @@ public class Elevator implements ElevatorInterface {
    */
   @Override
   public void takeOutOfService() {
+    this.stateVersion++;
     this.clearStopRequests();
-    this.takingRequests = false;
+    this.setTakingRequests(false);
+    if (this.direction == Direction.UP && this.currentFloor != 0) {
+      this.directionReversals++;
+    }
     this.direction = Direction.DOWN;
 
     this.outOfService = true;
@@ -414,25 +787,27 @@ public class Elevator implements ElevatorInterface {
   }
 
 
-  private void processStopRequests(List<Request> requests) {
-    clearStopRequests();
-
-    for (Request request : requests) {
-      this.floorRequests[request.getStartFloor()] = true;
-      this.floorRequests[request.getEndFloor()] = true;
+  /**
+   * Change whether the elevator is taking requests
+   * and tell the listener if it changed.
+   *
+   * @param takingRequests true if the elevator is taking requests.
+   */
+  private void setTakingRequests(boolean takingRequests) {
+    if (this.takingRequests == takingRequests) {
+      return;
+    }
+    this.takingRequests = takingRequests;
+    if (this.listener != null) {
+      this.listener.takingRequestsChanged(this);
     }
-    // if the elevator was waiting at the top or bottom
-    // set the timer to 0 and we are off to the races.
-    this.stopWaitTimeLeft = 0;
   }
 
   /**
    * Clear the Floor Requests.
    */
   private void clearStopRequests() {
-    for (int i = 0; i < this.maxFloor; i++) {
-      this.floorRequests[i] = false;
-    }
+    this.floorRequests = 0;
   }
 
   /**
@@ -448,6 +823,7 @@ public class Elevator implements ElevatorInterface {
         this.direction,
         this.doorClosed,
         this.floorRequests,
+        this.maxFloor,
         this.doorOpenTimeLeft,
         this.stopWaitTimeLeft,
         this.outOfService,
@@ -470,6 +846,48 @@ public class Elevator implements ElevatorInterface {
         this.direction,
         this.doorClosed,
         this.floorRequests,
+        this.maxFloor,
+        this.doorOpenTimeLeft,
+        this.stopWaitTimeLeft,
+        this.outOfService,
+        this.takingRequests);
+  }
+
+  /**
+   * Fill a caller-owned report with the status of the elevator.
+   *
+   * @param report the report to fill
+   * @return the report
+   */
+  @Override
+  public MutableElevatorReport fillStatus(MutableElevatorReport report) {
+    report.set(
+        this.id,
+        this.currentFloor,
+        this.direction,
+        this.doorClosed,
+        this.floorRequests,
+        this.maxFloor,
+        this.doorOpenTimeLeft,
+        this.stopWaitTimeLeft,
+        this.outOfService,
+        this.takingRequests);
+    return report;
+  }
+
+  /**
+   * Pack the state of the elevator into one long, see ElevatorState.
+   *
+   * @return the packed state
+   */
+  @Override
+  public long getPackedStatus() {
+    return ElevatorState.pack(
+        this.currentFloor,
+        this.direction,
+        this.doorClosed,
+        this.floorRequests,
+        this.maxFloor,
         this.doorOpenTimeLeft,
         this.stopWaitTimeLeft,
         this.outOfService,
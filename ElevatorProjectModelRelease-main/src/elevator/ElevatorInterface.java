@@ -64,6 +64,28 @@ public interface ElevatorInterface {
    */
   boolean[] getFloorRequests();
 
+  /**
+   * Return the current stop requests as a bitmask.
+   *
+   * @return the current stop requests, bit i is set if there is a request for floor i.
+   */
+  int getFloorRequestMask();
+
+  /**
+   * Get the version of the state of the elevator,
+   * which goes up whenever the elevator may have changed.
+   *
+   * @return the version of the state
+   */
+  long getStateVersion();
+
+  /**
+   * Return the next requested floor in the direction the elevator is moving.
+   *
+   * @return the next requested floor, or -1 if there is none.
+   */
+  int getNextStop();
+
   /**
    * start elevator.
    * This will start the elevator if the elevator is on the ground floor.
@@ -89,6 +111,23 @@ public interface ElevatorInterface {
    */
   void step();
 
+  /**
+   * Returns the number of steps until the next step that does more than
+   * count down a timer or move one floor.
+   *
+   * @return the number of steps until and including the next such step,
+   *         or Long.MAX_VALUE if the elevator will never change again.
+   */
+  long getTicksUntilNextEvent();
+
+  /**
+   * Moves the elevator the given number of steps,
+   * with the same result as calling step() that many times.
+   *
+   * @param ticks the number of steps.
+   */
+  void advance(long ticks);
+
   /**
    * processUpRequests.
    * This will tell the elevator to process these upRequests on the next run.
@@ -98,6 +137,18 @@ public interface ElevatorInterface {
    */
   void processRequests(List<Request> requests) throws IllegalArgumentException;
 
+  /**
+   * processRequests for requests given as parallel arrays.
+   * Request i goes from startFloors[i] to endFloors[i];
+   * only the first count requests are used.
+   *
+   * @param startFloors the start floors of the requests.
+   * @param endFloors the end floors of the requests.
+   * @param count the number of requests.
+   */
+  void processRequests(int[] startFloors, int[] endFloors, int count)
+      throws IllegalArgumentException;
+
 
   /**
    * isTakingRequests.
@@ -114,4 +165,38 @@ public interface ElevatorInterface {
    */
   ElevatorReport getElevatorStatus();
 
+  /**
+   * Fill a caller-owned report with the elevator status, without creating any objects.
+   *
+   * @param report the report to fill
+   * @return the report
+   */
+  MutableElevatorReport fillStatus(MutableElevatorReport report);
+
+  /**
+   * Get the state of the elevator packed into one long.
+   * Unlike a report, taking it does not create any objects.
+   *
+   * @return the packed state, read with the methods of ElevatorState
+   */
+  long getPackedStatus();
+
+  /**
+   * Get a copy of the counters of the elevator: door openings, floors travelled,
+   * idle ticks and direction reversals.
+   * It must be taken on the thread that steps the elevator.
+   *
+   * @return the counters
+   */
+  ElevatorMetrics getMetrics();
+
+  /**
+   * Copy the counters of the elevator into a caller-owned holder,
+   * without creating any objects.
+   *
+   * @param metrics the holder to fill
+   * @return the holder
+   */
+  ElevatorMetrics fillMetrics(ElevatorMetrics metrics);
+
 }
@@ -0,0 +1,18 @@
+package elevator;
+
+/**
+ * A listener for the state transitions of an elevator.
+ * The building uses it to keep track of the elevators that can take requests
+ * without looking at every elevator.
+ */
+public interface ElevatorListener {
+
+  /**
+   * Called after the elevator started or stopped taking requests.
+   * The elevator does not move while it is taking requests,
+   * so its current floor is also the floor it takes requests on.
+   *
+   * @param elevator the elevator that changed.
+   */
+  void takingRequestsChanged(Elevator elevator);
+}
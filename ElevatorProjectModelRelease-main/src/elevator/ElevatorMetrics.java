@@ -0,0 +1,57 @@
+package elevator;
+
+/**
+ * A copy of the counters of one elevator: how often it opened its door,
+ * how many floors it travelled, how many ticks it was idle
+ * and how often it turned around.
+ * An elevator is idle when it is in service with its door closed
+ * and no floor requests, whether it waits or runs empty.
+ * <p></p>
+ * The elevator keeps the counters itself as it steps, so counting costs
+ * no more than an add; Elevator.fillMetrics() copies them into a holder
+ * that can be reused. Skipping steps with advance() counts the same
+ * as stepping through them.
+ */
+public final class ElevatorMetrics {
+  long doorOpenings;
+  long floorsTravelled;
+  long idleTicks;
+  long directionReversals;
+
+  /**
+   * Get the number of times the door opened.
+   *
+   * @return the number of door openings
+   */
+  public long getDoorOpenings() {
+    return this.doorOpenings;
+  }
+
+  /**
+   * Get the number of floors the elevator travelled.
+   *
+   * @return the number of floors
+   */
+  public long getFloorsTravelled() {
+    return this.floorsTravelled;
+  }
+
+  /**
+   * Get the number of ticks the elevator was idle.
+   *
+   * @return the number of ticks
+   */
+  public long getIdleTicks() {
+    return this.idleTicks;
+  }
+
+  /**
+   * Get the number of times the elevator turned around at the top or the bottom,
+   * or to go down when it was taken out of service.
+   *
+   * @return the number of direction reversals
+   */
+  public long getDirectionReversals() {
+    return this.directionReversals;
+  }
+}
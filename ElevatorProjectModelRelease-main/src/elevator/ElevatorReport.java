@@ -9,7 +9,8 @@ public class ElevatorReport {
   private final int elevatorId;
   private final int currentFloor;
   private final boolean doorClosed;
-  private final boolean[] floorRequests;
+  private final int floorRequests;
+  private final int numberOfFloors;
   private final Direction direction;
 
   private final int doorOpenTimer;
@@ -39,6 +40,37 @@ public class ElevatorReport {
                         boolean doorClosed,
                         boolean[] floorRequests,
 
+                        int doorOpenTimer,
+                        int endWaitTimer,
+                        boolean outOfService,
+                        boolean isTakingRequests) {
+    this(elevatorId, currentFloor, direction, doorClosed,
+        FloorMask.fromArray(floorRequests), floorRequests.length,
+        doorOpenTimer, endWaitTimer, outOfService, isTakingRequests);
+  }
+
+  /**
+   * This constructor is used to create a new ElevatorReport object
+   * from floor requests kept as a bitmask. Nothing is copied,
+   * so taking a report does not depend on the number of floors.
+   *
+   * @param elevatorId       The id of the elevator.
+   * @param currentFloor     The current floor of the elevator.
+   * @param direction        The direction of the elevator.
+   * @param doorClosed       The status of the door.
+   * @param floorRequests    The requests for the floors, bit i for floor i.
+   * @param numberOfFloors   The number of floors the elevator serves.
+   * @param doorOpenTimer    The timer for the door.
+   * @param endWaitTimer     The timer for the end of the run.
+   * @param outOfService     The status of the elevator.
+   * @param isTakingRequests Is the elevator taking requests.
+   */
+  public ElevatorReport(int elevatorId,
+                        int currentFloor,
+                        Direction direction,
+                        boolean doorClosed,
+                        int floorRequests,
+                        int numberOfFloors,
                         int doorOpenTimer,
                         int endWaitTimer,
                         boolean outOfService,
@@ -47,6 +79,7 @@ public class ElevatorReport {
     this.currentFloor = currentFloor;
     this.doorClosed = doorClosed;
     this.floorRequests = floorRequests;
+    this.numberOfFloors = numberOfFloors;
     this.direction = direction;
     this.doorOpenTimer = doorOpenTimer;
     this.endWaitTimer = endWaitTimer;
@@ -85,14 +118,32 @@ public class ElevatorReport {
   }
 
   /**
-   * This method is used to get the requests for the floors.
+   * This method is used to get a copy of the requests for the floors.
    *
    * @return The requests for the floors.
    */
   public boolean[] getFloorRequests() {
+    return FloorMask.toArray(floorRequests, numberOfFloors);
+  }
+
+  /**
+   * This method is used to get the requests for the floors as a bitmask.
+   *
+   * @return The requests for the floors, bit i is set if there is a request for floor i.
+   */
+  public int getFloorRequestMask() {
     return floorRequests;
   }
 
+  /**
+   * This method is used to get the number of floors the elevator serves.
+   *
+   * @return The number of floors.
+   */
+  public int getNumberOfFloors() {
+    return numberOfFloors;
+  }
+
   /**
    * This method is used to get the direction of the elevator.
    *
@@ -146,40 +197,7 @@ public class ElevatorReport {
    */
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
-
-    // if the elevator is out of service and on the ground floor
-    if (this.outOfService && this.currentFloor == 0) {
-      sb.append(String.format("Out of Service[Floor %d]", this.currentFloor));
-      return sb.toString();
-    }
-
-    if (this.endWaitTimer > 0) {
-      sb.append(String.format("Waiting[Floor %d, Time %d]", this.currentFloor, this.endWaitTimer));
-      return sb.toString();
-    }
-
-    sb.append(String.format("[%d|%s|",
-        this.currentFloor,
-        this.direction));
-
-    if (this.doorClosed) {
-      sb.append("C  ]<");
-    } else {
-      sb.append(String.format("O %d]<", this.doorOpenTimer));
-    }
-
-    for (int i = 0; i < this.floorRequests.length; i++) {
-      if (this.floorRequests[i]) {
-        sb.append(String.format(" %2d", i));
-      } else {
-        sb.append(" --");
-      }
-    }
-    sb.append(">");
-
-    return sb.toString();
-
+    return ReportRenderer.appendElevator(new StringBuilder(), this).toString();
   }
 
   /**
@@ -220,12 +238,10 @@ public class ElevatorReport {
     if (this.isTakingRequests != that.isTakingRequests) {
       return false;
     }
-    for (int i = 0; i < this.floorRequests.length; i++) {
-      if (this.floorRequests[i] != that.floorRequests[i]) {
-        return false;
-      }
+    if (this.numberOfFloors != that.numberOfFloors) {
+      return false;
     }
-    return true;
+    return this.floorRequests == that.floorRequests;
   }
 
   /**
@@ -242,9 +258,8 @@ public class ElevatorReport {
     result = 31 * result + (this.outOfService ? 1 : 0);
     result = 31 * result + (this.isTakingRequests ? 1 : 0);
     result = 31 * result + this.direction.hashCode();
-    for (boolean floorRequest : this.floorRequests) {
-      result = 31 * result + (floorRequest ? 1 : 0);
-    }
+    result = 31 * result + this.numberOfFloors;
+    result = 31 * result + this.floorRequests;
     return result;
   }
 }
@@ -0,0 +1,195 @@
+package elevator;
+
+import building.enums.Direction;
+
+/**
+ * Helpers for the state of an elevator packed into one long.
+ * A packed state is an immutable value, so it can be kept, compared
+ * and handed to other threads without copying anything.
+ * <p></p>
+ * The bits of a packed state are:
+ * 0-29 floor requests, bit i for floor i;
+ * 30-34 current floor; 35-39 number of floors;
+ * 40-41 direction; 42-45 door open timer; 46-49 end wait timer;
+ * 50 door closed; 51 out of service; 52 taking requests.
+ */
+public final class ElevatorState {
+
+  private static final int FLOOR_SHIFT = 30;
+  private static final int FLOORS_SHIFT = 35;
+  private static final int DIRECTION_SHIFT = 40;
+  private static final int DOOR_TIMER_SHIFT = 42;
+  private static final int WAIT_TIMER_SHIFT = 46;
+  private static final long DOOR_CLOSED = 1L << 50;
+  private static final long OUT_OF_SERVICE = 1L << 51;
+  private static final long TAKING_REQUESTS = 1L << 52;
+
+  private static final long REQUESTS_MASK = (1L << 30) - 1;
+  private static final long FLOOR_MASK = 0x1F;
+  private static final long DIRECTION_MASK = 0x3;
+  private static final long TIMER_MASK = 0xF;
+
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  private ElevatorState() {
+  }
+
+  /**
+   * Pack the state of an elevator.
+   *
+   * @param currentFloor     the current floor, 0 to 31
+   * @param direction        the direction
+   * @param doorClosed       true if the door is closed
+   * @param floorRequests    the floor requests, bit i for floor i
+   * @param numberOfFloors   the number of floors, 0 to 31
+   * @param doorOpenTimer    the door open timer, 0 to 15
+   * @param endWaitTimer     the end wait timer, 0 to 15
+   * @param outOfService     true if the elevator is out of service
+   * @param takingRequests   true if the elevator is taking requests
+   * @return the packed state
+   * @throws IllegalArgumentException if a value does not fit in its bits
+   */
+  public static long pack(int currentFloor,
+                          Direction direction,
+                          boolean doorClosed,
+                          int floorRequests,
+                          int numberOfFloors,
+                          int doorOpenTimer,
+                          int endWaitTimer,
+                          boolean outOfService,
+                          boolean takingRequests) {
+    if ((currentFloor & ~FLOOR_MASK) != 0 || (numberOfFloors & ~FLOOR_MASK) != 0
+        || (floorRequests & ~REQUESTS_MASK) != 0) {
+      throw new IllegalArgumentException("The floors do not fit in a packed state.");
+    }
+    if ((doorOpenTimer & ~TIMER_MASK) != 0 || (endWaitTimer & ~TIMER_MASK) != 0) {
+      throw new IllegalArgumentException("The timers do not fit in a packed state.");
+    }
+    long state = floorRequests
+        | (long) currentFloor << FLOOR_SHIFT
+        | (long) numberOfFloors << FLOORS_SHIFT
+        | (long) direction.ordinal() << DIRECTION_SHIFT
+        | (long) doorOpenTimer << DOOR_TIMER_SHIFT
+        | (long) endWaitTimer << WAIT_TIMER_SHIFT;
+    if (doorClosed) {
+      state |= DOOR_CLOSED;
+    }
+    if (outOfService) {
+      state |= OUT_OF_SERVICE;
+    }
+    if (takingRequests) {
+      state |= TAKING_REQUESTS;
+    }
+    return state;
+  }
+
+  /**
+   * Get the floor requests of a packed state.
+   *
+   * @param state the packed state
+   * @return the floor requests, bit i for floor i
+   */
+  public static int getFloorRequests(long state) {
+    return (int) (state & REQUESTS_MASK);
+  }
+
+  /**
+   * Get the current floor of a packed state.
+   *
+   * @param state the packed state
+   * @return the current floor
+   */
+  public static int getCurrentFloor(long state) {
+    return (int) (state >>> FLOOR_SHIFT & FLOOR_MASK);
+  }
+
+  /**
+   * Get the number of floors of a packed state.
+   *
+   * @param state the packed state
+   * @return the number of floors
+   */
+  public static int getNumberOfFloors(long state) {
+    return (int) (state >>> FLOORS_SHIFT & FLOOR_MASK);
+  }
+
+  /**
+   * Get the direction of a packed state.
+   *
+   * @param state the packed state
+   * @return the direction
+   */
+  public static Direction getDirection(long state) {
+    return DIRECTIONS[(int) (state >>> DIRECTION_SHIFT & DIRECTION_MASK)];
+  }
+
+  /**
+   * Get the door open timer of a packed state.
+   *
+   * @param state the packed state
+   * @return the door open timer
+   */
+  public static int getDoorOpenTimer(long state) {
+    return (int) (state >>> DOOR_TIMER_SHIFT & TIMER_MASK);
+  }
+
+  /**
+   * Get the end wait timer of a packed state.
+   *
+   * @param state the packed state
+   * @return the end wait timer
+   */
+  public static int getEndWaitTimer(long state) {
+    return (int) (state >>> WAIT_TIMER_SHIFT & TIMER_MASK);
+  }
+
+  /**
+   * Check if the door is closed in a packed state.
+   *
+   * @param state the packed state
+   * @return true if the door is closed
+   */
+  public static boolean isDoorClosed(long state) {
+    return (state & DOOR_CLOSED) != 0;
+  }
+
+  /**
+   * Check if the elevator is out of service in a packed state.
+   *
+   * @param state the packed state
+   * @return true if the elevator is out of service
+   */
+  public static boolean isOutOfService(long state) {
+    return (state & OUT_OF_SERVICE) != 0;
+  }
+
+  /**
+   * Check if the elevator is taking requests in a packed state.
+   *
+   * @param state the packed state
+   * @return true if the elevator is taking requests
+   */
+  public static boolean isTakingRequests(long state) {
+    return (state & TAKING_REQUESTS) != 0;
+  }
+
+  /**
+   * Convert a packed state to a report.
+   *
+   * @param elevatorId the id of the elevator
+   * @param state the packed state
+   * @return the report
+   */
+  public static ElevatorReport toReport(int elevatorId, long state) {
+    return new ElevatorReport(elevatorId,
+        getCurrentFloor(state),
+        getDirection(state),
+        isDoorClosed(state),
+        getFloorRequests(state),
+        getNumberOfFloors(state),
+        getDoorOpenTimer(state),
+        getEndWaitTimer(state),
+        isOutOfService(state),
+        isTakingRequests(state));
+  }
+}
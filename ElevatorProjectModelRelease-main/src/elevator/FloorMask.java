@@ -0,0 +1,102 @@
+package elevator;
+
+/**
+ * Helpers for floor requests kept as a bitmask.
+ * Bit i of the mask is set if there is a request for floor i.
+ * A building has at most 30 floors, so the requests fit in one int
+ * and clearing, testing and searching them are single instructions.
+ */
+public final class FloorMask {
+
+  private FloorMask() {
+  }
+
+  /**
+   * Check if there is a request for a floor.
+   *
+   * @param mask the floor requests
+   * @param floor the floor
+   * @return true if there is a request for the floor
+   */
+  public static boolean isRequested(int mask, int floor) {
+    return (mask & (1 << floor)) != 0;
+  }
+
+  /**
+   * Add a request for a floor, checking that the floor is in the building.
+   * Shifting by a floor outside 0..31 would wrap around to another bit,
+   * so the floor is checked before the mask is changed.
+   *
+   * @param mask the floor requests
+   * @param floor the floor
+   * @param numberOfFloors the number of floors
+   * @return the floor requests with the floor requested
+   * @throws IllegalArgumentException if the floor is not between 0 and numberOfFloors - 1
+   */
+  public static int withFloor(int mask, int floor, int numberOfFloors) {
+    if (floor < 0 || floor >= numberOfFloors) {
+      throw new IllegalArgumentException("The floor must be between 0 and "
+          + (numberOfFloors - 1) + ": " + floor);
+    }
+    return mask | (1 << floor);
+  }
+
+  /**
+   * Find the lowest requested floor above a floor.
+   *
+   * @param mask the floor requests
+   * @param floor the floor
+   * @return the lowest requested floor above floor, or -1 if there is none
+   */
+  public static int nextAbove(int mask, int floor) {
+    int above = mask & (-2 << floor);
+    return above == 0 ? -1 : Integer.numberOfTrailingZeros(above);
+  }
+
+  /**
+   * Find the highest requested floor below a floor.
+   *
+   * @param mask the floor requests
+   * @param floor the floor
+   * @return the highest requested floor below floor, or -1 if there is none
+   */
+  public static int nextBelow(int mask, int floor) {
+    int below = mask & ((1 << floor) - 1);
+    return below == 0 ? -1 : 31 - Integer.numberOfLeadingZeros(below);
+  }
+
+  /**
+   * Convert floor requests to the boolean array form.
+   *
+   * @param mask the floor requests
+   * @param numberOfFloors the number of floors
+   * @return a new array, entry i is true if there is a request for floor i
+   */
+  public static boolean[] toArray(int mask, int numberOfFloors) {
+    boolean[] requests = new boolean[numberOfFloors];
+    for (int rest = mask; rest != 0; rest &= rest - 1) {
+      requests[Integer.numberOfTrailingZeros(rest)] = true;
+    }
+    return requests;
+  }
+
+  /**
+   * Convert floor requests from the boolean array form.
+   *
+   * @param requests entry i is true if there is a request for floor i
+   * @return the floor requests
+   * @throws IllegalArgumentException if there are more than 31 floors
+   */
+  public static int fromArray(boolean[] requests) {
+    if (requests.length > 31) {
+      throw new IllegalArgumentException("There can be at most 31 floors.");
+    }
+    int mask = 0;
+    for (int floor = 0; floor < requests.length; floor++) {
+      if (requests[floor]) {
+        mask |= 1 << floor;
+      }
+    }
+    return mask;
+  }
+}
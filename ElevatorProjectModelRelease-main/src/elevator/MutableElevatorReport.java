@@ -0,0 +1,171 @@
+package elevator;
+
+import building.enums.Direction;
+
+/**
+ * This class is a report of an elevator that is filled in place
+ * by Elevator.fillStatus(), so an observer that reads a report
+ * and throws it away can keep one and refill it every tick
+ * instead of creating a new ElevatorReport.
+ * It is owned by the caller and is not safe to share between threads;
+ * use toReport() or a packed state to keep a copy.
+ */
+public class MutableElevatorReport {
+  private int elevatorId;
+  private int currentFloor;
+  private Direction direction = Direction.STOPPED;
+  private boolean doorClosed;
+  private int floorRequests;
+  private int numberOfFloors;
+  private int doorOpenTimer;
+  private int endWaitTimer;
+  private boolean outOfService;
+  private boolean takingRequests;
+
+  /**
+   * Fill in the report.
+   *
+   * @param elevatorId       The id of the elevator.
+   * @param currentFloor     The current floor of the elevator.
+   * @param direction        The direction of the elevator.
+   * @param doorClosed       The status of the door.
+   * @param floorRequests    The requests for the floors, bit i for floor i.
+   * @param numberOfFloors   The number of floors the elevator serves.
+   * @param doorOpenTimer    The timer for the door.
+   * @param endWaitTimer     The timer for the end of the run.
+   * @param outOfService     The status of the elevator.
+   * @param takingRequests   Is the elevator taking requests.
+   */
+  void set(int elevatorId,
+           int currentFloor,
+           Direction direction,
+           boolean doorClosed,
+           int floorRequests,
+           int numberOfFloors,
+           int doorOpenTimer,
+           int endWaitTimer,
+           boolean outOfService,
+           boolean takingRequests) {
+    this.elevatorId = elevatorId;
+    this.currentFloor = currentFloor;
+    this.direction = direction;
+    this.doorClosed = doorClosed;
+    this.floorRequests = floorRequests;
+    this.numberOfFloors = numberOfFloors;
+    this.doorOpenTimer = doorOpenTimer;
+    this.endWaitTimer = endWaitTimer;
+    this.outOfService = outOfService;
+    this.takingRequests = takingRequests;
+  }
+
+  /**
+   * This method is used to get the id of the elevator.
+   *
+   * @return The id of the elevator.
+   */
+  public int getElevatorId() {
+    return elevatorId;
+  }
+
+  /**
+   * This method is used to get the current floor of the elevator.
+   *
+   * @return The current floor of the elevator.
+   */
+  public int getCurrentFloor() {
+    return currentFloor;
+  }
+
+  /**
+   * This method is used to get the status of the door.
+   *
+   * @return The status of the door.
+   */
+  public boolean isDoorClosed() {
+    return doorClosed;
+  }
+
+  /**
+   * This method is used to get the requests for the floors as a bitmask.
+   *
+   * @return The requests for the floors, bit i is set if there is a request for floor i.
+   */
+  public int getFloorRequestMask() {
+    return floorRequests;
+  }
+
+  /**
+   * This method is used to get the number of floors the elevator serves.
+   *
+   * @return The number of floors.
+   */
+  public int getNumberOfFloors() {
+    return numberOfFloors;
+  }
+
+  /**
+   * This method is used to get the direction of the elevator.
+   *
+   * @return The direction of the elevator.
+   */
+  public Direction getDirection() {
+    return direction;
+  }
+
+  /**
+   * This method is used to get the timer for the door.
+   *
+   * @return The timer for the door.
+   */
+  public int getDoorOpenTimer() {
+    return doorOpenTimer;
+  }
+
+  /**
+   * This method is used to get the timer for the end of the run.
+   *
+   * @return The timer for the end of the run.
+   */
+  public int getEndWaitTimer() {
+    return endWaitTimer;
+  }
+
+  /**
+   * This method is used to get the status of the elevator.
+   *
+   * @return The status of the elevator.
+   */
+  public boolean isOutOfService() {
+    return outOfService;
+  }
+
+  /**
+   * Is the elevator taking requests.
+   *
+   * @return is the elevator taking requests.
+   */
+  public boolean isTakingRequests() {
+    return takingRequests;
+  }
+
+  /**
+   * Copy the report into a new immutable ElevatorReport.
+   *
+   * @return the report
+   */
+  public ElevatorReport toReport() {
+    return new ElevatorReport(elevatorId, currentFloor, direction, doorClosed,
+        floorRequests, numberOfFloors, doorOpenTimer, endWaitTimer,
+        outOfService, takingRequests);
+  }
+
+  /**
+   * toString method for the report, the same as ElevatorReport.toString().
+   *
+   * @return the string representation of the report.
+   */
+  @Override
+  public String toString() {
+    return ReportRenderer.appendElevator(new StringBuilder(), this).toString();
+  }
+}
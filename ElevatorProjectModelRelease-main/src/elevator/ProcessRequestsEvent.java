@@ -0,0 +1,36 @@
+package elevator;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event for an elevator taking a batch of requests
+ * in Elevator.processRequests().
+ * It is disabled by default; enable "elevator.ProcessRequests" in a recording to see it.
+ */
+@Name("elevator.ProcessRequests")
+@Label("Process Requests")
+@Description("An elevator takes a batch of requests at the bottom or the top")
+@Category({"Elevator Simulation", "Elevator"})
+@Enabled(false)
+@StackTrace(false)
+final class ProcessRequestsEvent extends Event {
+
+  @Label("Elevator Id")
+  int elevatorId;
+
+  @Label("Floor")
+  int floor;
+
+  @Label("Batch Size")
+  int batchSize;
+
+  @Label("Stops")
+  @Description("The number of floors the elevator will stop at")
+  int stops;
+}
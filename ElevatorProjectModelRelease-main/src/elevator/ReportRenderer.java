@@ -0,0 +1,127 @@
+package elevator;
+
+import building.enums.Direction;
+
+/**
+ * Renders elevator reports straight into a StringBuilder, in the same text as
+ * ElevatorReport.toString(). Numbers are padded by hand instead of going through
+ * String.format, so a 30-floor elevator is rendered without parsing a format
+ * string for every floor, and rendering into a reused builder creates no objects.
+ */
+public final class ReportRenderer {
+
+  private ReportRenderer() {
+  }
+
+  /**
+   * Append the text of an elevator report.
+   *
+   * @param sb the builder to append to
+   * @param report the report
+   * @return the builder
+   */
+  public static StringBuilder appendElevator(StringBuilder sb, ElevatorReport report) {
+    return appendElevator(sb, report.getCurrentFloor(), report.getDirection(),
+        report.isDoorClosed(), report.getFloorRequestMask(), report.getNumberOfFloors(),
+        report.getDoorOpenTimer(), report.getEndWaitTimer(), report.isOutOfService());
+  }
+
+  /**
+   * Append the text of a reused elevator report.
+   *
+   * @param sb the builder to append to
+   * @param report the report
+   * @return the builder
+   */
+  public static StringBuilder appendElevator(StringBuilder sb, MutableElevatorReport report) {
+    return appendElevator(sb, report.getCurrentFloor(), report.getDirection(),
+        report.isDoorClosed(), report.getFloorRequestMask(), report.getNumberOfFloors(),
+        report.getDoorOpenTimer(), report.getEndWaitTimer(), report.isOutOfService());
+  }
+
+  /**
+   * Append the text of a packed elevator state, see ElevatorState.
+   *
+   * @param sb the builder to append to
+   * @param state the packed state
+   * @return the builder
+   */
+  public static StringBuilder appendElevator(StringBuilder sb, long state) {
+    return appendElevator(sb, ElevatorState.getCurrentFloor(state),
+        ElevatorState.getDirection(state), ElevatorState.isDoorClosed(state),
+        ElevatorState.getFloorRequests(state), ElevatorState.getNumberOfFloors(state),
+        ElevatorState.getDoorOpenTimer(state), ElevatorState.getEndWaitTimer(state),
+        ElevatorState.isOutOfService(state));
+  }
+
+  /**
+   * Append the text of an elevator.
+   *
+   * @param sb the builder to append to
+   * @param currentFloor the current floor
+   * @param direction the direction
+   * @param doorClosed true if the door is closed
+   * @param floorRequests the floor requests, bit i for floor i
+   * @param numberOfFloors the number of floors
+   * @param doorOpenTimer the door open timer
+   * @param endWaitTimer the end wait timer
+   * @param outOfService true if the elevator is out of service
+   * @return the builder
+   */
+  private static StringBuilder appendElevator(StringBuilder sb,
+                                              int currentFloor,
+                                              Direction direction,
+                                              boolean doorClosed,
+                                              int floorRequests,
+                                              int numberOfFloors,
+                                              int doorOpenTimer,
+                                              int endWaitTimer,
+                                              boolean outOfService) {
+    // if the elevator is out of service and on the ground floor
+    if (outOfService && currentFloor == 0) {
+      return sb.append("Out of Service[Floor ").append(currentFloor).append(']');
+    }
+
+    if (endWaitTimer > 0) {
+      return sb.append("Waiting[Floor ").append(currentFloor)
+          .append(", Time ").append(endWaitTimer).append(']');
+    }
+
+    sb.append('[').append(currentFloor).append('|').append(direction).append('|');
+    if (doorClosed) {
+      sb.append("C  ]<");
+    } else {
+      sb.append("O ").append(doorOpenTimer).append("]<");
+    }
+
+    for (int i = 0; i < numberOfFloors; i++) {
+      if (FloorMask.isRequested(floorRequests, i)) {
+        sb.append(' ');
+        appendPadded(sb, i, 2);
+      } else {
+        sb.append(" --");
+      }
+    }
+    return sb.append('>');
+  }
+
+  /**
+   * Append a number that is not negative, padded on the left with spaces
+   * to at least width characters, like String.format("%2d").
+   *
+   * @param sb the builder to append to
+   * @param value the number, not negative
+   * @param width the width
+   * @return the builder
+   */
+  public static StringBuilder appendPadded(StringBuilder sb, int value, int width) {
+    int digits = 1;
+    for (int rest = value / 10; rest > 0; rest /= 10) {
+      digits++;
+    }
+    for (int i = digits; i < width; i++) {
+      sb.append(' ');
+    }
+    return sb.append(value);
+  }
+}
@@ -1,10 +1,15 @@
 package main;
 
 import building.Building;
+import building.MutableBuildingReport;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
 import scanerzus.Request;
+import simulation.ChannelReportSink;
+import simulation.FlushPolicy;
+import simulation.ReportSink;
 import building.enums.ElevatorSystemStatus;
 
 /**
@@ -24,8 +29,9 @@ public class MainConsole {
    * This method creates the elevator system and runs it.
    *
    * @param args the command line arguments
+   * @throws IOException if the reports cannot be written to standard output
    */
-  public static void main(String[] args) {
+  public static void main(String[] args) throws IOException {
 
     Scanner scanner = new Scanner(System.in);
 
@@ -103,10 +109,14 @@ public class MainConsole {
     scanner.nextLine();
 
     // use the step method in class Building to move the elevator
+    // the report is reused every step and streamed to standard output
+    MutableBuildingReport report = new MutableBuildingReport();
+    ReportSink sink = ChannelReportSink.toStandardOutput(FlushPolicy.WHEN_FULL, 1);
     for (int i = 0; i < stepCount; i++) {
       building.step();
-      System.out.println(building.getElevatorSystemStatus().toString());
+      sink.write(building.getElevatorSystemStatus(report));
     }
+    sink.close();
 
     // show how the stop elevator system function works
     System.out.println("Press enter to stop the building system.\n");
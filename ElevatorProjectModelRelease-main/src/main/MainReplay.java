@@ -0,0 +1,63 @@
+package main;
+
+import building.Building;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import simulation.ReplayEngine;
+import simulation.ReplayResult;
+import simulation.TextRequestLog;
+import simulation.TraceReader;
+
+/**
+ * The driver for replaying a recorded request log into the elevator system.
+ * The log is either a binary trace (a file ending in .trace)
+ * or a text file of "tick startFloor endFloor" lines.
+ * With a tick period the replay runs at that rate, otherwise as fast as possible.
+ * <p>
+ * Usage: numFloors numElevators numPeople log extraTicks [tickMicros]
+ */
+public class MainReplay {
+
+  /**
+   * The main method for the replay.
+   *
+   * @param args the command line arguments
+   * @throws IOException if the log cannot be read
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 5 && args.length != 6) {
+      System.out.println("Usage: <numFloors> <numElevators> <numPeople> "
+          + "<log> <extraTicks> [tickMicros]");
+      return; // Exit the program
+    }
+
+    int numFloors = Integer.parseInt(args[0]);
+    int numElevators = Integer.parseInt(args[1]);
+    int numPeople = Integer.parseInt(args[2]);
+    Path log = Paths.get(args[3]);
+    long extraTicks = Long.parseLong(args[4]);
+
+    Building building = new Building(numFloors, numElevators, numPeople);
+    building.startElevatorSystem();
+    ReplayEngine engine = new ReplayEngine(building);
+    if (args.length == 6) {
+      engine.setTickPeriod(Long.parseLong(args[5]), TimeUnit.MICROSECONDS);
+    }
+
+    ReplayResult result;
+    if (log.toString().endsWith(".trace")) {
+      try (TraceReader reader = TraceReader.open(log)) {
+        result = engine.replay(reader.requests(), extraTicks);
+      }
+    } else {
+      try (TextRequestLog requests = TextRequestLog.open(log)) {
+        result = engine.replay(requests, extraTicks);
+      }
+    }
+
+    System.out.println(result);
+    System.out.println(building.getElevatorSystemStatus());
+  }
+}
@@ -0,0 +1,69 @@
+package main;
+
+import building.enums.DispatchMode;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import simulation.Scenario;
+import simulation.ScenarioResult;
+import simulation.ScenarioRunner;
+import simulation.TrafficPattern;
+
+/**
+ * The driver for batch runs of the elevator system.
+ * It runs many scenarios of one building configuration with different seeds
+ * at the same time and writes the results to a CSV file.
+ * <p>
+ * Usage: numFloors numElevators numPeople dispatchMode arrivalRate ticks
+ * scenarios threads output.csv [trafficPattern]
+ */
+public class MainScenarioRunner {
+
+  /**
+   * The main method for the batch runs.
+   *
+   * @param args the command line arguments
+   * @throws IOException if the output cannot be written
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 9 && args.length != 10) {
+      System.out.println("Usage: <numFloors> <numElevators> <numPeople> "
+          + "<firstAvailable|allAvailable> <arrivalRate> <ticks> "
+          + "<scenarios> <threads> <output.csv> "
+          + "[UNIFORM|UP_PEAK|DOWN_PEAK|INTER_FLOOR]");
+      return; // Exit the program
+    }
+
+    int numFloors = Integer.parseInt(args[0]);
+    int numElevators = Integer.parseInt(args[1]);
+    int numPeople = Integer.parseInt(args[2]);
+    DispatchMode dispatchMode = DispatchMode.valueOf(args[3]);
+    double arrivalRate = Double.parseDouble(args[4]);
+    long ticks = Long.parseLong(args[5]);
+    int scenarioCount = Integer.parseInt(args[6]);
+    int threads = Integer.parseInt(args[7]);
+    Path output = Paths.get(args[8]);
+    TrafficPattern trafficPattern = args.length == 10
+        ? TrafficPattern.valueOf(args[9]) : TrafficPattern.UNIFORM;
+
+    // one scenario per seed, all with the same configuration
+    List<Scenario> scenarios = new ArrayList<>();
+    for (int seed = 0; seed < scenarioCount; seed++) {
+      scenarios.add(new Scenario(numFloors, numElevators, numPeople, dispatchMode,
+          trafficPattern, arrivalRate, ticks, seed));
+    }
+
+    long start = System.nanoTime();
+    List<ScenarioResult> summaries = new ScenarioRunner(threads).run(scenarios, output);
+    long millis = (System.nanoTime() - start) / 1_000_000;
+
+    System.out.println("Ran " + scenarioCount + " scenarios in " + millis + " ms, "
+        + "results written to " + output);
+    System.out.println(ScenarioResult.CSV_HEADER);
+    for (ScenarioResult summary : summaries) {
+      System.out.println(summary.toCsvRow("all"));
+    }
+  }
+}
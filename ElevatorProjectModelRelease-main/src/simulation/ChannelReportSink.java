@@ -0,0 +1,194 @@
+package simulation;
+
+import building.BuildingReport;
+import building.MutableBuildingReport;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A ReportSink that writes to a channel through one direct buffer.
+ * Each report is rendered into a reused StringBuilder and copied into the buffer,
+ * so streaming reports does not build a String per tick or take the lock of
+ * System.out per line. The reports are plain ASCII, so each char is one byte.
+ * The buffer is written out according to the flush policy, and always when it is full.
+ */
+public class ChannelReportSink implements ReportSink {
+
+  /************************************************************************
+   * The default size of the buffer, in bytes.
+   ************************************************************************/
+  public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+  private final WritableByteChannel channel;
+  private final boolean closeChannel;
+  private final FlushPolicy policy;
+  private final int reportsPerFlush;
+  private final ByteBuffer buffer;
+  private final StringBuilder text;
+  private int reportsSinceFlush;
+  private boolean closed;
+
+  /**
+   * The constructor for the sink.
+   *
+   * @param channel the channel to write to, closed when the sink is closed
+   * @param policy when to write out the buffered reports
+   * @param reportsPerFlush the number of reports between flushes for EVERY_N_REPORTS
+   * @param bufferSize the size of the buffer in bytes
+   * @throws IllegalArgumentException if reportsPerFlush or bufferSize is not greater than 0
+   */
+  public ChannelReportSink(WritableByteChannel channel, FlushPolicy policy,
+                           int reportsPerFlush, int bufferSize) {
+    this(channel, true, policy, reportsPerFlush, bufferSize);
+  }
+
+  /**
+   * The constructor for the sink.
+   *
+   * @param channel the channel to write to
+   * @param closeChannel true to close the channel when the sink is closed
+   * @param policy when to write out the buffered reports
+   * @param reportsPerFlush the number of reports between flushes for EVERY_N_REPORTS
+   * @param bufferSize the size of the buffer in bytes
+   * @throws IllegalArgumentException if reportsPerFlush or bufferSize is not greater than 0
+   */
+  private ChannelReportSink(WritableByteChannel channel, boolean closeChannel,
+                            FlushPolicy policy, int reportsPerFlush, int bufferSize) {
+    if (reportsPerFlush <= 0) {
+      throw new IllegalArgumentException("reportsPerFlush must be greater than 0");
+    }
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException("bufferSize must be greater than 0");
+    }
+    this.channel = channel;
+    this.closeChannel = closeChannel;
+    this.policy = policy;
+    this.reportsPerFlush = reportsPerFlush;
+    this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    this.text = new StringBuilder();
+  }
+
+  /**
+   * Open a sink that writes to a new file, or replaces an existing one.
+   *
+   * @param file the file
+   * @param policy when to write out the buffered reports
+   * @param reportsPerFlush the number of reports between flushes for EVERY_N_REPORTS
+   * @return the sink
+   * @throws IOException if the file cannot be opened
+   */
+  public static ChannelReportSink open(Path file, FlushPolicy policy, int reportsPerFlush)
+      throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    return new ChannelReportSink(channel, true, policy, reportsPerFlush, DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * Open a sink that writes to standard output. Closing the sink
+   * does not close standard output. Flush the sink before printing
+   * with System.out, so the lines are not mixed up.
+   *
+   * @param policy when to write out the buffered reports
+   * @param reportsPerFlush the number of reports between flushes for EVERY_N_REPORTS
+   * @return the sink
+   */
+  public static ChannelReportSink toStandardOutput(FlushPolicy policy, int reportsPerFlush) {
+    WritableByteChannel channel = Channels.newChannel(new FileOutputStream(FileDescriptor.out));
+    return new ChannelReportSink(channel, false, policy, reportsPerFlush, DEFAULT_BUFFER_SIZE);
+  }
+
+  @Override
+  public void write(BuildingReport report) throws IOException {
+    this.checkOpen();
+    text.setLength(0);
+    this.writeText(report.appendTo(text));
+  }
+
+  @Override
+  public void write(MutableBuildingReport report) throws IOException {
+    this.checkOpen();
+    text.setLength(0);
+    this.writeText(report.appendTo(text));
+  }
+
+  @Override
+  public void flush() throws IOException {
+    this.checkOpen();
+    this.writeBuffer();
+    reportsSinceFlush = 0;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    try {
+      this.flush();
+    } finally {
+      closed = true;
+      if (closeChannel) {
+        channel.close();
+      }
+    }
+  }
+
+  /**
+   * Copy a rendered report and a line break into the buffer,
+   * then flush if the policy says so.
+   *
+   * @param report the rendered report
+   * @throws IOException if the buffer cannot be written out
+   */
+  private void writeText(CharSequence report) throws IOException {
+    int length = report.length();
+    for (int i = 0; i < length; i++) {
+      if (!buffer.hasRemaining()) {
+        this.writeBuffer();
+      }
+      buffer.put((byte) report.charAt(i));
+    }
+    if (!buffer.hasRemaining()) {
+      this.writeBuffer();
+    }
+    buffer.put((byte) '\n');
+
+    reportsSinceFlush++;
+    if (policy == FlushPolicy.EVERY_REPORT
+        || (policy == FlushPolicy.EVERY_N_REPORTS && reportsSinceFlush >= reportsPerFlush)) {
+      this.flush();
+    }
+  }
+
+  /**
+   * Write the buffer to the channel.
+   *
+   * @throws IOException if the channel cannot be written
+   */
+  private void writeBuffer() throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  /**
+   * Check that the sink is not closed.
+   *
+   * @throws IllegalStateException if the sink is closed
+   */
+  private void checkOpen() {
+    if (closed) {
+      throw new IllegalStateException("The sink is closed.");
+    }
+  }
+}
@@ -0,0 +1,13 @@
+package simulation;
+
+/**
+ * When a ReportSink writes its buffered reports out.
+ */
+public enum FlushPolicy {
+  /** Write out every report as soon as it is written to the sink. */
+  EVERY_REPORT,
+  /** Write out after a given number of reports. */
+  EVERY_N_REPORTS,
+  /** Write out only when the buffer is full, or on flush() and close(). */
+  WHEN_FULL
+}
@@ -0,0 +1,130 @@
+package simulation;
+
+/**
+ * A histogram of latencies measured in ticks.
+ * Each latency below the number of buckets is counted exactly,
+ * longer ones share the last bucket but still count towards the mean and the max.
+ * Histograms of the same size can be merged, so the results of many
+ * scenarios can be combined without keeping every latency.
+ * This class is not thread safe.
+ */
+public class LatencyHistogram {
+
+  /************************************************************************
+   * The default number of buckets.
+   ************************************************************************/
+  public static final int DEFAULT_BUCKETS = 4096;
+
+  private final long[] counts;
+  private long count;
+  private long sum;
+  private long max;
+
+  /**
+   * Create an empty histogram with the default number of buckets.
+   */
+  public LatencyHistogram() {
+    this(DEFAULT_BUCKETS);
+  }
+
+  /**
+   * Create an empty histogram.
+   *
+   * @param buckets the number of buckets, must be greater than 0
+   * @throws IllegalArgumentException if buckets is not greater than 0
+   */
+  public LatencyHistogram(int buckets) {
+    if (buckets <= 0) {
+      throw new IllegalArgumentException("buckets must be greater than 0");
+    }
+    this.counts = new long[buckets];
+  }
+
+  /**
+   * Record one latency.
+   *
+   * @param ticks the latency, must not be negative
+   * @throws IllegalArgumentException if ticks is negative
+   */
+  public void record(long ticks) {
+    if (ticks < 0) {
+      throw new IllegalArgumentException("ticks must not be negative");
+    }
+    counts[(int) Math.min(ticks, counts.length - 1)]++;
+    count++;
+    sum += ticks;
+    max = Math.max(max, ticks);
+  }
+
+  /**
+   * Add the latencies of another histogram to this one.
+   *
+   * @param other the other histogram, with the same number of buckets
+   * @throws IllegalArgumentException if the number of buckets is different
+   */
+  public void merge(LatencyHistogram other) {
+    if (other.counts.length != this.counts.length) {
+      throw new IllegalArgumentException("Cannot merge histograms with different buckets.");
+    }
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] += other.counts[i];
+    }
+    count += other.count;
+    sum += other.sum;
+    max = Math.max(max, other.max);
+  }
+
+  /**
+   * Get the number of latencies recorded.
+   *
+   * @return the number of latencies
+   */
+  public long getCount() {
+    return this.count;
+  }
+
+  /**
+   * Get the mean latency.
+   *
+   * @return the mean latency, or 0 if nothing was recorded
+   */
+  public double getMean() {
+    return count == 0 ? 0 : (double) sum / count;
+  }
+
+  /**
+   * Get the longest latency.
+   *
+   * @return the longest latency, or 0 if nothing was recorded
+   */
+  public long getMax() {
+    return this.max;
+  }
+
+  /**
+   * Get a percentile of the latencies: the smallest latency
+   * that at least that percent of the latencies are not longer than.
+   * Latencies in the last bucket are reported as the max.
+   *
+   * @param percent the percentile, between 0 and 100
+   * @return the latency, or 0 if nothing was recorded
+   * @throws IllegalArgumentException if percent is not between 0 and 100
+   */
+  public long getPercentile(double percent) {
+    if (percent < 0 || percent > 100) {
+      throw new IllegalArgumentException("percent must be between 0 and 100");
+    }
+    if (count == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percent / 100 * count));
+    long seen = 0;
+    for (int i = 0; i < counts.length - 1; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return i;
+      }
+    }
+    return max;
+  }
+}
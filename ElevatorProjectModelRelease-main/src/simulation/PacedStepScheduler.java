@@ -0,0 +1,361 @@
+package simulation;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This class runs a tick, such as Building.step(), at a steady wall-clock rate.
+ * The deadline of tick n is the start time plus n periods, so sleeping late
+ * once does not push every later tick back. The scheduler parks until just
+ * before each deadline and spins for the rest, which keeps the jitter low.
+ * A tick that finishes after the next deadline is counted as an overrun,
+ * and the schedule then restarts from that moment instead of running
+ * the missed ticks back to back.
+ * <p></p>
+ * In as-fast-as-possible mode the ticks run back to back with no waiting.
+ * The mode can be switched while the scheduler runs.
+ * The scheduler runs on the thread that calls run(), or on its own thread after start().
+ * If a tick throws on its own thread the scheduler stops, and stop() rethrows the failure.
+ * Each run() or start() is a run of its own, and its loop only goes on while it is
+ * still the current run, so a loop that is stopping never ticks beside the next one.
+ */
+public class PacedStepScheduler {
+
+  /************************************************************************
+   * How long before a deadline the scheduler stops parking and spins.
+   ************************************************************************/
+  private static final long SPIN_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+  private final Runnable tick;
+  private final long periodNanos;
+  private volatile boolean asFastAsPossible;
+  private volatile Run current;
+  private Run last;
+  private Throwable failure;
+
+  private final LatencyHistogram jitter;
+  private final LatencyHistogram tickTimes;
+  private long ticks;
+  private long overruns;
+
+  /**
+   * The constructor for the scheduler.
+   *
+   * @param tick the tick to run, for example building::step
+   * @param period the time between the starts of two ticks, must be greater than 0
+   * @param unit the unit of the period
+   * @throws IllegalArgumentException if the period is not greater than 0
+   */
+  public PacedStepScheduler(Runnable tick, long period, TimeUnit unit) {
+    if (period <= 0) {
+      throw new IllegalArgumentException("period must be greater than 0");
+    }
+    this.tick = tick;
+    this.periodNanos = unit.toNanos(period);
+    this.jitter = new LatencyHistogram();
+    this.tickTimes = new LatencyHistogram();
+  }
+
+  /**
+   * Switch between running the ticks back to back and pacing them.
+   *
+   * @param asFastAsPossible true to run the ticks back to back
+   */
+  public void setAsFastAsPossible(boolean asFastAsPossible) {
+    this.asFastAsPossible = asFastAsPossible;
+  }
+
+  /**
+   * Check if the ticks run back to back.
+   *
+   * @return true if the ticks run back to back
+   */
+  public boolean isAsFastAsPossible() {
+    return this.asFastAsPossible;
+  }
+
+  /**
+   * Run the given number of ticks on the calling thread.
+   * It returns early if stop() is called.
+   *
+   * @param count the number of ticks to run, must not be negative
+   * @throws IllegalArgumentException if count is negative
+   * @throws IllegalStateException if the scheduler is already running
+   */
+  public void run(long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must not be negative");
+    }
+    Run run = this.begin(false);
+    try {
+      this.loop(count, run);
+    } finally {
+      this.finish(run);
+    }
+  }
+
+  /**
+   * Start running ticks on a new daemon thread until stop() is called
+   * or a tick throws. The failure of an earlier start() is forgotten.
+   *
+   * @throws IllegalStateException if the scheduler is already running
+   */
+  public void start() {
+    this.begin(true).thread.start();
+  }
+
+  /**
+   * Stop running ticks, and wait for the tick that is running to finish.
+   * A tick that is running is not interrupted.
+   * It waits for the loop to finish, not for the thread that ran it,
+   * so it returns as soon as run() does.
+   *
+   * @throws InterruptedException if the calling thread is interrupted while waiting
+   * @throws IllegalStateException if a tick threw on the thread started by start(),
+   *     with the failure as its cause
+   */
+  public void stop() throws InterruptedException {
+    Run run;
+    Throwable failed = null;
+    synchronized (this) {
+      run = this.current;
+      this.current = null;
+      if (run == null) {
+        failed = this.failure;
+        this.failure = null;
+      }
+    }
+    if (run != null && run.thread != Thread.currentThread()) {
+      LockSupport.unpark(run.thread);
+      run.finished.await();
+      if (run.background) {
+        run.thread.join();
+      }
+      failed = run.failure;
+      synchronized (this) {
+        if (this.failure == failed) {
+          this.failure = null;
+        }
+      }
+    }
+    if (failed != null) {
+      throw new IllegalStateException("A tick failed.", failed);
+    }
+  }
+
+  /**
+   * Check if ticks are running, on either thread.
+   *
+   * @return true if the scheduler is running
+   */
+  public boolean isRunning() {
+    return this.current != null;
+  }
+
+  /**
+   * Get what a tick threw on the thread started by start(), if anything.
+   * It is kept until stop() rethrows it or start() is called again.
+   *
+   * @return the failure, or null if no tick failed
+   */
+  public synchronized Throwable getFailure() {
+    return this.failure;
+  }
+
+  /**
+   * Make a new run the current one. If the loop of the last run is still
+   * finishing its tick after a stop, wait for it first, so that two loops
+   * never tick at once; unless the caller is that tick, which cannot wait for itself.
+   *
+   * @param background true to run on a new thread, false to run on the calling thread
+   * @return the run
+   * @throws IllegalStateException if the scheduler is already running
+   */
+  private Run begin(boolean background) {
+    boolean interrupted = false;
+    try {
+      while (true) {
+        Run previous;
+        synchronized (this) {
+          if (current != null) {
+            throw new IllegalStateException("The scheduler is already running.");
+          }
+          previous = last;
+          if (previous == null || previous.finished.getCount() == 0
+              || previous.thread == Thread.currentThread()) {
+            current = new Run(background);
+            last = current;
+            if (background) {
+              failure = null;
+            }
+            return current;
+          }
+        }
+        try {
+          previous.finished.await();
+        } catch (InterruptedException e) {
+          // the wait is at most one tick, so finish it and keep the interrupt
+          interrupted = true;
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * End a run: it stops being the current run, if it still is,
+   * and stop() calls waiting for it are released.
+   *
+   * @param run the run
+   */
+  private void finish(Run run) {
+    synchronized (this) {
+      if (current == run) {
+        current = null;
+      }
+    }
+    run.finished.countDown();
+  }
+
+  /**
+   * Run ticks on the thread started by start() until stopped.
+   * A failed tick is kept for stop() and getFailure(), and the scheduler
+   * is left stopped so that it can be started again.
+   *
+   * @param run the run
+   */
+  private void runInBackground(Run run) {
+    try {
+      this.loop(Long.MAX_VALUE, run);
+    } catch (RuntimeException | Error e) {
+      run.failure = e;
+      synchronized (this) {
+        if (current == run) {
+          failure = e;
+        }
+      }
+    } finally {
+      this.finish(run);
+    }
+  }
+
+  /**
+   * Get the statistics of the ticks run so far.
+   *
+   * @return a snapshot of the statistics
+   */
+  public synchronized TickStatistics getStatistics() {
+    return new TickStatistics(ticks, overruns, jitter, tickTimes);
+  }
+
+  /**
+   * Run ticks until count have run or the run is no longer the current one.
+   *
+   * @param count the number of ticks
+   * @param run the run
+   */
+  private void loop(long count, Run run) {
+    long deadline = System.nanoTime();
+    boolean paced = false;
+    for (long n = 0; n < count && current == run; n++) {
+      boolean fast = asFastAsPossible;
+      if (!fast) {
+        if (!paced) {
+          // The schedule starts now after running as fast as possible.
+          deadline = System.nanoTime();
+        }
+        this.waitUntil(deadline, run);
+        if (current != run) {
+          return;
+        }
+      }
+      paced = !fast;
+
+      long start = System.nanoTime();
+      tick.run();
+      long end = System.nanoTime();
+
+      boolean overrun = false;
+      if (paced) {
+        long late = start - deadline;
+        deadline += periodNanos;
+        if (end - deadline > 0) {
+          overrun = true;
+          deadline = end;
+        }
+        this.record(late, end - start, overrun);
+      } else {
+        this.record(-1, end - start, false);
+      }
+    }
+  }
+
+  /**
+   * Record the statistics of one tick.
+   *
+   * @param lateNanos how late a paced tick started, or -1 for a tick that was not paced
+   * @param tickNanos how long the tick took to run
+   * @param overrun true if the tick finished after the next deadline
+   */
+  private synchronized void record(long lateNanos, long tickNanos, boolean overrun) {
+    ticks++;
+    if (lateNanos >= 0) {
+      jitter.record(TimeUnit.NANOSECONDS.toMicros(lateNanos));
+    }
+    tickTimes.record(TimeUnit.NANOSECONDS.toMicros(tickNanos));
+    if (overrun) {
+      overruns++;
+    }
+  }
+
+  /**
+   * Wait until the deadline: park until just before it, then spin.
+   *
+   * @param deadline the deadline in System.nanoTime() time
+   * @param run the run that is waiting
+   */
+  private void waitUntil(long deadline, Run run) {
+    while (current == run) {
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        return;
+      }
+      if (remaining > SPIN_NANOS) {
+        LockSupport.parkNanos(this, remaining - SPIN_NANOS);
+      } else {
+        Thread.onSpinWait();
+      }
+    }
+  }
+
+  /**
+   * One call of run() or start(). The loop of a run goes on only while
+   * it is the current run, and stop() waits on its latch.
+   */
+  private final class Run {
+    private final Thread thread;
+    private final boolean background;
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private volatile Throwable failure;
+
+    /**
+     * The constructor for a run. A background run makes its daemon thread,
+     * which start() then starts.
+     *
+     * @param background true to run on a new thread, false to run on the calling thread
+     */
+    private Run(boolean background) {
+      this.background = background;
+      if (background) {
+        this.thread = new Thread(() -> runInBackground(this), "paced-step-scheduler");
+        this.thread.setDaemon(true);
+      } else {
+        this.thread = Thread.currentThread();
+      }
+    }
+  }
+}
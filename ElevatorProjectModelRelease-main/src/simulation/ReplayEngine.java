@@ -0,0 +1,170 @@
+package simulation;
+
+import building.Building;
+import building.enums.ElevatorSystemStatus;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a request log into a building: each request is added at the tick
+ * the log gives it, counted from the start of the replay, and the building
+ * is stepped in between. The same log and building always give the same run,
+ * so a recorded workload can be used to compare dispatch changes or as a benchmark.
+ * <p></p>
+ * By default the replay runs as fast as possible, and gaps between requests are
+ * skipped with Building.advance(), which gives the same result as stepping.
+ * With a tick period, each tick runs on a PacedStepScheduler at that wall-clock rate.
+ */
+public class ReplayEngine {
+
+  private final Building building;
+  private long periodNanos;
+
+  /**
+   * The constructor for the engine.
+   *
+   * @param building the building to replay into
+   */
+  public ReplayEngine(Building building) {
+    this.building = building;
+  }
+
+  /**
+   * Pace the replay at one tick per period, or run it as fast as possible.
+   *
+   * @param period the time between ticks, or 0 to run as fast as possible
+   * @param unit the unit of the period
+   * @throws IllegalArgumentException if the period is negative
+   */
+  public void setTickPeriod(long period, TimeUnit unit) {
+    if (period < 0) {
+      throw new IllegalArgumentException("period must not be negative");
+    }
+    this.periodNanos = unit.toNanos(period);
+  }
+
+  /**
+   * Replay a log into the building, then keep stepping for some extra ticks
+   * so the last requests can be served.
+   *
+   * @param log the request log
+   * @param extraTicks the number of ticks to run after the last request
+   * @return how much was replayed and how fast
+   * @throws IOException if the log cannot be read
+   * @throws IllegalStateException if the building is not running
+   * @throws IllegalArgumentException if extraTicks is negative,
+   *                                  or a request is not in the building
+   */
+  public ReplayResult replay(RequestLog log, long extraTicks) throws IOException {
+    if (building.getSystemStatus() != ElevatorSystemStatus.running) {
+      throw new IllegalStateException("The elevator system is not running.");
+    }
+    if (extraTicks < 0) {
+      throw new IllegalArgumentException("extraTicks must not be negative");
+    }
+
+    long startTick = building.getCurrentTick();
+    long start = System.nanoTime();
+    if (periodNanos == 0) {
+      long requests = 0;
+      while (log.next()) {
+        this.advanceTo(startTick + log.getTick());
+        building.addRequest(log.getStartFloor(), log.getEndFloor());
+        requests++;
+      }
+      building.advance(extraTicks);
+      return new ReplayResult(building.getCurrentTick() - startTick, requests,
+          System.nanoTime() - start, null);
+    }
+
+    PacedReplay replay = new PacedReplay(log, startTick, extraTicks);
+    try {
+      replay.scheduler.run(Long.MAX_VALUE);
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    return new ReplayResult(building.getCurrentTick() - startTick, replay.requests,
+        System.nanoTime() - start, replay.scheduler.getStatistics());
+  }
+
+  /**
+   * Move the building on to a tick.
+   *
+   * @param tick the tick
+   * @throws IllegalArgumentException if the building is already past the tick
+   */
+  private void advanceTo(long tick) {
+    this.checkNotPast(tick);
+    building.advance(tick - building.getCurrentTick());
+  }
+
+  /**
+   * Check that the building is not past the tick of a request.
+   *
+   * @param tick the tick of the request
+   * @throws IllegalArgumentException if the building is already past the tick
+   */
+  private void checkNotPast(long tick) {
+    if (tick < building.getCurrentTick()) {
+      throw new IllegalArgumentException("A request at tick " + tick
+          + " is before the current tick " + building.getCurrentTick() + ".");
+    }
+  }
+
+  /**
+   * One tick of a paced replay: add the requests that are due, then step.
+   * The scheduler is stopped once the log and the extra ticks are done.
+   */
+  private final class PacedReplay implements Runnable {
+    private final RequestLog log;
+    private final long startTick;
+    private final long extraTicks;
+    private final PacedStepScheduler scheduler;
+    private boolean pending;
+    private long endTick = -1;
+    private long requests;
+
+    /**
+     * The constructor for the paced replay.
+     *
+     * @param log the request log
+     * @param startTick the tick of the building when the replay started
+     * @param extraTicks the number of ticks to run after the last request
+     * @throws IOException if the log cannot be read
+     */
+    private PacedReplay(RequestLog log, long startTick, long extraTicks) throws IOException {
+      this.log = log;
+      this.startTick = startTick;
+      this.extraTicks = extraTicks;
+      this.scheduler = new PacedStepScheduler(this, periodNanos, TimeUnit.NANOSECONDS);
+      this.pending = log.next();
+    }
+
+    @Override
+    public void run() {
+      try {
+        while (pending && startTick + log.getTick() <= building.getCurrentTick()) {
+          checkNotPast(startTick + log.getTick());
+          building.addRequest(log.getStartFloor(), log.getEndFloor());
+          requests++;
+          pending = log.next();
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      if (!pending && endTick < 0) {
+        endTick = building.getCurrentTick() + extraTicks;
+      }
+      if (!pending && building.getCurrentTick() >= endTick) {
+        try {
+          scheduler.stop();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return;
+      }
+      building.step();
+    }
+  }
+}
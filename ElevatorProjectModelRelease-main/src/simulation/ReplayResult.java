@@ -0,0 +1,92 @@
+package simulation;
+
+/**
+ * The result of replaying a request log into a building:
+ * how much was replayed and how fast.
+ */
+public class ReplayResult {
+  private final long ticks;
+  private final long requests;
+  private final long elapsedNanos;
+  private final TickStatistics tickStatistics;
+
+  /**
+   * The constructor for the result.
+   *
+   * @param ticks the number of ticks replayed
+   * @param requests the number of requests replayed
+   * @param elapsedNanos the wall-clock time of the replay
+   * @param tickStatistics the statistics of a paced replay, or null
+   */
+  ReplayResult(long ticks, long requests, long elapsedNanos, TickStatistics tickStatistics) {
+    this.ticks = ticks;
+    this.requests = requests;
+    this.elapsedNanos = elapsedNanos;
+    this.tickStatistics = tickStatistics;
+  }
+
+  /**
+   * Get the number of ticks replayed.
+   *
+   * @return the number of ticks
+   */
+  public long getTicks() {
+    return this.ticks;
+  }
+
+  /**
+   * Get the number of requests replayed.
+   *
+   * @return the number of requests
+   */
+  public long getRequests() {
+    return this.requests;
+  }
+
+  /**
+   * Get the wall-clock time of the replay.
+   *
+   * @return the time in nanoseconds
+   */
+  public long getElapsedNanos() {
+    return this.elapsedNanos;
+  }
+
+  /**
+   * Get the number of ticks replayed per second of wall-clock time.
+   *
+   * @return the ticks per second
+   */
+  public double getTicksPerSecond() {
+    return elapsedNanos == 0 ? 0 : ticks * 1e9 / elapsedNanos;
+  }
+
+  /**
+   * Get the number of requests replayed per second of wall-clock time.
+   *
+   * @return the requests per second
+   */
+  public double getRequestsPerSecond() {
+    return elapsedNanos == 0 ? 0 : requests * 1e9 / elapsedNanos;
+  }
+
+  /**
+   * Get how well a paced replay kept its ticks on time.
+   *
+   * @return the statistics, or null if the replay ran as fast as possible
+   */
+  public TickStatistics getTickStatistics() {
+    return this.tickStatistics;
+  }
+
+  @Override
+  public String toString() {
+    String result = String.format("Ticks: %d, Requests: %d, Time: %.1f ms, "
+            + "%.0f ticks/s, %.0f requests/s",
+        ticks, requests, elapsedNanos / 1e6, getTicksPerSecond(), getRequestsPerSecond());
+    if (tickStatistics != null) {
+      result += ", " + tickStatistics;
+    }
+    return result;
+  }
+}
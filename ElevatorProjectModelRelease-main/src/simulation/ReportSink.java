@@ -0,0 +1,38 @@
+package simulation;
+
+import building.BuildingReport;
+import building.MutableBuildingReport;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * A destination for the text of building reports, such as a file or standard output.
+ * A sink is used by one thread.
+ */
+public interface ReportSink extends Closeable {
+
+  /**
+   * Write the text of a report, the same as BuildingReport.toString(),
+   * followed by a line break as System.out.println() would.
+   *
+   * @param report the report
+   * @throws IOException if the report cannot be written
+   */
+  void write(BuildingReport report) throws IOException;
+
+  /**
+   * Write the text of a reused report, the same as BuildingReport.toString(),
+   * followed by a line break as System.out.println() would.
+   *
+   * @param report the report
+   * @throws IOException if the report cannot be written
+   */
+  void write(MutableBuildingReport report) throws IOException;
+
+  /**
+   * Write out any buffered reports.
+   *
+   * @throws IOException if the reports cannot be written
+   */
+  void flush() throws IOException;
+}
@@ -0,0 +1,38 @@
+package simulation;
+
+import java.io.IOException;
+
+/**
+ * A stream of timestamped requests to replay into a building, in tick order.
+ */
+public interface RequestLog {
+
+  /**
+   * Move to the next request.
+   *
+   * @return true if there is a next request, false at the end of the log
+   * @throws IOException if the log cannot be read
+   */
+  boolean next() throws IOException;
+
+  /**
+   * Get the tick of the current request, counted from the start of the replay.
+   *
+   * @return the tick
+   */
+  long getTick();
+
+  /**
+   * Get the start floor of the current request.
+   *
+   * @return the start floor
+   */
+  int getStartFloor();
+
+  /**
+   * Get the end floor of the current request.
+   *
+   * @return the end floor
+   */
+  int getEndFloor();
+}
@@ -0,0 +1,345 @@
+package simulation;
+
+import building.Building;
+import building.DispatchListener;
+import elevator.Elevator;
+import elevator.FloorMask;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class follows the requests a building hands to its elevators
+ * through their whole life: the tick each one arrived, was assigned to an elevator,
+ * was picked up and was dropped off.
+ * A request is picked up when its elevator opens the door at the start floor,
+ * which clears that floor from the requests of the elevator,
+ * and dropped off when it does the same at the end floor.
+ * The wait is from the tick the request arrived to the pickup,
+ * the trip (the ride) from the pickup to the drop off,
+ * and the total from arriving to being dropped off.
+ * <p></p>
+ * The requests of each elevator are kept in primitive arrays, and the
+ * requests that were dropped off can be kept in a ring of a fixed size,
+ * so tracking creates no objects once the arrays are big enough.
+ * afterStep() must be called after every step of the building.
+ * The requests an elevator carries when it is taken out of service
+ * are dropped and counted as cancelled, not as dropped off.
+ */
+public class RequestTracker implements DispatchListener {
+  private final List<Elevator> elevators;
+  private final LatencyHistogram waits;
+  private final LatencyHistogram trips;
+  private final LatencyHistogram totals;
+
+  /************************************************************************
+   * The requests each elevator is carrying, pickup is -1 until it is picked up.
+   ************************************************************************/
+  private final int[][] startFloors;
+  private final int[][] endFloors;
+  private final long[][] arrivalTicks;
+  private final long[][] assignTicks;
+  private final long[][] pickupTicks;
+  private final int[] counts;
+  private long completed;
+  private long cancelled;
+
+  /************************************************************************
+   * The last requests that were dropped off, oldest at historyHead.
+   ************************************************************************/
+  private final int[] historyElevators;
+  private final int[] historyStartFloors;
+  private final int[] historyEndFloors;
+  private final long[] historyArrivalTicks;
+  private final long[] historyAssignTicks;
+  private final long[] historyPickupTicks;
+  private final long[] historyDropoffTicks;
+  private int historyHead;
+  private int historySize;
+
+  /**
+   * Create a tracker for a building, and make it the dispatch listener of the building.
+   *
+   * @param building the building
+   * @param historyCapacity the number of dropped off requests to keep, or 0 for none
+   * @throws IllegalArgumentException if historyCapacity is negative
+   */
+  public RequestTracker(Building building, int historyCapacity) {
+    this(building.getElevators(), new LatencyHistogram(), new LatencyHistogram(),
+        new LatencyHistogram(), historyCapacity);
+    building.setDispatchListener(this);
+  }
+
+  /**
+   * Create a tracker for the elevators of a building.
+   *
+   * @param elevators the elevators, in building order
+   * @param waits the histogram to record the waits in
+   * @param trips the histogram to record the trips in
+   * @param totals the histogram to record the totals in
+   * @param historyCapacity the number of dropped off requests to keep, or 0 for none
+   * @throws IllegalArgumentException if historyCapacity is negative
+   */
+  RequestTracker(List<Elevator> elevators, LatencyHistogram waits, LatencyHistogram trips,
+                 LatencyHistogram totals, int historyCapacity) {
+    if (historyCapacity < 0) {
+      throw new IllegalArgumentException("historyCapacity must not be negative");
+    }
+    this.elevators = elevators;
+    this.waits = waits;
+    this.trips = trips;
+    this.totals = totals;
+    int capacity = elevators.isEmpty() ? 1 : elevators.get(0).getMaxOccupancy();
+    this.startFloors = new int[elevators.size()][capacity];
+    this.endFloors = new int[elevators.size()][capacity];
+    this.arrivalTicks = new long[elevators.size()][capacity];
+    this.assignTicks = new long[elevators.size()][capacity];
+    this.pickupTicks = new long[elevators.size()][capacity];
+    this.counts = new int[elevators.size()];
+
+    this.historyElevators = new int[historyCapacity];
+    this.historyStartFloors = new int[historyCapacity];
+    this.historyEndFloors = new int[historyCapacity];
+    this.historyArrivalTicks = new long[historyCapacity];
+    this.historyAssignTicks = new long[historyCapacity];
+    this.historyPickupTicks = new long[historyCapacity];
+    this.historyDropoffTicks = new long[historyCapacity];
+  }
+
+  @Override
+  public void requestsDispatched(int elevatorIndex, int[] startFloors, int[] endFloors,
+                                 long[] arrivalTicks, int count, long tick) {
+    int size = counts[elevatorIndex];
+    if (size + count > this.startFloors[elevatorIndex].length) {
+      this.grow(elevatorIndex, size + count);
+    }
+    for (int i = 0; i < count; i++) {
+      this.startFloors[elevatorIndex][size + i] = startFloors[i];
+      this.endFloors[elevatorIndex][size + i] = endFloors[i];
+      this.arrivalTicks[elevatorIndex][size + i] = arrivalTicks[i];
+      this.assignTicks[elevatorIndex][size + i] = tick;
+      this.pickupTicks[elevatorIndex][size + i] = -1;
+    }
+    counts[elevatorIndex] = size + count;
+  }
+
+  @Override
+  public void elevatorTakenOutOfService(int elevatorIndex, long tick) {
+    cancelled += counts[elevatorIndex];
+    counts[elevatorIndex] = 0;
+  }
+
+  /**
+   * Look for pickups and drop offs after the building stepped.
+   *
+   * @param tick the current tick of the building
+   */
+  public void afterStep(long tick) {
+    for (int e = 0; e < counts.length; e++) {
+      if (counts[e] == 0) {
+        continue;
+      }
+      int mask = elevators.get(e).getFloorRequestMask();
+      int i = 0;
+      while (i < counts[e]) {
+        if (pickupTicks[e][i] < 0 && !FloorMask.isRequested(mask, startFloors[e][i])) {
+          pickupTicks[e][i] = tick;
+          waits.record(tick - arrivalTicks[e][i]);
+        }
+        if (pickupTicks[e][i] >= 0 && !FloorMask.isRequested(mask, endFloors[e][i])) {
+          trips.record(tick - pickupTicks[e][i]);
+          totals.record(tick - arrivalTicks[e][i]);
+          completed++;
+          this.remember(e, i, tick);
+          this.remove(e, i);
+        } else {
+          i++;
+        }
+      }
+    }
+  }
+
+  /**
+   * Get the number of requests that were dropped off.
+   *
+   * @return the number of requests
+   */
+  public long getCompleted() {
+    return this.completed;
+  }
+
+  /**
+   * Get the number of requests that were dropped because their elevator
+   * was taken out of service before it dropped them off.
+   *
+   * @return the number of requests
+   */
+  public long getCancelled() {
+    return this.cancelled;
+  }
+
+  /**
+   * Get the waits of the requests, from arriving to being picked up.
+   *
+   * @return the histogram of the waits
+   */
+  public LatencyHistogram getWaits() {
+    return this.waits;
+  }
+
+  /**
+   * Get the trips of the requests, from being picked up to being dropped off.
+   *
+   * @return the histogram of the trips
+   */
+  public LatencyHistogram getTrips() {
+    return this.trips;
+  }
+
+  /**
+   * Get the totals of the requests, from arriving to being dropped off.
+   *
+   * @return the histogram of the totals
+   */
+  public LatencyHistogram getTotals() {
+    return this.totals;
+  }
+
+  /**
+   * Get the number of dropped off requests kept in the history.
+   *
+   * @return the number of requests, at most the history capacity
+   */
+  public int getHistorySize() {
+    return this.historySize;
+  }
+
+  /**
+   * Get the id of the elevator that carried a request in the history.
+   *
+   * @param i the index of the request, 0 for the oldest kept
+   * @return the id of the elevator
+   */
+  public int getElevatorId(int i) {
+    return this.historyElevators[this.historyIndex(i)];
+  }
+
+  /**
+   * Get the start floor of a request in the history.
+   *
+   * @param i the index of the request, 0 for the oldest kept
+   * @return the start floor
+   */
+  public int getStartFloor(int i) {
+    return this.historyStartFloors[this.historyIndex(i)];
+  }
+
+  /**
+   * Get the end floor of a request in the history.
+   *
+   * @param i the index of the request, 0 for the oldest kept
+   * @return the end floor
+   */
+  public int getEndFloor(int i) {
+    return this.historyEndFloors[this.historyIndex(i)];
+  }
+
+  /**
+   * Get the tick a request in the history arrived at the building.
+   *
+   * @param i the index of the request, 0 for the oldest kept
+   * @return the tick
+   */
+  public long getArrivalTick(int i) {
+    return this.historyArrivalTicks[this.historyIndex(i)];
+  }
+
+  /**
+   * Get the tick a request in the history was assigned to its elevator.
+   *
+   * @param i the index of the request, 0 for the oldest kept
+   * @return the tick
+   */
+  public long getAssignTick(int i) {
+    return this.historyAssignTicks[this.historyIndex(i)];
+  }
+
+  /**
+   * Get the tick a request in the history was picked up.
+   *
+   * @param i the index of the request, 0 for the oldest kept
+   * @return the tick
+   */
+  public long getPickupTick(int i) {
+    return this.historyPickupTicks[this.historyIndex(i)];
+  }
+
+  /**
+   * Get the tick a request in the history was dropped off.
+   *
+   * @param i the index of the request, 0 for the oldest kept
+   * @return the tick
+   */
+  public long getDropoffTick(int i) {
+    return this.historyDropoffTicks[this.historyIndex(i)];
+  }
+
+  /**
+   * Keep a request that was dropped off in the history, replacing the oldest one if it is full.
+   */
+  private void remember(int e, int i, long tick) {
+    int capacity = historyDropoffTicks.length;
+    if (capacity == 0) {
+      return;
+    }
+    int slot;
+    if (historySize < capacity) {
+      slot = (historyHead + historySize) % capacity;
+      historySize++;
+    } else {
+      slot = historyHead;
+      historyHead = (historyHead + 1) % capacity;
+    }
+    historyElevators[slot] = elevators.get(e).getElevatorId();
+    historyStartFloors[slot] = startFloors[e][i];
+    historyEndFloors[slot] = endFloors[e][i];
+    historyArrivalTicks[slot] = arrivalTicks[e][i];
+    historyAssignTicks[slot] = assignTicks[e][i];
+    historyPickupTicks[slot] = pickupTicks[e][i];
+    historyDropoffTicks[slot] = tick;
+  }
+
+  /**
+   * Find a request of the history in the ring.
+   *
+   * @param i the index of the request, 0 for the oldest kept
+   * @return the slot of the request in the ring
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  private int historyIndex(int i) {
+    if (i < 0 || i >= historySize) {
+      throw new IndexOutOfBoundsException("Request " + i + " of " + historySize);
+    }
+    return (historyHead + i) % historyDropoffTicks.length;
+  }
+
+  /**
+   * Remove a request by moving the last request of the elevator into its place.
+   */
+  private void remove(int e, int i) {
+    int last = --counts[e];
+    startFloors[e][i] = startFloors[e][last];
+    endFloors[e][i] = endFloors[e][last];
+    arrivalTicks[e][i] = arrivalTicks[e][last];
+    assignTicks[e][i] = assignTicks[e][last];
+    pickupTicks[e][i] = pickupTicks[e][last];
+  }
+
+  private void grow(int e, int size) {
+    int length = Math.max(size, startFloors[e].length * 2);
+    startFloors[e] = Arrays.copyOf(startFloors[e], length);
+    endFloors[e] = Arrays.copyOf(endFloors[e], length);
+    arrivalTicks[e] = Arrays.copyOf(arrivalTicks[e], length);
+    assignTicks[e] = Arrays.copyOf(assignTicks[e], length);
+    pickupTicks[e] = Arrays.copyOf(pickupTicks[e], length);
+  }
+}
@@ -0,0 +1,156 @@
+package simulation;
+
+import building.enums.DispatchMode;
+
+/**
+ * One scenario for the ScenarioRunner: a building configuration,
+ * the random traffic it is given, and how long it runs.
+ * Requests arrive at the given mean rate per tick, with their floors
+ * picked by a TrafficPattern (see TrafficGenerator).
+ * The traffic only depends on the seed, so a scenario always gives the same result.
+ */
+public class Scenario {
+  private final int numberOfFloors;
+  private final int numberOfElevators;
+  private final int elevatorCapacity;
+  private final DispatchMode dispatchMode;
+  private final TrafficPattern trafficPattern;
+  private final double arrivalRate;
+  private final long ticks;
+  private final long seed;
+
+  /**
+   * The constructor for a scenario with uniform traffic.
+   * The building configuration is checked when the building is created.
+   *
+   * @param numberOfFloors the number of floors in the building.
+   * @param numberOfElevators the number of elevators in the building.
+   * @param elevatorCapacity the capacity of the elevators in the building.
+   * @param dispatchMode how requests are handed to the elevators.
+   * @param arrivalRate the mean number of requests that arrive each tick, not negative.
+   * @param ticks the number of ticks to run for, must not be negative.
+   * @param seed the seed of the random traffic.
+   * @throws IllegalArgumentException if the arrival rate or the ticks are out of range
+   */
+  public Scenario(int numberOfFloors, int numberOfElevators, int elevatorCapacity,
+                  DispatchMode dispatchMode, double arrivalRate, long ticks, long seed) {
+    this(numberOfFloors, numberOfElevators, elevatorCapacity, dispatchMode,
+        TrafficPattern.UNIFORM, arrivalRate, ticks, seed);
+  }
+
+  /**
+   * The constructor for the scenario.
+   * The building configuration is checked when the building is created.
+   *
+   * @param numberOfFloors the number of floors in the building.
+   * @param numberOfElevators the number of elevators in the building.
+   * @param elevatorCapacity the capacity of the elevators in the building.
+   * @param dispatchMode how requests are handed to the elevators.
+   * @param trafficPattern where the requests start and end.
+   * @param arrivalRate the mean number of requests that arrive each tick, not negative.
+   * @param ticks the number of ticks to run for, must not be negative.
+   * @param seed the seed of the random traffic.
+   * @throws IllegalArgumentException if the arrival rate or the ticks are out of range
+   */
+  public Scenario(int numberOfFloors, int numberOfElevators, int elevatorCapacity,
+                  DispatchMode dispatchMode, TrafficPattern trafficPattern,
+                  double arrivalRate, long ticks, long seed) {
+    if (!(arrivalRate >= 0) || Double.isInfinite(arrivalRate)) {
+      throw new IllegalArgumentException("arrivalRate must not be negative");
+    }
+    if (ticks < 0) {
+      throw new IllegalArgumentException("ticks must not be negative");
+    }
+    this.numberOfFloors = numberOfFloors;
+    this.numberOfElevators = numberOfElevators;
+    this.elevatorCapacity = elevatorCapacity;
+    this.dispatchMode = dispatchMode;
+    this.trafficPattern = trafficPattern;
+    this.arrivalRate = arrivalRate;
+    this.ticks = ticks;
+    this.seed = seed;
+  }
+
+  /**
+   * This method is used to get the number of floors in the building.
+   *
+   * @return the number of floors in the building
+   */
+  public int getNumberOfFloors() {
+    return this.numberOfFloors;
+  }
+
+  /**
+   * This method is used to get the number of elevators in the building.
+   *
+   * @return the number of elevators in the building
+   */
+  public int getNumberOfElevators() {
+    return this.numberOfElevators;
+  }
+
+  /**
+   * This method is used to get the capacity of the elevators in the building.
+   *
+   * @return the capacity of the elevators in the building
+   */
+  public int getElevatorCapacity() {
+    return this.elevatorCapacity;
+  }
+
+  /**
+   * This method is used to get how requests are handed to the elevators.
+   *
+   * @return how requests are handed to the elevators
+   */
+  public DispatchMode getDispatchMode() {
+    return this.dispatchMode;
+  }
+
+  /**
+   * This method is used to get where the requests start and end.
+   *
+   * @return the traffic pattern
+   */
+  public TrafficPattern getTrafficPattern() {
+    return this.trafficPattern;
+  }
+
+  /**
+   * This method is used to get the mean number of requests that arrive each tick.
+   *
+   * @return the mean number of requests that arrive each tick
+   */
+  public double getArrivalRate() {
+    return this.arrivalRate;
+  }
+
+  /**
+   * This method is used to get the number of ticks to run for.
+   *
+   * @return the number of ticks to run for
+   */
+  public long getTicks() {
+    return this.ticks;
+  }
+
+  /**
+   * This method is used to get the seed of the random traffic.
+   *
+   * @return the seed of the random traffic
+   */
+  public long getSeed() {
+    return this.seed;
+  }
+
+  /**
+   * Get the configuration of the scenario without its seed.
+   * Scenarios with the same configuration are summarized together.
+   *
+   * @return the configuration
+   */
+  public String getConfiguration() {
+    return numberOfFloors + "," + numberOfElevators + "," + elevatorCapacity + ","
+        + dispatchMode.name() + "," + trafficPattern.name() + "," + arrivalRate + "," + ticks;
+  }
+}
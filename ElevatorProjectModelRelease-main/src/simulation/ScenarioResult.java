@@ -0,0 +1,178 @@
+package simulation;
+
+import java.util.Locale;
+
+/**
+ * The result of one scenario, or of several scenarios with the same configuration
+ * merged together: the number of requests and how long they waited and travelled,
+ * and how long they took from arriving to being dropped off.
+ */
+public class ScenarioResult {
+
+  /************************************************************************
+   * The header of the CSV rows written for the results.
+   ************************************************************************/
+  public static final String CSV_HEADER = "scenario,floors,elevators,capacity,dispatchMode,"
+      + "trafficPattern,arrivalRate,ticks,seed,scenarios,requests,completed,"
+      + "meanWait,p50Wait,p95Wait,p99Wait,maxWait,"
+      + "meanTrip,p50Trip,p95Trip,p99Trip,maxTrip,"
+      + "meanTotal,p50Total,p95Total,p99Total,maxTotal";
+
+  private final String configuration;
+  private final long seed;
+  private int scenarios;
+  private long requests;
+  private long completed;
+  private final LatencyHistogram waits;
+  private final LatencyHistogram trips;
+  private final LatencyHistogram totals;
+
+  /**
+   * The constructor for the result of one scenario.
+   *
+   * @param scenario the scenario
+   * @param requests the number of requests that arrived
+   * @param completed the number of requests that were dropped off
+   * @param waits the waits of the requests that were picked up
+   * @param trips the trips of the requests that were dropped off
+   * @param totals the totals of the requests that were dropped off
+   */
+  public ScenarioResult(Scenario scenario, long requests, long completed,
+                        LatencyHistogram waits, LatencyHistogram trips, LatencyHistogram totals) {
+    this(scenario.getConfiguration(), scenario.getSeed(), 1, requests, completed,
+        waits, trips, totals);
+  }
+
+  private ScenarioResult(String configuration, long seed, int scenarios, long requests,
+                         long completed, LatencyHistogram waits, LatencyHistogram trips,
+                         LatencyHistogram totals) {
+    this.configuration = configuration;
+    this.seed = seed;
+    this.scenarios = scenarios;
+    this.requests = requests;
+    this.completed = completed;
+    this.waits = waits;
+    this.trips = trips;
+    this.totals = totals;
+  }
+
+  /**
+   * Create an empty summary of the scenarios with the given configuration.
+   *
+   * @param configuration the configuration, from Scenario.getConfiguration()
+   * @return the empty summary
+   */
+  static ScenarioResult summaryOf(String configuration) {
+    return new ScenarioResult(configuration, -1, 0, 0, 0,
+        new LatencyHistogram(), new LatencyHistogram(), new LatencyHistogram());
+  }
+
+  /**
+   * Add another result with the same configuration to this one.
+   *
+   * @param other the other result
+   * @throws IllegalArgumentException if the configuration is different
+   */
+  public void merge(ScenarioResult other) {
+    if (!other.configuration.equals(this.configuration)) {
+      throw new IllegalArgumentException("Cannot merge results of different configurations.");
+    }
+    scenarios += other.scenarios;
+    requests += other.requests;
+    completed += other.completed;
+    waits.merge(other.waits);
+    trips.merge(other.trips);
+    totals.merge(other.totals);
+  }
+
+  /**
+   * Get the configuration of the scenarios.
+   *
+   * @return the configuration
+   */
+  public String getConfiguration() {
+    return this.configuration;
+  }
+
+  /**
+   * Get the seed of the scenario.
+   *
+   * @return the seed, or -1 for a summary of several scenarios
+   */
+  public long getSeed() {
+    return this.seed;
+  }
+
+  /**
+   * Get the number of scenarios in the result.
+   *
+   * @return the number of scenarios
+   */
+  public int getScenarios() {
+    return this.scenarios;
+  }
+
+  /**
+   * Get the number of requests that arrived.
+   *
+   * @return the number of requests
+   */
+  public long getRequests() {
+    return this.requests;
+  }
+
+  /**
+   * Get the number of requests that were dropped off.
+   *
+   * @return the number of requests
+   */
+  public long getCompleted() {
+    return this.completed;
+  }
+
+  /**
+   * Get the waits of the requests, from arriving to being picked up.
+   *
+   * @return the histogram of the waits
+   */
+  public LatencyHistogram getWaits() {
+    return this.waits;
+  }
+
+  /**
+   * Get the trips of the requests, from being picked up to being dropped off.
+   *
+   * @return the histogram of the trips
+   */
+  public LatencyHistogram getTrips() {
+    return this.trips;
+  }
+
+  /**
+   * Get the totals of the requests, from arriving to being dropped off.
+   *
+   * @return the histogram of the totals
+   */
+  public LatencyHistogram getTotals() {
+    return this.totals;
+  }
+
+  /**
+   * Get the result as a CSV row in the order of CSV_HEADER.
+   *
+   * @param label the value of the first column
+   * @return the row, without a line separator
+   */
+  public String toCsvRow(String label) {
+    return label + "," + configuration + "," + seed + "," + scenarios + ","
+        + requests + "," + completed + ","
+        + histogramColumns(waits) + "," + histogramColumns(trips) + ","
+        + histogramColumns(totals);
+  }
+
+  private static String histogramColumns(LatencyHistogram histogram) {
+    return String.format(Locale.ROOT, "%.2f", histogram.getMean()) + ","
+        + histogram.getPercentile(50) + "," + histogram.getPercentile(95) + ","
+        + histogram.getPercentile(99) + "," + histogram.getMax();
+  }
+}
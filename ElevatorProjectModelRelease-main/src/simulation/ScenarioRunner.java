@@ -0,0 +1,125 @@
+package simulation;
+
+import building.Building;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This class runs many independent scenarios at the same time on a thread pool.
+ * Every scenario has its own Building, so the scenarios share no state.
+ * The result of each scenario is written to a CSV file as soon as it is done,
+ * and the results of the scenarios with the same configuration are merged
+ * into one summary per configuration.
+ */
+public class ScenarioRunner {
+  private final int threads;
+
+  /**
+   * The constructor for the runner.
+   *
+   * @param threads the number of scenarios to run at the same time, must be greater than 0
+   * @throws IllegalArgumentException if threads is not greater than 0
+   */
+  public ScenarioRunner(int threads) {
+    if (threads <= 0) {
+      throw new IllegalArgumentException("threads must be greater than 0");
+    }
+    this.threads = threads;
+  }
+
+  /**
+   * Run one scenario on the calling thread.
+   * The requests of each tick come from a TrafficGenerator for the scenario,
+   * and are added before the building steps.
+   *
+   * @param scenario the scenario
+   * @return the result of the scenario
+   */
+  public static ScenarioResult runScenario(Scenario scenario) {
+    Building building = new Building(scenario.getNumberOfFloors(),
+        scenario.getNumberOfElevators(), scenario.getElevatorCapacity(),
+        scenario.getDispatchMode());
+    building.startElevatorSystem();
+
+    RequestTracker tracker = new RequestTracker(building, 0);
+
+    TrafficGenerator traffic = new TrafficGenerator(scenario.getNumberOfFloors(),
+        scenario.getTrafficPattern(), scenario.getArrivalRate(), scenario.getSeed());
+    long requests = 0;
+    for (long tick = 0; tick < scenario.getTicks(); tick++) {
+      requests += traffic.addTo(building);
+      building.step();
+      tracker.afterStep(building.getCurrentTick());
+    }
+    return new ScenarioResult(scenario, requests, tracker.getCompleted(),
+        tracker.getWaits(), tracker.getTrips(), tracker.getTotals());
+  }
+
+  /**
+   * Run the scenarios and write a CSV row for each of them to the output file,
+   * in the order they finish, followed by a row for each configuration.
+   * The first column of a scenario row is its index in the list,
+   * the first column of a configuration row is "all".
+   *
+   * @param scenarios the scenarios
+   * @param output the CSV file to write, it is replaced if it exists
+   * @return the summary of each configuration, in the order they first appear
+   * @throws IOException if the output cannot be written
+   * @throws IllegalStateException if the thread is interrupted while waiting for the scenarios
+   */
+  public List<ScenarioResult> run(List<Scenario> scenarios, Path output) throws IOException {
+    Map<String, ScenarioResult> summaries = new LinkedHashMap<>();
+    for (Scenario scenario : scenarios) {
+      summaries.computeIfAbsent(scenario.getConfiguration(), ScenarioResult::summaryOf);
+    }
+
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+      CompletionService<ScenarioResult> completion = new ExecutorCompletionService<>(pool);
+      Map<Future<ScenarioResult>, Integer> indexes = new LinkedHashMap<>();
+      for (int i = 0; i < scenarios.size(); i++) {
+        Scenario scenario = scenarios.get(i);
+        indexes.put(completion.submit(() -> runScenario(scenario)), i);
+      }
+
+      writer.write(ScenarioResult.CSV_HEADER);
+      writer.newLine();
+      for (int i = 0; i < scenarios.size(); i++) {
+        Future<ScenarioResult> done = completion.take();
+        ScenarioResult result = done.get();
+        writer.write(result.toCsvRow(Integer.toString(indexes.get(done))));
+        writer.newLine();
+        summaries.get(result.getConfiguration()).merge(result);
+      }
+
+      for (ScenarioResult summary : summaries.values()) {
+        writer.write(summary.toCsvRow("all"));
+        writer.newLine();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while running the scenarios.", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException("A scenario failed.", e.getCause());
+    } finally {
+      pool.shutdownNow();
+    }
+    return new ArrayList<>(summaries.values());
+  }
+}
@@ -0,0 +1,92 @@
+package simulation;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A request log in text, one request per line as "tick startFloor endFloor".
+ * Blank lines and lines starting with '#' are skipped.
+ * The lines are read one at a time, so the log can be any length.
+ */
+public class TextRequestLog implements RequestLog, Closeable {
+
+  private final BufferedReader reader;
+  private int lineNumber;
+  private long tick;
+  private int startFloor;
+  private int endFloor;
+
+  /**
+   * The constructor for the log.
+   *
+   * @param reader the reader of the log, closed when the log is closed
+   */
+  public TextRequestLog(BufferedReader reader) {
+    this.reader = reader;
+  }
+
+  /**
+   * Open a log file.
+   *
+   * @param file the file
+   * @return the log
+   * @throws IOException if the file cannot be opened
+   */
+  public static TextRequestLog open(Path file) throws IOException {
+    return new TextRequestLog(Files.newBufferedReader(file, StandardCharsets.US_ASCII));
+  }
+
+  @Override
+  public boolean next() throws IOException {
+    String line;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      line = line.trim();
+      if (line.isEmpty() || line.charAt(0) == '#') {
+        continue;
+      }
+      String[] parts = line.split("\\s+");
+      if (parts.length != 3) {
+        throw new IOException("Line " + lineNumber + " is not 'tick startFloor endFloor'.");
+      }
+      long nextTick;
+      try {
+        nextTick = Long.parseLong(parts[0]);
+        startFloor = Integer.parseInt(parts[1]);
+        endFloor = Integer.parseInt(parts[2]);
+      } catch (NumberFormatException e) {
+        throw new IOException("Line " + lineNumber + " is not 'tick startFloor endFloor'.", e);
+      }
+      if (nextTick < tick) {
+        throw new IOException("Line " + lineNumber + " goes back to tick " + nextTick + ".");
+      }
+      tick = nextTick;
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public long getTick() {
+    return this.tick;
+  }
+
+  @Override
+  public int getStartFloor() {
+    return this.startFloor;
+  }
+
+  @Override
+  public int getEndFloor() {
+    return this.endFloor;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
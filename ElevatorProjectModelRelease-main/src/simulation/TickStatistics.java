@@ -0,0 +1,106 @@
+package simulation;
+
+/**
+ * A snapshot of how well a PacedStepScheduler kept its ticks on time.
+ * Jitter is how late a tick started after its deadline,
+ * and a tick overran if it finished after the deadline of the next tick.
+ * Times are in microseconds.
+ */
+public class TickStatistics {
+  private final long ticks;
+  private final long overruns;
+  private final double meanJitterMicros;
+  private final long p99JitterMicros;
+  private final long maxJitterMicros;
+  private final double meanTickMicros;
+  private final long maxTickMicros;
+
+  /**
+   * The constructor for the statistics.
+   *
+   * @param ticks the number of ticks run
+   * @param overruns the number of ticks that finished after the next deadline
+   * @param jitter the jitter of the paced ticks
+   * @param tickTimes the time each tick took to run
+   */
+  TickStatistics(long ticks, long overruns, LatencyHistogram jitter, LatencyHistogram tickTimes) {
+    this.ticks = ticks;
+    this.overruns = overruns;
+    this.meanJitterMicros = jitter.getMean();
+    this.p99JitterMicros = jitter.getPercentile(99);
+    this.maxJitterMicros = jitter.getMax();
+    this.meanTickMicros = tickTimes.getMean();
+    this.maxTickMicros = tickTimes.getMax();
+  }
+
+  /**
+   * Get the number of ticks run.
+   *
+   * @return the number of ticks
+   */
+  public long getTicks() {
+    return this.ticks;
+  }
+
+  /**
+   * Get the number of ticks that finished after the deadline of the next tick.
+   *
+   * @return the number of overruns
+   */
+  public long getOverruns() {
+    return this.overruns;
+  }
+
+  /**
+   * Get the mean jitter of the paced ticks.
+   *
+   * @return the mean jitter in microseconds
+   */
+  public double getMeanJitterMicros() {
+    return this.meanJitterMicros;
+  }
+
+  /**
+   * Get the 99th percentile of the jitter of the paced ticks.
+   *
+   * @return the jitter in microseconds
+   */
+  public long getP99JitterMicros() {
+    return this.p99JitterMicros;
+  }
+
+  /**
+   * Get the largest jitter of the paced ticks.
+   *
+   * @return the jitter in microseconds
+   */
+  public long getMaxJitterMicros() {
+    return this.maxJitterMicros;
+  }
+
+  /**
+   * Get the mean time a tick took to run.
+   *
+   * @return the time in microseconds
+   */
+  public double getMeanTickMicros() {
+    return this.meanTickMicros;
+  }
+
+  /**
+   * Get the longest time a tick took to run.
+   *
+   * @return the time in microseconds
+   */
+  public long getMaxTickMicros() {
+    return this.maxTickMicros;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Ticks: %d, Overruns: %d, Jitter: mean %.1f us, p99 %d us, max %d us, "
+            + "Tick: mean %.1f us, max %d us",
+        ticks, overruns, meanJitterMicros, p99JitterMicros, maxJitterMicros,
+        meanTickMicros, maxTickMicros);
+  }
+}
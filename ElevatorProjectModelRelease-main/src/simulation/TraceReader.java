@@ -0,0 +1,296 @@
+package simulation;
+
+import elevator.ElevatorReport;
+import elevator.ElevatorState;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a binary trace written by TraceWriter, one record at a time,
+ * without holding more of the trace than one buffer.
+ * The reader keeps the state of every elevator as of the last STATE record.
+ */
+public class TraceReader implements Closeable {
+
+  private final ReadableByteChannel channel;
+  private final ByteBuffer buffer;
+  private final int numFloors;
+  private final int elevatorCapacity;
+  private final long[] states;
+  private final int[] changed;
+  private int changedCount;
+  private long tick;
+  private int startFloor;
+  private int endFloor;
+  private boolean ended;
+
+  /**
+   * Start reading a trace from a channel, and read its header.
+   *
+   * @param channel the channel to read from, closed when the reader is closed
+   * @throws IOException if the header cannot be read or is not a trace header
+   */
+  public TraceReader(ReadableByteChannel channel) throws IOException {
+    this.channel = channel;
+    this.buffer = ByteBuffer.allocateDirect(ChannelReportSink.DEFAULT_BUFFER_SIZE);
+    this.buffer.flip();
+    for (byte magic : TraceWriter.MAGIC) {
+      if (this.readByte() != magic) {
+        throw new IOException("The channel does not hold a trace.");
+      }
+    }
+    int version = this.readByte();
+    if (version != TraceWriter.FORMAT_VERSION) {
+      throw new IOException("Trace format " + version + " is not supported.");
+    }
+    this.numFloors = (int) this.readVarint();
+    int numElevators = (int) this.readVarint();
+    this.elevatorCapacity = (int) this.readVarint();
+    this.states = new long[numElevators];
+    this.changed = new int[numElevators];
+  }
+
+  /**
+   * Start reading a trace from a file.
+   *
+   * @param file the file
+   * @return the reader
+   * @throws IOException if the file cannot be opened or is not a trace
+   */
+  public static TraceReader open(Path file) throws IOException {
+    return new TraceReader(FileChannel.open(file, StandardOpenOption.READ));
+  }
+
+  /**
+   * Get the number of floors in the building.
+   *
+   * @return the number of floors
+   */
+  public int getNumFloors() {
+    return this.numFloors;
+  }
+
+  /**
+   * Get the number of elevators in the building.
+   *
+   * @return the number of elevators
+   */
+  public int getNumElevators() {
+    return this.states.length;
+  }
+
+  /**
+   * Get the capacity of the elevators.
+   *
+   * @return the capacity
+   */
+  public int getElevatorCapacity() {
+    return this.elevatorCapacity;
+  }
+
+  /**
+   * Read the next record.
+   *
+   * @return the kind of record read, or null at the end of the trace
+   * @throws IOException if the trace cannot be read, is cut short or is not valid
+   */
+  public TraceRecord next() throws IOException {
+    while (!ended) {
+      int tag = this.readByte();
+      switch (tag) {
+        case TraceWriter.TAG_END:
+          ended = true;
+          break;
+        case TraceWriter.TAG_TICK:
+          tick += this.readVarint();
+          break;
+        case TraceWriter.TAG_STATE:
+          this.readState();
+          return TraceRecord.STATE;
+        case TraceWriter.TAG_REQUEST:
+          startFloor = (int) this.readVarint();
+          endFloor = (int) this.readVarint();
+          return TraceRecord.REQUEST;
+        default:
+          throw new IOException("Unknown trace record " + tag + ".");
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Get the tick of the last record read.
+   *
+   * @return the tick
+   */
+  public long getTick() {
+    return this.tick;
+  }
+
+  /**
+   * Get the start floor of the last REQUEST record.
+   *
+   * @return the start floor
+   */
+  public int getStartFloor() {
+    return this.startFloor;
+  }
+
+  /**
+   * Get the end floor of the last REQUEST record.
+   *
+   * @return the end floor
+   */
+  public int getEndFloor() {
+    return this.endFloor;
+  }
+
+  /**
+   * Get the number of elevators that changed in the last STATE record.
+   *
+   * @return the number of elevators
+   */
+  public int getChangedCount() {
+    return this.changedCount;
+  }
+
+  /**
+   * Get the index of an elevator that changed in the last STATE record.
+   *
+   * @param i which of the changed elevators, from 0 to getChangedCount() - 1
+   * @return the index of the elevator
+   */
+  public int getChangedElevator(int i) {
+    if (i < 0 || i >= changedCount) {
+      throw new IndexOutOfBoundsException("Changed elevator " + i + " of " + changedCount);
+    }
+    return this.changed[i];
+  }
+
+  /**
+   * Get the packed state of an elevator as of the last STATE record.
+   *
+   * @param index the index of the elevator
+   * @return the packed state, read with the methods of ElevatorState
+   */
+  public long getElevatorState(int index) {
+    return this.states[index];
+  }
+
+  /**
+   * Get the report of an elevator as of the last STATE record.
+   *
+   * @param index the index of the elevator
+   * @return a new report of the elevator
+   */
+  public ElevatorReport getElevatorReport(int index) {
+    return ElevatorState.toReport(index, this.states[index]);
+  }
+
+  /**
+   * View the REQUEST records of the trace as a request log, skipping the STATE records.
+   * Reading the log reads this reader.
+   *
+   * @return the request log
+   */
+  public RequestLog requests() {
+    return new RequestLog() {
+      @Override
+      public boolean next() throws IOException {
+        TraceRecord record = TraceReader.this.next();
+        while (record == TraceRecord.STATE) {
+          record = TraceReader.this.next();
+        }
+        return record == TraceRecord.REQUEST;
+      }
+
+      @Override
+      public long getTick() {
+        return TraceReader.this.getTick();
+      }
+
+      @Override
+      public int getStartFloor() {
+        return TraceReader.this.getStartFloor();
+      }
+
+      @Override
+      public int getEndFloor() {
+        return TraceReader.this.getEndFloor();
+      }
+    };
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  /**
+   * Read the body of a STATE record.
+   *
+   * @throws IOException if the record cannot be read or is not valid
+   */
+  private void readState() throws IOException {
+    long count = this.readVarint();
+    if (count > states.length) {
+      throw new IOException("The trace changes " + count + " of " + states.length + " elevators.");
+    }
+    int index = -1;
+    for (int i = 0; i < count; i++) {
+      index += (int) this.readVarint() + 1;
+      if (index >= states.length) {
+        throw new IOException("The trace changes elevator " + index + ".");
+      }
+      states[index] ^= this.readVarint();
+      changed[i] = index;
+    }
+    changedCount = (int) count;
+  }
+
+  /**
+   * Read a varint.
+   *
+   * @return the value
+   * @throws IOException if the varint cannot be read or is too long
+   */
+  private long readVarint() throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = this.readByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("A varint in the trace is too long.");
+  }
+
+  /**
+   * Read one byte, filling the buffer from the channel when it is empty.
+   *
+   * @return the byte, from 0 to 255
+   * @throws IOException if the channel cannot be read
+   * @throws EOFException if the trace ends before its END record
+   */
+  private int readByte() throws IOException {
+    if (!buffer.hasRemaining()) {
+      buffer.clear();
+      int read = 0;
+      while (read == 0) {
+        read = channel.read(buffer);
+      }
+      buffer.flip();
+      if (read < 0) {
+        throw new EOFException("The trace is cut short.");
+      }
+    }
+    return buffer.get() & 0xFF;
+  }
+}
@@ -0,0 +1,11 @@
+package simulation;
+
+/**
+ * The kinds of record in a binary trace.
+ */
+public enum TraceRecord {
+  /** The state of the elevators at a tick. */
+  STATE,
+  /** A request that arrived at a tick. */
+  REQUEST
+}
@@ -0,0 +1,317 @@
+package simulation;
+
+import building.Building;
+import building.BuildingSnapshot;
+import elevator.Elevator;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import scanerzus.Request;
+
+/**
+ * Writes a run of a building as a compact binary trace, read back by TraceReader.
+ * <p></p>
+ * The trace starts with a header: the magic bytes "ELVT", a format version byte,
+ * and the number of floors, elevators and the capacity as varints.
+ * Then come records, each starting with a tag byte:
+ * <ul>
+ *   <li>TICK: the number of ticks since the last TICK, as a varint.
+ *   The records after it happen at that tick.</li>
+ *   <li>STATE: the number of elevators that changed, then for each of them the gap
+ *   to the index of the last one written, and its packed state (see ElevatorState)
+ *   xor its last written state, as varints. Elevators that did not change cost nothing,
+ *   and one that did usually only flips a few bits. A STATE record is only written
+ *   when an elevator changed, so an idle building costs nothing either.</li>
+ *   <li>REQUEST: the start and end floor, as varints.</li>
+ *   <li>END: the end of the trace.</li>
+ * </ul>
+ * Varints hold 7 bits per byte, lowest first, with the high bit set on every byte but the last.
+ */
+public class TraceWriter implements Closeable {
+
+  static final byte[] MAGIC = {'E', 'L', 'V', 'T'};
+  static final int FORMAT_VERSION = 1;
+  static final int TAG_END = 0;
+  static final int TAG_TICK = 1;
+  static final int TAG_STATE = 2;
+  static final int TAG_REQUEST = 3;
+
+  /************************************************************************
+   * The most bytes one elevator of a STATE record takes: two varints.
+   ************************************************************************/
+  private static final int MAX_ELEVATOR_BYTES = 5 + 10;
+
+  private final WritableByteChannel channel;
+  private final ByteBuffer buffer;
+  private final long[] states;
+  private final long[] current;
+  private final int numFloors;
+  private long tick;
+  private boolean closed;
+
+  /**
+   * Start a trace on a channel, and write its header.
+   *
+   * @param channel the channel to write to, closed when the writer is closed
+   * @param numFloors the number of floors in the building
+   * @param numElevators the number of elevators in the building
+   * @param elevatorCapacity the capacity of the elevators
+   * @throws IOException if the header cannot be written
+   */
+  public TraceWriter(WritableByteChannel channel, int numFloors, int numElevators,
+                     int elevatorCapacity) throws IOException {
+    this.channel = channel;
+    this.buffer = ByteBuffer.allocateDirect(ChannelReportSink.DEFAULT_BUFFER_SIZE);
+    this.states = new long[numElevators];
+    this.current = new long[numElevators];
+    this.numFloors = numFloors;
+    buffer.put(MAGIC);
+    buffer.put((byte) FORMAT_VERSION);
+    putVarint(numFloors);
+    putVarint(numElevators);
+    putVarint(elevatorCapacity);
+  }
+
+  /**
+   * Start a trace of a building in a new file, or replace an existing one.
+   *
+   * @param file the file
+   * @param building the building
+   * @return the writer
+   * @throws IOException if the file cannot be opened or the header cannot be written
+   */
+  public static TraceWriter open(Path file, Building building) throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    return new TraceWriter(channel, building.getNumberOfFloors(),
+        building.getNumberOfElevators(), building.getElevatorCapacity());
+  }
+
+  /**
+   * Record a request that arrived at a tick.
+   *
+   * @param tick the tick, not before the last tick written
+   * @param request the request
+   * @throws IOException if the buffer cannot be written out
+   */
+  public void writeRequest(long tick, Request request) throws IOException {
+    this.writeRequest(tick, request.getStartFloor(), request.getEndFloor());
+  }
+
+  /**
+   * Record a request that arrived at a tick.
+   *
+   * @param tick the tick, not before the last tick written
+   * @param startFloor the start floor
+   * @param endFloor the end floor
+   * @throws IOException if the buffer cannot be written out
+   * @throws IllegalArgumentException if a floor is not in the building
+   */
+  public void writeRequest(long tick, int startFloor, int endFloor) throws IOException {
+    if (startFloor < 0 || startFloor >= numFloors || endFloor < 0 || endFloor >= numFloors) {
+      throw new IllegalArgumentException("The floors must be in the building.");
+    }
+    this.writeTick(tick);
+    this.ensure(1 + 5 + 5);
+    buffer.put((byte) TAG_REQUEST);
+    putVarint(startFloor);
+    putVarint(endFloor);
+  }
+
+  /**
+   * Record the state of the elevators of a building at its current tick,
+   * if any of them changed since the last state written.
+   *
+   * @param building the building
+   * @throws IOException if the buffer cannot be written out
+   * @throws IllegalArgumentException if the building has another number of elevators
+   */
+  public void writeState(Building building) throws IOException {
+    List<Elevator> elevators = building.getElevators();
+    this.checkElevators(elevators.size());
+    for (int i = 0; i < current.length; i++) {
+      current[i] = elevators.get(i).getPackedStatus();
+    }
+    this.writeStates(building.getCurrentTick(), current);
+  }
+
+  /**
+   * Record the state of the elevators in a snapshot at its tick,
+   * if any of them changed since the last state written.
+   *
+   * @param snapshot the snapshot
+   * @throws IOException if the buffer cannot be written out
+   * @throws IllegalArgumentException if the snapshot has another number of elevators
+   */
+  public void writeState(BuildingSnapshot snapshot) throws IOException {
+    this.checkElevators(snapshot.getNumElevators());
+    for (int i = 0; i < current.length; i++) {
+      current[i] = snapshot.getElevatorState(i);
+    }
+    this.writeStates(snapshot.getTick(), current);
+  }
+
+  /**
+   * Write a STATE record of the elevators whose packed state changed,
+   * or nothing if none of them did.
+   *
+   * @param tick the tick of the states
+   * @param packed the packed state of every elevator
+   * @throws IOException if the buffer cannot be written out
+   */
+  private void writeStates(long tick, long[] packed) throws IOException {
+    int changed = 0;
+    for (int i = 0; i < states.length; i++) {
+      if (packed[i] != states[i]) {
+        changed++;
+      }
+    }
+    if (changed == 0) {
+      return;
+    }
+    this.writeTick(tick);
+    this.beginState(changed);
+    int last = -1;
+    for (int i = 0; i < states.length && changed > 0; i++) {
+      if (packed[i] != states[i]) {
+        this.putElevator(i, last, packed[i]);
+        last = i;
+        changed--;
+      }
+    }
+  }
+
+  /**
+   * Write out the buffered records.
+   *
+   * @throws IOException if the channel cannot be written
+   */
+  public void flush() throws IOException {
+    this.checkOpen();
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  /**
+   * End the trace, write it out and close the channel.
+   *
+   * @throws IOException if the channel cannot be written or closed
+   */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    try {
+      this.ensure(1);
+      buffer.put((byte) TAG_END);
+      this.flush();
+    } finally {
+      closed = true;
+      channel.close();
+    }
+  }
+
+  /**
+   * Move the trace on to a tick, writing a TICK record if it is a new tick.
+   *
+   * @param tick the tick
+   * @throws IOException if the buffer cannot be written out
+   * @throws IllegalArgumentException if the tick is before the last tick written
+   */
+  private void writeTick(long tick) throws IOException {
+    this.checkOpen();
+    if (tick < this.tick) {
+      throw new IllegalArgumentException("Tick " + tick + " is before tick " + this.tick + ".");
+    }
+    if (tick > this.tick) {
+      this.ensure(1 + 10);
+      buffer.put((byte) TAG_TICK);
+      putVarint(tick - this.tick);
+      this.tick = tick;
+    }
+  }
+
+  /**
+   * Write the start of a STATE record.
+   *
+   * @param changed the number of elevators that changed
+   * @throws IOException if the buffer cannot be written out
+   */
+  private void beginState(int changed) throws IOException {
+    this.ensure(1 + 5);
+    buffer.put((byte) TAG_STATE);
+    putVarint(changed);
+  }
+
+  /**
+   * Write one elevator of a STATE record and remember its state.
+   *
+   * @param index the index of the elevator
+   * @param last the index of the last elevator written in the record, or -1
+   * @param state the packed state of the elevator
+   * @throws IOException if the buffer cannot be written out
+   */
+  private void putElevator(int index, int last, long state) throws IOException {
+    this.ensure(MAX_ELEVATOR_BYTES);
+    putVarint(index - last - 1);
+    putVarint(state ^ states[index]);
+    states[index] = state;
+  }
+
+  /**
+   * Make room in the buffer, writing it out if needed.
+   *
+   * @param bytes the number of bytes needed
+   * @throws IOException if the buffer cannot be written out
+   */
+  private void ensure(int bytes) throws IOException {
+    if (buffer.remaining() < bytes) {
+      this.flush();
+    }
+  }
+
+  /**
+   * Put a varint in the buffer, which must have room for it.
+   *
+   * @param value the value, read as unsigned
+   */
+  private void putVarint(long value) {
+    while ((value & ~0x7FL) != 0) {
+      buffer.put((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    buffer.put((byte) value);
+  }
+
+  /**
+   * Check the number of elevators.
+   *
+   * @param numElevators the number of elevators
+   * @throws IllegalArgumentException if it is not the number in the header
+   */
+  private void checkElevators(int numElevators) {
+    if (numElevators != states.length) {
+      throw new IllegalArgumentException("The trace has " + states.length + " elevators.");
+    }
+  }
+
+  /**
+   * Check that the writer is not closed.
+   *
+   * @throws IllegalStateException if the writer is closed
+   */
+  private void checkOpen() {
+    if (closed) {
+      throw new IllegalStateException("The trace is closed.");
+    }
+  }
+}
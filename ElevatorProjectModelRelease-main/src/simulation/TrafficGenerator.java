@@ -0,0 +1,266 @@
+package simulation;
+
+import building.Building;
+import java.util.SplittableRandom;
+import scanerzus.Request;
+
+/**
+ * A seeded generator of request arrivals for a building.
+ * Requests arrive as a Poisson process with a given mean number per tick,
+ * and each request picks its start and end floor from an origin-destination
+ * matrix of weights, such as a TrafficPattern.
+ * <p></p>
+ * The trips are sampled with the alias method, so picking one costs one random
+ * int and one random double whatever the number of floors, and the arrivals of a tick
+ * are written into primitive buffers that are reused, so generating traffic
+ * creates no objects once the buffers are big enough.
+ * The same matrix, rate and seed always give the same arrivals.
+ */
+public class TrafficGenerator {
+
+  private final int numberOfFloors;
+  private final double arrivalRate;
+  private final SplittableRandom random;
+
+  /************************************************************************
+   * The alias table over the trips, trip k going from k / floors to k % floors.
+   ************************************************************************/
+  private final double[] probability;
+  private final int[] alias;
+
+  private double nextArrival;
+  private long tick;
+  private int[] startFloors = new int[16];
+  private int[] endFloors = new int[16];
+  private int count;
+
+  /**
+   * The constructor for a generator of a preset pattern.
+   *
+   * @param numberOfFloors the number of floors in the building
+   * @param pattern the traffic pattern
+   * @param arrivalRate the mean number of requests per tick, must not be negative
+   * @param seed the seed
+   * @throws IllegalArgumentException if the floors or the rate are out of range
+   */
+  public TrafficGenerator(int numberOfFloors, TrafficPattern pattern, double arrivalRate,
+                          long seed) {
+    this(pattern.originDestination(numberOfFloors), arrivalRate, seed);
+  }
+
+  /**
+   * The constructor for a generator of any origin-destination matrix.
+   *
+   * @param originDestination the weight of a trip from floor i to floor j at [i][j]
+   * @param arrivalRate the mean number of requests per tick, must not be negative
+   * @param seed the seed
+   * @throws IllegalArgumentException if the matrix is not square, has a negative weight,
+   *                                  a trip from a floor to itself or no trips at all,
+   *                                  or if the rate is negative
+   */
+  public TrafficGenerator(double[][] originDestination, double arrivalRate, long seed) {
+    if (!(arrivalRate >= 0) || Double.isInfinite(arrivalRate)) {
+      throw new IllegalArgumentException("arrivalRate must not be negative");
+    }
+    this.numberOfFloors = originDestination.length;
+    this.arrivalRate = arrivalRate;
+    this.random = new SplittableRandom(seed);
+
+    int trips = numberOfFloors * numberOfFloors;
+    double[] weights = new double[trips];
+    double total = 0;
+    for (int i = 0; i < numberOfFloors; i++) {
+      if (originDestination[i].length != numberOfFloors) {
+        throw new IllegalArgumentException("The origin-destination matrix must be square.");
+      }
+      for (int j = 0; j < numberOfFloors; j++) {
+        double weight = originDestination[i][j];
+        if (!(weight >= 0) || Double.isInfinite(weight)) {
+          throw new IllegalArgumentException("The weights must not be negative.");
+        }
+        if (i == j && weight != 0) {
+          throw new IllegalArgumentException("A trip cannot start and end on floor " + i + ".");
+        }
+        weights[i * numberOfFloors + j] = weight;
+        total += weight;
+      }
+    }
+    if (total == 0) {
+      throw new IllegalArgumentException("The origin-destination matrix has no trips.");
+    }
+
+    this.probability = new double[trips];
+    this.alias = new int[trips];
+    this.buildAliasTable(weights, total);
+    this.nextArrival = this.nextGap();
+  }
+
+  /**
+   * Build the alias table with Vose's method: every column holds
+   * a share of one trip and, for the rest, one other trip.
+   *
+   * @param weights the weight of each trip
+   * @param total the sum of the weights
+   */
+  private void buildAliasTable(double[] weights, double total) {
+    int trips = weights.length;
+    double[] scaled = new double[trips];
+    int[] small = new int[trips];
+    int[] large = new int[trips];
+    int smallCount = 0;
+    int largeCount = 0;
+    for (int k = 0; k < trips; k++) {
+      scaled[k] = weights[k] * trips / total;
+      if (scaled[k] < 1) {
+        small[smallCount++] = k;
+      } else {
+        large[largeCount++] = k;
+      }
+    }
+    while (smallCount > 0 && largeCount > 0) {
+      int less = small[--smallCount];
+      int more = large[--largeCount];
+      probability[less] = scaled[less];
+      alias[less] = more;
+      scaled[more] = (scaled[more] + scaled[less]) - 1;
+      if (scaled[more] < 1) {
+        small[smallCount++] = more;
+      } else {
+        large[largeCount++] = more;
+      }
+    }
+    // what is left is 1 but for rounding
+    while (largeCount > 0) {
+      probability[large[--largeCount]] = 1;
+    }
+    while (smallCount > 0) {
+      probability[small[--smallCount]] = 1;
+    }
+  }
+
+  /**
+   * Generate the arrivals of the next tick into the buffers.
+   *
+   * @return the number of requests that arrive in the tick
+   */
+  public int nextTick() {
+    count = 0;
+    tick++;
+    while (nextArrival < tick) {
+      if (count == startFloors.length) {
+        this.grow();
+      }
+      int trip = random.nextInt(probability.length);
+      if (random.nextDouble() >= probability[trip]) {
+        trip = alias[trip];
+      }
+      startFloors[count] = trip / numberOfFloors;
+      endFloors[count] = trip % numberOfFloors;
+      count++;
+      nextArrival += this.nextGap();
+    }
+    return count;
+  }
+
+  /**
+   * Generate the arrivals of the next tick and add them to a building.
+   *
+   * @param building the building, which must be running
+   * @return the number of requests added
+   * @throws IllegalArgumentException if a floor is not in the building
+   */
+  public int addTo(Building building) {
+    int arrivals = this.nextTick();
+    if (arrivals > 0) {
+      building.addRequests(startFloors, endFloors, arrivals);
+    }
+    return arrivals;
+  }
+
+  /**
+   * Get the number of ticks generated.
+   *
+   * @return the number of ticks
+   */
+  public long getTick() {
+    return this.tick;
+  }
+
+  /**
+   * Get the number of requests that arrived in the last tick.
+   *
+   * @return the number of requests
+   */
+  public int getCount() {
+    return this.count;
+  }
+
+  /**
+   * Get the start floor of a request that arrived in the last tick.
+   *
+   * @param i the index of the request, less than getCount()
+   * @return the start floor
+   */
+  public int getStartFloor(int i) {
+    return this.startFloors[this.checkIndex(i)];
+  }
+
+  /**
+   * Get the end floor of a request that arrived in the last tick.
+   *
+   * @param i the index of the request, less than getCount()
+   * @return the end floor
+   */
+  public int getEndFloor(int i) {
+    return this.endFloors[this.checkIndex(i)];
+  }
+
+  /**
+   * Get a request that arrived in the last tick as a new Request.
+   *
+   * @param i the index of the request, less than getCount()
+   * @return the request
+   */
+  public Request getRequest(int i) {
+    return new Request(this.getStartFloor(i), this.getEndFloor(i));
+  }
+
+  /**
+   * Get the time to the next arrival, which is exponential
+   * with a mean of one over the arrival rate.
+   *
+   * @return the time in ticks, or infinity if the rate is 0
+   */
+  private double nextGap() {
+    if (arrivalRate == 0) {
+      return Double.POSITIVE_INFINITY;
+    }
+    return -Math.log(1 - random.nextDouble()) / arrivalRate;
+  }
+
+  /**
+   * Double the buffers.
+   */
+  private void grow() {
+    int[] newStartFloors = new int[startFloors.length * 2];
+    int[] newEndFloors = new int[endFloors.length * 2];
+    System.arraycopy(startFloors, 0, newStartFloors, 0, count);
+    System.arraycopy(endFloors, 0, newEndFloors, 0, count);
+    startFloors = newStartFloors;
+    endFloors = newEndFloors;
+  }
+
+  /**
+   * Check the index of a request of the last tick.
+   *
+   * @param i the index
+   * @return the index
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  private int checkIndex(int i) {
+    if (i < 0 || i >= count) {
+      throw new IndexOutOfBoundsException("Request " + i + " of " + count);
+    }
+    return i;
+  }
+}
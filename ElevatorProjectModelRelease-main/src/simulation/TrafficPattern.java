@@ -0,0 +1,65 @@
+package simulation;
+
+/**
+ * Preset origin-destination patterns for the TrafficGenerator.
+ * Floor 0 is the lobby. Each pattern splits the traffic between trips
+ * from the lobby, trips to the lobby, and trips between the other floors,
+ * with the trips in each group spread evenly over their floors.
+ */
+public enum TrafficPattern {
+  /** Every trip between two different floors is as likely. */
+  UNIFORM(-1, -1),
+  /** Morning: most trips start at the lobby. */
+  UP_PEAK(0.85, 0.05),
+  /** Evening: most trips end at the lobby. */
+  DOWN_PEAK(0.05, 0.85),
+  /** Lunch time: trips both ways through the lobby and between floors. */
+  INTER_FLOOR(0.35, 0.35);
+
+  private final double fromLobby;
+  private final double toLobby;
+
+  /**
+   * The constructor for a pattern.
+   *
+   * @param fromLobby the share of trips from the lobby, or -1 for uniform traffic
+   * @param toLobby the share of trips to the lobby, or -1 for uniform traffic
+   */
+  TrafficPattern(double fromLobby, double toLobby) {
+    this.fromLobby = fromLobby;
+    this.toLobby = toLobby;
+  }
+
+  /**
+   * Build the origin-destination weights of the pattern.
+   * Entry [i][j] is the weight of a trip from floor i to floor j.
+   *
+   * @param numberOfFloors the number of floors, at least 3
+   * @return the weights
+   * @throws IllegalArgumentException if there are fewer than 3 floors
+   */
+  public double[][] originDestination(int numberOfFloors) {
+    if (numberOfFloors < 3) {
+      throw new IllegalArgumentException("numberOfFloors must be at least 3");
+    }
+    double[][] weights = new double[numberOfFloors][numberOfFloors];
+    int upper = numberOfFloors - 1;
+    for (int i = 0; i < numberOfFloors; i++) {
+      for (int j = 0; j < numberOfFloors; j++) {
+        if (i == j) {
+          continue;
+        }
+        if (this == UNIFORM) {
+          weights[i][j] = 1;
+        } else if (i == 0) {
+          weights[i][j] = fromLobby / upper;
+        } else if (j == 0) {
+          weights[i][j] = toLobby / upper;
+        } else {
+          weights[i][j] = (1 - fromLobby - toLobby) / (upper * (upper - 1));
+        }
+      }
+    }
+    return weights;
+  }
+}
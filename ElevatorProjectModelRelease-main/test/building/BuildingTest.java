@@ -4,11 +4,20 @@ import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import building.enums.Direction;
+import building.enums.DispatchMode;
 import building.enums.ElevatorSystemStatus;
 import elevator.Elevator;
+import elevator.ElevatorMetrics;
 import elevator.ElevatorReport;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.Before;
 import org.junit.Test;
 import scanerzus.Request;
@@ -122,13 +131,338 @@ public class BuildingTest {
 
 
   /**
-   * Test invalid more upRequest greater than elevator capacity.
-   * Building will never allocate more requests to an elevator than its max capacity.
+   * Test that the CharSequence, ByteBuffer and int overloads
+   * store the same requests as the string overload.
+   */
+  @Test
+  public void testAddRequestOverloads() {
+    validBuilding.startElevatorSystem();
+    assertTrue(validBuilding.addRequest(new StringBuilder("1 2")));
+    assertTrue(validBuilding.addRequest(
+        ByteBuffer.wrap("7 3".getBytes(StandardCharsets.US_ASCII))));
+    assertTrue(validBuilding.addRequest(9, 0));
+    assertEquals("[1->2]", validBuilding.getUpRequests().toString());
+    assertEquals("[7->3, 9->0]", validBuilding.getDownRequests().toString());
+  }
+
+  /**
+   * Test that a malformed request does not add any of its requests.
+   */
+  @Test
+  public void testAddRequestOddInputAddsNothing() {
+    validBuilding.startElevatorSystem();
+    try {
+      validBuilding.addRequest("1 2 3");
+      fail("An odd number of floors should be rejected.");
+    } catch (IllegalArgumentException e) {
+      assertTrue(validBuilding.getUpRequests().isEmpty());
+    }
+  }
+
+  /**
+   * Test that a floor which is not a number is rejected.
+   */
+  @Test(expected = NumberFormatException.class)
+  public void testAddRequestNotANumber() {
+    validBuilding.startElevatorSystem();
+    validBuilding.addRequest("1 x");
+  }
+
+  /**
+   * Test that addRequests routes a batch to the up and down requests.
+   */
+  @Test
+  public void testAddRequests() {
+    validBuilding.startElevatorSystem();
+    assertTrue(validBuilding.addRequests(new int[] {1, 7, 9}, new int[] {2, 3, 0}));
+    assertEquals("[1->2]", validBuilding.getUpRequests().toString());
+    assertEquals("[7->3, 9->0]", validBuilding.getDownRequests().toString());
+  }
+
+  /**
+   * Test that a batch with a floor outside the building adds nothing.
+   */
+  @Test
+  public void testAddRequestsInvalidFloorAddsNothing() {
+    validBuilding.startElevatorSystem();
+    try {
+      validBuilding.addRequests(new int[] {1, 2, 3}, new int[] {2, 3, 10});
+      fail("A floor outside the building should be rejected.");
+    } catch (IllegalArgumentException e) {
+      assertTrue(validBuilding.getUpRequests().isEmpty());
+    }
+  }
+
+  /**
+   * Test that more up requests than the elevator capacity are queued.
+   * Building will never allocate more requests to an elevator than its max capacity,
+   * the rest wait in the queue for the next elevator.
+   */
+  @Test
+  public void testRequestsMoreThanCapacityAreQueued() {
+    validBuilding.startElevatorSystem();
+    assertTrue(validBuilding.addRequest("1 2 1 3 1 4 1 5 1 6 1 7 9 0"));
+    assertEquals(6, validBuilding.getUpRequestCount());
+    assertEquals(1, validBuilding.getDownRequestCount());
+
+    validBuilding.allocateRequest();
+    assertEquals("[1->6, 1->7]", validBuilding.getUpRequests().toString());
+    assertEquals("[9->0]", validBuilding.getDownRequests().toString());
+  }
+
+  /**
+   * Test that the next elevator takes the requests left in the queue.
+   */
+  @Test
+  public void testQueuedRequestsGoToNextElevator() {
+    validBuilding.startElevatorSystem();
+    validBuilding.addRequest("1 2 1 3 1 4 1 5 1 6 1 7");
+    validBuilding.allocateRequest();
+    assertEquals(2, validBuilding.getUpRequestCount());
+    validBuilding.allocateRequest();
+    assertEquals(0, validBuilding.getUpRequestCount());
+    assertTrue(validBuilding.getElevators().get(1).getFloorRequests()[7]);
+  }
+
+  /**
+   * Test that allAvailable splits the requests over every waiting elevator.
+   */
+  @Test
+  public void testAllAvailableDispatch() {
+    Building building = new Building(10, 3, 4, DispatchMode.allAvailable);
+    building.startElevatorSystem();
+    building.addRequest("1 2 1 3 1 4 1 5 1 6 1 7 1 8 1 9 2 3 2 4");
+    building.allocateRequest();
+    assertEquals(0, building.getUpRequestCount());
+    for (Elevator elevator : building.getElevators()) {
+      assertFalse(elevator.isTakingRequests());
+    }
+    assertTrue(building.getElevators().get(2).getFloorRequests()[4]);
+  }
+
+  /**
+   * Test that firstAvailable gives the requests to one elevator only.
+   */
+  @Test
+  public void testFirstAvailableDispatch() {
+    assertEquals(DispatchMode.firstAvailable, validBuilding.getDispatchMode());
+    validBuilding.startElevatorSystem();
+    validBuilding.addRequest("1 2 1 3 1 4 1 5 1 6");
+    validBuilding.allocateRequest();
+    assertEquals(1, validBuilding.getUpRequestCount());
+    assertTrue(validBuilding.getElevators().get(1).isTakingRequests());
+  }
+
+  /**
+   * Test that an elevator which is back on the ground floor takes new requests.
+   */
+  @Test
+  public void testElevatorBackOnGroundFloorTakesRequests() {
+    Building building = new Building(3, 1, 4);
+    building.startElevatorSystem();
+    building.addRequest("0 1");
+    Elevator elevator = building.getElevators().get(0);
+    building.step();
+    // run up to the top, wait, and come back down
+    while (!(elevator.isTakingRequests() && elevator.getCurrentFloor() == 0)) {
+      building.step();
+    }
+    building.addRequest("1 2");
+    building.step();
+    assertEquals(0, building.getUpRequestCount());
+    assertFalse(elevator.isTakingRequests());
+  }
+
+  /**
+   * Test that the elevators of a building are numbered from 0 in every building.
+   */
+  @Test
+  public void testElevatorIdsAreIndexes() {
+    Building other = new Building(10, 3, 4);
+    for (int i = 0; i < 3; i++) {
+      assertEquals(i, other.getElevators().get(i).getElevatorId());
+    }
+    assertEquals(0, validBuilding.getElevators().get(0).getElevatorId());
+  }
+
+  /**
+   * Test that the dispatch listener is told which elevator took which requests,
+   * and when they arrived.
+   */
+  @Test
+  public void testDispatchListener() {
+    Building building = new Building(10, 2, 4, DispatchMode.allAvailable);
+    List<String> dispatched = new ArrayList<>();
+    building.setDispatchListener((index, starts, ends, arrivals, count, tick) -> {
+      for (int i = 0; i < count; i++) {
+        dispatched.add(index + ":" + starts[i] + "-" + ends[i] + "@" + arrivals[i] + "/" + tick);
+      }
+    });
+    building.startElevatorSystem();
+    building.advance(2);
+    building.addRequest("1 5 2 6 3 7 4 8 5 9");
+    building.step();
+    assertEquals(List.of("0:1-5@2/2", "0:2-6@2/2", "0:3-7@2/2", "0:4-8@2/2", "1:5-9@2/2"),
+        dispatched);
+  }
+
+  /**
+   * Test that a submitted request is added at the start of the next step.
+   */
+  @Test
+  public void testSubmitRequestArrivesAtNextStep() {
+    List<String> dispatched = new ArrayList<>();
+    validBuilding.setDispatchListener((index, starts, ends, arrivals, count, tick) ->
+        dispatched.add(starts[0] + "-" + ends[0] + "@" + arrivals[0]));
+    validBuilding.startElevatorSystem();
+    validBuilding.step();
+    validBuilding.submitRequest(2, 7);
+    assertEquals(0, validBuilding.getUpRequestCount());
+    validBuilding.step();
+    assertEquals(List.of("2-7@1"), dispatched);
+  }
+
+  /**
+   * Test that requests submitted from many threads while the building steps all arrive.
+   */
+  @Test
+  public void testSubmitRequestFromManyThreads() throws InterruptedException {
+    Building building = new Building(10, 4, 20, DispatchMode.allAvailable);
+    long[] dispatched = new long[1];
+    building.setDispatchListener((index, starts, ends, arrivals, count, tick) ->
+        dispatched[0] += count);
+    building.startElevatorSystem();
+
+    int threads = 4;
+    int requestsPerThread = 5000;
+    List<Thread> producers = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      final int seed = t;
+      Thread producer = new Thread(() -> {
+        for (int i = 0; i < requestsPerThread; i++) {
+          int start = (seed + i) % 10;
+          building.submitRequest(start, 9 - start);
+        }
+      });
+      producers.add(producer);
+      producer.start();
+    }
+    boolean running = true;
+    while (running) {
+      building.step();
+      running = false;
+      for (Thread producer : producers) {
+        running |= producer.isAlive();
+      }
+    }
+    for (Thread producer : producers) {
+      producer.join();
+    }
+    building.step();
+
+    assertEquals(threads * requestsPerThread, dispatched[0]
+        + building.getUpRequestCount() + building.getDownRequestCount());
+  }
+
+  /**
+   * Test that a request for a floor outside the building cannot be submitted.
    */
   @Test(expected = IllegalArgumentException.class)
-  public void testCannotAllocateRequestsMoreThanCapacity() {
+  public void testSubmitRequestInvalidFloor() {
+    validBuilding.startElevatorSystem();
+    validBuilding.submitRequest(0, 10);
+  }
+
+  /**
+   * Test that a request cannot be submitted while the system is not running.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testSubmitRequestNotRunning() {
+    validBuilding.submitRequest(0, 1);
+  }
+
+  /**
+   * Test that advance gives the same building as taking the steps one at a time.
+   */
+  @Test
+  public void testAdvanceMatchesSteps() {
+    Building stepped = new Building(12, 3, 4, DispatchMode.allAvailable);
+    Building advanced = new Building(12, 3, 4, DispatchMode.allAvailable);
+    stepped.startElevatorSystem();
+    advanced.startElevatorSystem();
+    String[] requests = {"1 7 2 9", "11 0", "3 4 5 6 7 8 9 10 1 2", "10 2 6 1"};
+    for (int round = 0; round < 40; round++) {
+      if (round % 5 == 0) {
+        stepped.addRequest(requests[round % requests.length]);
+        advanced.addRequest(requests[round % requests.length]);
+      }
+      int ticks = 1 + round % 17;
+      for (int i = 0; i < ticks; i++) {
+        stepped.step();
+      }
+      advanced.advance(ticks);
+      assertEquals(stepped.getCurrentTick(), advanced.getCurrentTick());
+      assertEquals(stepped.getElevatorSystemStatus().toString(),
+          advanced.getElevatorSystemStatus().toString());
+    }
+  }
+
+  /**
+   * Test that waiting requests make the next step an event.
+   */
+  @Test
+  public void testTicksUntilNextEventWithWaitingRequests() {
     validBuilding.startElevatorSystem();
-    validBuilding.addRequest("1 2 3 4 5 6 7 8 9 10 11 12");
+    assertEquals(5, validBuilding.getTicksUntilNextEvent());
+    validBuilding.addRequest("1 2");
+    assertEquals(1, validBuilding.getTicksUntilNextEvent());
+  }
+
+  /**
+   * Test that clearRequests empties both queues.
+   */
+  @Test
+  public void testClearRequests() {
+    validBuilding.startElevatorSystem();
+    validBuilding.addRequest("1 2 7 3");
+    validBuilding.clearRequests();
+    assertEquals(0, validBuilding.getUpRequestCount());
+    assertEquals(0, validBuilding.getDownRequestCount());
+  }
+
+  /**
+   * Test that stepping the elevators in parallel gives the same building
+   * as stepping them one by one.
+   */
+  @Test
+  public void testParallelStepMatchesSequential() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      Building sequential = new Building(20, 200, 10, DispatchMode.allAvailable);
+      Building parallel = new Building(20, 200, 10, DispatchMode.allAvailable);
+      parallel.setStepPool(pool);
+      assertEquals(pool, parallel.getStepPool());
+      sequential.startElevatorSystem();
+      parallel.startElevatorSystem();
+      String[] requests = {"1 17 2 9", "19 0", "3 4 5 6 7 8 9 10 1 2", "18 2 6 1"};
+      for (int round = 0; round < 300; round++) {
+        if (round % 3 == 0) {
+          sequential.addRequest(requests[round % requests.length]);
+          parallel.addRequest(requests[round % requests.length]);
+        }
+        if (round % 50 == 49) {
+          sequential.advance(40);
+          parallel.advance(40);
+        } else {
+          sequential.step();
+          parallel.step();
+        }
+        assertEquals(sequential.getElevatorSystemStatus().toString(),
+            parallel.getElevatorSystemStatus().toString());
+      }
+    } finally {
+      pool.shutdown();
+    }
   }
 
 
@@ -193,4 +527,257 @@ public class BuildingTest {
         validBuilding.getSystemStatus());
   }
 
+  /**
+   * Test that applying each delta to a report keeps it the same as a full report.
+   */
+  @Test
+  public void testStatusDeltasMatchFullStatus() {
+    Building building = new Building(10, 4, 5);
+    BuildingReportDelta first = building.getElevatorSystemStatusDelta();
+    assertTrue(first.isFull());
+    assertEquals(1, first.getVersion());
+    BuildingReport report = first.toReport();
+    assertEquals(building.getElevatorSystemStatus().toString(), report.toString());
+
+    building.startElevatorSystem();
+    Random random = new Random(7);
+    for (int tick = 0; tick < 300; tick++) {
+      if (random.nextInt(3) == 0) {
+        int start = random.nextInt(10);
+        int end = (start + 1 + random.nextInt(9)) % 10;
+        building.addRequest(start, end);
+      }
+      building.step();
+      BuildingReportDelta delta = building.getElevatorSystemStatusDelta();
+      assertFalse(delta.isFull());
+      assertEquals(report.getVersion(), delta.getBaseVersion());
+      assertEquals(building.getCurrentTick(), delta.getTick());
+      BuildingReport before = report;
+      String beforeText = before.toString();
+      report = report.applyDelta(delta);
+      assertEquals(building.getElevatorSystemStatus().toString(), report.toString());
+      assertEquals(beforeText, before.toString());
+    }
+
+    building.stopElevatorSystem();
+    report = report.applyDelta(building.getElevatorSystemStatusDelta());
+    assertEquals(building.getElevatorSystemStatus().toString(), report.toString());
+  }
+
+  /**
+   * Test that a full delta of another building replaces the whole report.
+   */
+  @Test
+  public void testFullStatusDeltaReplacesHeader() {
+    BuildingReport report = validBuilding.getElevatorSystemStatusDelta().toReport();
+    Building other = new Building(12, 3, 7);
+    BuildingReportDelta full = other.getElevatorSystemStatusDelta();
+    BuildingReport replaced = report.applyDelta(full);
+    assertEquals(other.getElevatorSystemStatus().toString(), replaced.toString());
+    assertEquals(12, replaced.getNumFloors());
+    assertEquals(3, replaced.getNumElevators());
+    assertEquals(7, replaced.getElevatorCapacity());
+    assertEquals(full.getVersion(), replaced.getVersion());
+    assertEquals(validBuilding.getNumberOfFloors(), report.getNumFloors());
+    assertEquals(validBuilding.getNumberOfElevators(), report.getNumElevators());
+  }
+
+  /**
+   * Test that a delta of a building that did not change holds nothing.
+   */
+  @Test
+  public void testStatusDeltaUnchanged() {
+    validBuilding.getElevatorSystemStatusDelta();
+    BuildingReportDelta delta = validBuilding.getElevatorSystemStatusDelta();
+    assertEquals(0, delta.getElevatorIndexes().length);
+    assertEquals(null, delta.getUpRequests());
+    assertEquals(null, delta.getDownRequests());
+
+    validBuilding.startElevatorSystem();
+    delta = validBuilding.getElevatorSystemStatusDelta();
+    assertEquals(validBuilding.getNumberOfElevators(), delta.getElevatorIndexes().length);
+
+    validBuilding.addRequest(1, 3);
+    delta = validBuilding.getElevatorSystemStatusDelta();
+    assertEquals(0, delta.getElevatorIndexes().length);
+    assertEquals(1, delta.getUpRequests().size());
+    assertEquals(null, delta.getDownRequests());
+
+    assertTrue(validBuilding.getElevatorSystemStatusDelta(true).isFull());
+  }
+
+  /**
+   * Test that a delta that skips a version is not applied.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testStatusDeltaSkipped() {
+    BuildingReport report = validBuilding.getElevatorSystemStatusDelta().toReport();
+    validBuilding.getElevatorSystemStatusDelta();
+    report.applyDelta(validBuilding.getElevatorSystemStatusDelta());
+  }
+
+  /**
+   * Test that a delta that is not full cannot start a report.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testStatusDeltaNotFullToReport() {
+    validBuilding.getElevatorSystemStatusDelta();
+    validBuilding.getElevatorSystemStatusDelta().toReport();
+  }
+
+  /**
+   * Test that a snapshot matches the report and does not change when the building does.
+   */
+  @Test
+  public void testElevatorSystemSnapshot() {
+    validBuilding.startElevatorSystem();
+    validBuilding.addRequest(1, 4);
+    validBuilding.addRequest(8, 2);
+    validBuilding.addRequest(0, 9);
+    BuildingSnapshot snapshot = validBuilding.getElevatorSystemSnapshot();
+    String report = validBuilding.getElevatorSystemStatus().toString();
+    assertEquals(report, snapshot.toReport().toString());
+    assertEquals(2, snapshot.getUpRequestCount());
+    assertEquals(1, snapshot.getUpRequestStartFloor(0));
+    assertEquals(4, snapshot.getUpRequestEndFloor(0));
+    assertEquals(8, snapshot.getDownRequestStartFloor(0));
+    assertEquals(2, snapshot.getDownRequestEndFloor(0));
+    assertEquals(validBuilding.getCurrentTick(), snapshot.getTick());
+
+    for (int i = 0; i < 10; i++) {
+      validBuilding.step();
+    }
+    assertEquals(report, snapshot.toReport().toString());
+    assertEquals(validBuilding.getElevatorSystemStatus().toString(),
+        validBuilding.getElevatorSystemSnapshot().toReport().toString());
+  }
+
+  /**
+   * Test that a reused report matches the full report every tick.
+   */
+  @Test
+  public void testElevatorSystemStatusReused() {
+    MutableBuildingReport reuse = new MutableBuildingReport();
+    validBuilding.startElevatorSystem();
+    validBuilding.addRequest(1, 4);
+    validBuilding.addRequest(8, 2);
+    validBuilding.addRequest(0, 9);
+    for (int i = 0; i < 40; i++) {
+      assertEquals(reuse, validBuilding.getElevatorSystemStatus(reuse));
+      assertEquals(validBuilding.getElevatorSystemStatus().toString(),
+          reuse.toReport().toString());
+      assertEquals(validBuilding.getElevatorSystemStatus().toString(), reuse.toString());
+      assertEquals(validBuilding.getCurrentTick(), reuse.getTick());
+      assertEquals(validBuilding.getUpRequestCount(), reuse.getUpRequestCount());
+      validBuilding.step();
+    }
+  }
+
+  /**
+   * Test that the building counts the requests it accepted, rejected and handed out.
+   */
+  @Test
+  public void testMetricsRequests() {
+    try {
+      validBuilding.addRequest(1, 4);
+      fail("A request should be rejected while the system is not running.");
+    } catch (IllegalStateException e) {
+      assertEquals(1, validBuilding.getMetrics().getRequestsRejected());
+    }
+    validBuilding.startElevatorSystem();
+    validBuilding.addRequest(1, 4);
+    validBuilding.addRequest("7 3 9 0");
+    validBuilding.addRequests(new int[] {2, 5}, new int[] {6, 1});
+    validBuilding.submitRequest(0, 9);
+    try {
+      validBuilding.addRequest("1 2 3");
+      fail("An odd number of floors should be rejected.");
+    } catch (IllegalArgumentException e) {
+      assertEquals(2, validBuilding.getMetrics().getRequestsRejected());
+    }
+    try {
+      validBuilding.addRequests(new int[] {1, 2}, new int[] {2, 10});
+      fail("A floor outside the building should be rejected.");
+    } catch (IllegalArgumentException e) {
+      assertEquals(3, validBuilding.getMetrics().getRequestsRejected());
+    }
+
+    MetricsSnapshot before = validBuilding.getMetrics().snapshot();
+    assertEquals(5, before.getRequestsAccepted());
+    assertEquals(0, before.getAllocations());
+    assertEquals(2, before.getUpQueueDepth());
+    assertEquals(3, before.getDownQueueDepth());
+
+    for (int i = 0; i < 100; i++) {
+      validBuilding.step();
+    }
+    MetricsSnapshot after = validBuilding.getMetrics().snapshot();
+    assertEquals(100, after.getTick());
+    assertEquals(6, after.getRequestsAccepted());
+    assertTrue(after.getAllocations() >= 2 && after.getAllocations() < 100);
+    assertEquals(6, after.getRequestsAllocated());
+    assertTrue(after.getBatchesAllocated() >= 2);
+    assertEquals(6.0 / after.getAllocations(), after.getRequestsPerAllocation(), 1e-9);
+    assertEquals(0, after.getUpQueueDepth() + after.getDownQueueDepth());
+  }
+
+  /**
+   * Test that a request submitted before a stop is not served after the next start.
+   */
+  @Test
+  public void testSubmittedRequestDiscardedByStop() {
+    validBuilding.startElevatorSystem();
+    validBuilding.submitRequest(1, 4);
+    validBuilding.submitRequest(8, 2);
+    validBuilding.stopElevatorSystem();
+    validBuilding.startElevatorSystem();
+    validBuilding.submitRequest(3, 6);
+    validBuilding.step();
+    assertEquals(1, validBuilding.getMetrics().getRequestsAccepted());
+    validBuilding.advance(100);
+    MetricsSnapshot snapshot = validBuilding.getMetrics().snapshot();
+    assertEquals(1, snapshot.getRequestsAllocated());
+    assertEquals(0, snapshot.getUpQueueDepth() + snapshot.getDownQueueDepth());
+  }
+
+  /**
+   * Test that clearing the requests also discards the submitted requests.
+   */
+  @Test
+  public void testClearRequestsDiscardsSubmitted() {
+    validBuilding.startElevatorSystem();
+    validBuilding.submitRequest(1, 4);
+    validBuilding.clearRequests();
+    validBuilding.advance(100);
+    assertEquals(0, validBuilding.getMetrics().getRequestsAccepted());
+    assertEquals(0, validBuilding.getMetrics().snapshot().getRequestsAllocated());
+  }
+
+  /**
+   * Test that a snapshot holds the counters of every elevator.
+   */
+  @Test
+  public void testMetricsElevators() {
+    validBuilding.startElevatorSystem();
+    validBuilding.addRequest(1, 4);
+    validBuilding.addRequest(8, 2);
+    validBuilding.advance(200);
+    MetricsSnapshot snapshot = validBuilding.getMetrics().snapshot();
+    assertEquals(2, snapshot.getNumberOfElevators());
+    long doorOpenings = 0;
+    for (int i = 0; i < 2; i++) {
+      ElevatorMetrics metrics = validBuilding.getElevators().get(i).getMetrics();
+      assertEquals(metrics.getDoorOpenings(), snapshot.getDoorOpenings(i));
+      assertEquals(metrics.getFloorsTravelled(), snapshot.getFloorsTravelled(i));
+      assertEquals(metrics.getIdleTicks(), snapshot.getIdleTicks(i));
+      assertEquals(metrics.getDirectionReversals(), snapshot.getDirectionReversals(i));
+      assertTrue(snapshot.getIdleTicks(i) > 0 && snapshot.getIdleTicks(i) < 200);
+      doorOpenings += snapshot.getDoorOpenings(i);
+    }
+    assertEquals(4, doorOpenings);
+    assertEquals(doorOpenings, snapshot.getTotalDoorOpenings());
+    assertTrue(snapshot.getTotalFloorsTravelled() > 2 * 9);
+    assertTrue(snapshot.getTotalDirectionReversals() >= 4);
+  }
+
 }
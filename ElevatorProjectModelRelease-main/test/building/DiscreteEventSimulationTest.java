@@ -0,0 +1,125 @@
+package building;
+
+import static org.junit.Assert.assertEquals;
+
+import building.enums.DispatchMode;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Test class for the DiscreteEventSimulation class.
+ */
+public class DiscreteEventSimulationTest {
+
+  /**
+   * Test that the simulation gives the same snapshots as stepping every tick,
+   * with busy and with sparse traffic.
+   */
+  @Test
+  public void testMatchesSteps() {
+    for (DispatchMode mode : DispatchMode.values()) {
+      this.checkMatchesSteps(mode, 6, 2000);
+      this.checkMatchesSteps(mode, 300, 20000);
+    }
+  }
+
+  private void checkMatchesSteps(DispatchMode mode, int ticksBetweenRequests, int ticks) {
+    Random random = new Random(17);
+    int floors = 15;
+    Building stepped = new Building(floors, 4, 5, mode);
+    Building simulated = new Building(floors, 4, 5, mode);
+    stepped.startElevatorSystem();
+    simulated.startElevatorSystem();
+    DiscreteEventSimulation simulation = new DiscreteEventSimulation(simulated);
+
+    int[][] arrivals = new int[ticks][];
+    for (int tick = 0; tick < ticks; tick++) {
+      if (random.nextInt(ticksBetweenRequests) == 0) {
+        int start = random.nextInt(floors);
+        int end = random.nextInt(floors);
+        arrivals[tick] = new int[] {start, end};
+        simulation.scheduleRequest(tick, start, end);
+      }
+      if (tick % 97 == 0) {
+        simulation.scheduleSnapshot(tick);
+      }
+    }
+
+    BuildingReport last = simulation.runUntil(ticks);
+    List<BuildingReport> snapshots = simulation.drainSnapshots();
+
+    int snapshot = 0;
+    for (int tick = 0; tick < ticks; tick++) {
+      if (arrivals[tick] != null) {
+        stepped.addRequest(arrivals[tick][0], arrivals[tick][1]);
+      }
+      if (tick % 97 == 0) {
+        assertEquals("tick " + tick, stepped.getElevatorSystemStatus().toString(),
+            snapshots.get(snapshot++).toString());
+      }
+      stepped.step();
+    }
+    assertEquals(snapshots.size(), snapshot);
+    assertEquals(stepped.getElevatorSystemStatus().toString(), last.toString());
+    assertEquals(stepped.getCurrentTick(), simulated.getCurrentTick());
+  }
+
+  /**
+   * Test that the simulation can be run in several parts.
+   */
+  @Test
+  public void testRunInParts() {
+    Building stepped = new Building(10, 2, 4);
+    Building simulated = new Building(10, 2, 4);
+    stepped.startElevatorSystem();
+    simulated.startElevatorSystem();
+    DiscreteEventSimulation simulation = new DiscreteEventSimulation(simulated);
+
+    simulation.scheduleRequest(3, 1, 8);
+    simulation.runUntil(40);
+    simulation.scheduleRequest(40, 9, 2);
+    BuildingReport report = simulation.runUntil(100);
+
+    for (int tick = 0; tick < 100; tick++) {
+      if (tick == 3) {
+        stepped.addRequest(1, 8);
+      } else if (tick == 40) {
+        stepped.addRequest(9, 2);
+      }
+      stepped.step();
+    }
+    assertEquals(stepped.getElevatorSystemStatus().toString(), report.toString());
+    assertEquals(100, simulation.getCurrentTick());
+  }
+
+  /**
+   * Test that a simulation cannot be made for a building that is not running.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testBuildingNotRunning() {
+    new DiscreteEventSimulation(new Building(10, 2, 4));
+  }
+
+  /**
+   * Test that a request cannot be scheduled in the past.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testRequestInThePast() {
+    Building building = new Building(10, 2, 4);
+    building.startElevatorSystem();
+    DiscreteEventSimulation simulation = new DiscreteEventSimulation(building);
+    simulation.runUntil(10);
+    simulation.scheduleRequest(9, 1, 2);
+  }
+
+  /**
+   * Test that a request for a floor outside the building cannot be scheduled.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testRequestInvalidFloor() {
+    Building building = new Building(10, 2, 4);
+    building.startElevatorSystem();
+    new DiscreteEventSimulation(building).scheduleRequest(5, 1, 10);
+  }
+}
@@ -0,0 +1,127 @@
+package building;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+/**
+ * Test class for the Flight Recorder events of the building and its elevators.
+ */
+public class FlightRecorderEventsTest {
+
+  /**
+   * Run a building with a few requests and stop it.
+   */
+  private static void runBuilding() {
+    Building building = new Building(10, 2, 4);
+    building.startElevatorSystem();
+    building.addRequest(1, 4);
+    building.addRequest(8, 2);
+    building.addRequests(new int[] {0, 2, 3}, new int[] {9, 7, 5});
+    for (int i = 0; i < 50; i++) {
+      building.step();
+    }
+    building.addRequest(6, 0);
+    building.stopElevatorSystem();
+  }
+
+  /**
+   * Record a run of the building with the given events enabled.
+   *
+   * @param names the names of the events to enable
+   * @return the events of the simulation that were recorded
+   */
+  private static List<RecordedEvent> record(String... names) throws IOException {
+    Path file = Files.createTempFile("building", ".jfr");
+    try (Recording recording = new Recording()) {
+      for (String name : names) {
+        recording.enable(name);
+      }
+      recording.start();
+      runBuilding();
+      recording.stop();
+      recording.dump(file);
+      List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+      events.removeIf(event -> !event.getEventType().getName().startsWith("building.")
+          && !event.getEventType().getName().startsWith("elevator."));
+      return events;
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  /**
+   * Test that no event is recorded unless a recording enables it.
+   */
+  @Test
+  public void testDisabledByDefault() throws IOException {
+    assertEquals(0, record().size());
+  }
+
+  /**
+   * Test that the enabled events carry the ticks, batches and queue depths of the run.
+   */
+  @Test
+  public void testEventsRecorded() throws IOException {
+    List<RecordedEvent> events = record("building.Step", "building.Allocate",
+        "building.Stop", "elevator.ProcessRequests");
+
+    int steps = 0;
+    int allocated = 0;
+    int processed = 0;
+    int batches = 0;
+    int stops = 0;
+    for (RecordedEvent event : events) {
+      switch (event.getEventType().getName()) {
+        case "building.Step":
+          assertEquals(steps, event.getLong("tick"));
+          assertEquals(2, event.getInt("elevators"));
+          steps++;
+          break;
+        case "building.Allocate":
+          assertTrue(event.getInt("requests")
+              <= event.getInt("upQueueDepth") + event.getInt("downQueueDepth"));
+          allocated += event.getInt("requests");
+          batches += event.getInt("batches");
+          break;
+        case "elevator.ProcessRequests":
+          assertTrue(event.getInt("elevatorId") == 0 || event.getInt("elevatorId") == 1);
+          assertTrue(event.getInt("floor") == 0 || event.getInt("floor") == 9);
+          assertTrue(event.getInt("stops") >= 2);
+          processed += event.getInt("batchSize");
+          batches--;
+          break;
+        case "building.Stop":
+          assertEquals(50, event.getLong("tick"));
+          assertEquals(1, event.getInt("requestsCleared"));
+          stops++;
+          break;
+        default:
+          break;
+      }
+    }
+    assertEquals(50, steps);
+    assertEquals(5, allocated);
+    assertEquals(5, processed);
+    assertEquals(0, batches);
+    assertEquals(1, stops);
+  }
+
+  /**
+   * Test that only the events a recording enables are recorded.
+   */
+  @Test
+  public void testOnlyEnabledEvents() throws IOException {
+    List<RecordedEvent> events = record("building.Stop");
+    assertEquals(1, events.size());
+    assertEquals("building.Stop", events.get(0).getEventType().getName());
+  }
+}
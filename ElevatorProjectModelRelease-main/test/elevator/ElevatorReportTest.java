@@ -92,6 +92,32 @@ public class ElevatorReportTest {
     assertEquals(expected, report.toString());
   }
 
+  @Test
+  public void maskConstructorMatchesArrayConstructor() {
+    ElevatorReport fromMask = new ElevatorReport(
+        1,  // elevatorId
+        1,  // currentFloor
+        Direction.STOPPED, // direction
+        true,  // doorClosed
+        0b110,  // floorRequests
+        3,  // numberOfFloors
+        0,  // doorOpenTimer
+        0,  // endWaitTimer
+        false,  // outOfService
+        false  // isTakingRequests
+    );
+    assertEquals(report, fromMask);
+    assertEquals(report.hashCode(), fromMask.hashCode());
+    assertEquals(0b110, report.getFloorRequestMask());
+    assertEquals(3, report.getNumberOfFloors());
+  }
+
+  @Test
+  public void getFloorRequestsIsACopy() {
+    report.getFloorRequests()[0] = true;
+    assertFalse(report.getFloorRequests()[0]);
+  }
+
   @Test
   public void testEquals() {
     ElevatorReport report2 = new ElevatorReport(
@@ -3,10 +3,12 @@ package elevator;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import building.enums.Direction;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -173,6 +175,12 @@ public class ElevatorTest {
   }
 
 
+  @Test
+  public void elevatorIdGiven() {
+    System.out.println("Testing: elevatorIdGiven");
+    assertEquals(42, new Elevator(42, 10, 5).getElevatorId());
+  }
+
   /**
    * Test that the elevator starts out of service.
    */
@@ -307,6 +315,130 @@ public class ElevatorTest {
     }
   }
 
+  @Test
+  public void elevatorProcessRequestArrays() {
+    System.out.println("Testing: elevatorProcessRequestArrays");
+    Elevator elevator = new Elevator(10, 5);
+    elevator.start();
+    // only the first two requests are used
+    elevator.processRequests(new int[] {0, 0, 5}, new int[] {1, 2, 6}, 2);
+    boolean[] floorRequests = elevator.getFloorRequests();
+    assertTrue(floorRequests[0]);
+    assertTrue(floorRequests[1]);
+    assertTrue(floorRequests[2]);
+    for (int i = 3; i < floorRequests.length; i++) {
+      assertFalse(floorRequests[i]);
+    }
+    assertEquals(Direction.UP, elevator.getDirection());
+    assertFalse(elevator.isTakingRequests());
+  }
+
+  @Test
+  public void elevatorListenerToldWhenTakingRequestsChanges() {
+    System.out.println("Testing: elevatorListenerToldWhenTakingRequestsChanges");
+    Elevator elevator = new Elevator(3, 3);
+    List<Boolean> changes = new ArrayList<>();
+    elevator.setListener(changed -> changes.add(changed.isTakingRequests()));
+    elevator.start();
+    // waiting on the ground floor does not change anything
+    elevator.step();
+    elevator.processRequests(upThreeRequests);
+    elevator.takeOutOfService();
+    assertEquals(List.of(true, false), changes);
+  }
+
+  @Test
+  public void elevatorNextStop() {
+    System.out.println("Testing: elevatorNextStop");
+    Elevator elevator = new Elevator(10, 5);
+    assertEquals(-1, elevator.getNextStop());
+    elevator.start();
+    elevator.processRequests(new int[] {3, 0}, new int[] {6, 2}, 2);
+    assertEquals((1 << 0) | (1 << 2) | (1 << 3) | (1 << 6), elevator.getFloorRequestMask());
+    // the request on the ground floor is served first
+    assertEquals(2, elevator.getNextStop());
+    // open and close the door on the ground floor, then move up one floor
+    for (int i = 0; i < 5; i++) {
+      elevator.step();
+    }
+    assertEquals(1, elevator.getCurrentFloor());
+    assertEquals(2, elevator.getNextStop());
+  }
+
+  @Test
+  public void elevatorAdvanceMatchesSteps() {
+    System.out.println("Testing: elevatorAdvanceMatchesSteps");
+    Elevator stepped = new Elevator(10, 5);
+    Elevator advanced = new Elevator(10, 5);
+    stepped.start();
+    advanced.start();
+    Random random = new Random(7);
+    for (int round = 0; round < 200; round++) {
+      if (stepped.isTakingRequests() && random.nextBoolean()) {
+        List<Request> requests = stepped.getCurrentFloor() == 0 ? upTenRequests : downTenRequests;
+        stepped.processRequests(requests);
+        advanced.processRequests(requests);
+      }
+      if (round == 150) {
+        stepped.takeOutOfService();
+        advanced.takeOutOfService();
+      }
+      int ticks = random.nextInt(12);
+      for (int i = 0; i < ticks; i++) {
+        stepped.step();
+      }
+      advanced.advance(ticks);
+      assertEquals(stepped.toString(), advanced.toString());
+      assertEquals(stepped.isTakingRequests(), advanced.isTakingRequests());
+    }
+    // out of service on the ground floor with the door open nothing changes any more
+    assertEquals(Long.MAX_VALUE, advanced.getTicksUntilNextEvent());
+  }
+
+  @Test
+  public void elevatorAdvanceSkipsEmptyLoops() {
+    System.out.println("Testing: elevatorAdvanceSkipsEmptyLoops");
+    for (int ticks = 0; ticks < 200; ticks += 7) {
+      Elevator stepped = new Elevator(10, 5);
+      Elevator advanced = new Elevator(10, 5);
+      stepped.start();
+      advanced.start();
+      for (int i = 0; i < ticks; i++) {
+        stepped.step();
+      }
+      advanced.advance(ticks);
+      assertEquals(stepped.toString(), advanced.toString());
+      assertEquals(stepped.isTakingRequests(), advanced.isTakingRequests());
+    }
+
+    // a billion steps come back round to the same place as a few
+    Elevator advanced = new Elevator(10, 5);
+    Elevator stepped = new Elevator(10, 5);
+    advanced.start();
+    stepped.start();
+    advanced.advance(1_000_000_000L);
+    for (int i = 0; i < 1_000_000_000 % 30 + 30; i++) {
+      stepped.step();
+    }
+    assertEquals(stepped.toString(), advanced.toString());
+  }
+
+  @Test
+  public void elevatorTicksUntilNextEvent() {
+    System.out.println("Testing: elevatorTicksUntilNextEvent");
+    elevatorTenFloors10Capacity.start();
+    // the wait on the ground floor ends on the fifth step
+    assertEquals(5, elevatorTenFloors10Capacity.getTicksUntilNextEvent());
+    elevatorTenFloors10Capacity.advance(5);
+    // no requests: go all the way to the top floor, then start waiting there
+    assertEquals(10, elevatorTenFloors10Capacity.getTicksUntilNextEvent());
+    elevatorTenFloors10Capacity.advance(9);
+    assertEquals(9, elevatorTenFloors10Capacity.getCurrentFloor());
+    assertFalse(elevatorTenFloors10Capacity.isTakingRequests());
+    elevatorTenFloors10Capacity.advance(1);
+    assertTrue(elevatorTenFloors10Capacity.isTakingRequests());
+  }
+
   @Test
   public void elevatorProcessesRequests() {
     System.out.println("Testing: elevatorProcessesRequests");
@@ -1048,4 +1180,212 @@ public class ElevatorTest {
 
   }
 
-}
\ No newline at end of file
+  /**
+   * Test that the packed status holds the same state as the report.
+   */
+  @Test
+  public void elevatorPackedStatus() {
+    System.out.println("Testing: elevatorPackedStatus");
+    Elevator elevator = new Elevator(7, 30, 10);
+    assertEquals(elevator.getElevatorStatus(),
+        ElevatorState.toReport(7, elevator.getPackedStatus()));
+    elevator.start();
+    List<Request> requests = new ArrayList<>();
+    requests.add(new Request(0, 29));
+    requests.add(new Request(3, 17));
+    elevator.processRequests(requests);
+    for (int i = 0; i < 80; i++) {
+      long state = elevator.getPackedStatus();
+      assertEquals(elevator.getElevatorStatus(), ElevatorState.toReport(7, state));
+      assertEquals(elevator.getCurrentFloor(), ElevatorState.getCurrentFloor(state));
+      assertEquals(elevator.getFloorRequestMask(), ElevatorState.getFloorRequests(state));
+      elevator.step();
+    }
+    elevator.takeOutOfService();
+    assertEquals(elevator.getElevatorStatus(),
+        ElevatorState.toReport(7, elevator.getPackedStatus()));
+  }
+
+  /**
+   * Test that a value that does not fit in a packed state is rejected.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void elevatorPackedStatusThrowsForLargeTimer() {
+    System.out.println("Testing: elevatorPackedStatusThrowsForLargeTimer");
+    ElevatorState.pack(0, Direction.UP, true, 0, 10, 16, 0, false, true);
+  }
+
+  /**
+   * Test that a negative floor is rejected without changing the floor requests.
+   */
+  @Test
+  public void elevatorRejectsNegativeFloor() {
+    System.out.println("Testing: elevatorRejectsNegativeFloor");
+    Elevator elevator = new Elevator(5, 5);
+    elevator.start();
+    List<Request> requests = new ArrayList<>();
+    requests.add(new Request(0, 3));
+    requests.add(new Request(-1, 2));
+    try {
+      elevator.processRequests(requests);
+      fail("A negative floor should be rejected.");
+    } catch (IllegalArgumentException e) {
+      assertEquals(0, elevator.getFloorRequestMask());
+      assertTrue(elevator.isTakingRequests());
+    }
+  }
+
+  /**
+   * Test that a floor above the top floor is rejected, and does not wrap around.
+   */
+  @Test
+  public void elevatorRejectsTooHighFloor() {
+    System.out.println("Testing: elevatorRejectsTooHighFloor");
+    Elevator elevator = new Elevator(5, 5);
+    elevator.start();
+    try {
+      elevator.processRequests(new int[] {0, 1}, new int[] {3, 7}, 2);
+      fail("A floor above the top floor should be rejected.");
+    } catch (IllegalArgumentException e) {
+      assertEquals(0, elevator.getFloorRequestMask());
+      assertTrue(elevator.isTakingRequests());
+    }
+    try {
+      elevator.processRequests(new int[] {32}, new int[] {0}, 1);
+      fail("A floor of 32 should not wrap around to floor 0.");
+    } catch (IllegalArgumentException e) {
+      assertEquals(0, elevator.getFloorRequestMask());
+    }
+  }
+
+  /**
+   * Test that the metrics count door openings, floors, idle ticks and reversals.
+   */
+  @Test
+  public void elevatorMetrics() {
+    System.out.println("Testing: elevatorMetrics");
+    Elevator elevator = new Elevator(5, 5);
+    elevator.start();
+    // wait at the bottom, go up empty and turn at the top
+    for (int i = 0; i < 10; i++) {
+      elevator.step();
+    }
+    ElevatorMetrics metrics = elevator.getMetrics();
+    assertEquals(0, metrics.getDoorOpenings());
+    assertEquals(4, metrics.getFloorsTravelled());
+    assertEquals(10, metrics.getIdleTicks());
+    assertEquals(1, metrics.getDirectionReversals());
+
+    // carry a request from floor 2 to the bottom and turn there
+    elevator.processRequests(new int[] {2}, new int[] {0}, 1);
+    for (int i = 0; i < 13; i++) {
+      elevator.step();
+    }
+    metrics = elevator.fillMetrics(metrics);
+    assertEquals(2, metrics.getDoorOpenings());
+    assertEquals(8, metrics.getFloorsTravelled());
+    assertEquals(11, metrics.getIdleTicks());
+    assertEquals(2, metrics.getDirectionReversals());
+  }
+
+  /**
+   * Test that advance() counts the same metrics as stepping one tick at a time.
+   */
+  @Test
+  public void elevatorAdvanceCountsMetrics() {
+    System.out.println("Testing: elevatorAdvanceCountsMetrics");
+    for (int ticks = 0; ticks < 200; ticks += 7) {
+      Elevator stepped = new Elevator(10, 5);
+      Elevator advanced = new Elevator(10, 5);
+      stepped.start();
+      advanced.start();
+      stepped.step();
+      advanced.step();
+      stepped.processRequests(new int[] {3, 6}, new int[] {8, 9}, 2);
+      advanced.processRequests(new int[] {3, 6}, new int[] {8, 9}, 2);
+      for (int i = 0; i < ticks; i++) {
+        stepped.step();
+      }
+      advanced.advance(ticks);
+      if (ticks > 100) {
+        stepped.takeOutOfService();
+        advanced.takeOutOfService();
+        for (int i = 0; i < 20; i++) {
+          stepped.step();
+        }
+        advanced.advance(20);
+      }
+      assertMetricsEqual(stepped.getMetrics(), advanced.getMetrics());
+    }
+
+    // the empty loops that are skipped are counted too
+    Elevator advanced = new Elevator(10, 5);
+    Elevator stepped = new Elevator(10, 5);
+    advanced.start();
+    stepped.start();
+    advanced.advance(10_000);
+    for (int i = 0; i < 10_000; i++) {
+      stepped.step();
+    }
+    assertMetricsEqual(stepped.getMetrics(), advanced.getMetrics());
+    assertEquals(10_000, advanced.getMetrics().getIdleTicks());
+  }
+
+  /**
+   * Assert that two metrics hold the same counts.
+   *
+   * @param expected the expected metrics
+   * @param actual the actual metrics
+   */
+  private static void assertMetricsEqual(ElevatorMetrics expected, ElevatorMetrics actual) {
+    assertEquals(expected.getDoorOpenings(), actual.getDoorOpenings());
+    assertEquals(expected.getFloorsTravelled(), actual.getFloorsTravelled());
+    assertEquals(expected.getIdleTicks(), actual.getIdleTicks());
+    assertEquals(expected.getDirectionReversals(), actual.getDirectionReversals());
+  }
+
+  /**
+   * Test that fillStatus fills the same status as getElevatorStatus.
+   */
+  @Test
+  public void elevatorFillStatus() {
+    System.out.println("Testing: elevatorFillStatus");
+    MutableElevatorReport report = new MutableElevatorReport();
+    elevatorTenFloors10Capacity.start();
+    elevatorTenFloors10Capacity.processRequests(upTenRequests);
+    for (int i = 0; i < 30; i++) {
+      assertEquals(report, elevatorTenFloors10Capacity.fillStatus(report));
+      assertEquals(elevatorTenFloors10Capacity.getElevatorStatus(), report.toReport());
+      assertEquals(elevatorTenFloors10Capacity.toString(), report.toString());
+      elevatorTenFloors10Capacity.step();
+    }
+  }
+
+  /**
+   * Test that the renderer writes the same text as String.format.
+   */
+  @Test
+  public void elevatorReportRenderer() {
+    System.out.println("Testing: elevatorReportRenderer");
+    StringBuilder sb = new StringBuilder();
+    for (int value : new int[] {0, 7, 10, 29, 123}) {
+      sb.setLength(0);
+      assertEquals(String.format("%2d", value),
+          ReportRenderer.appendPadded(sb, value, 2).toString());
+    }
+
+    Elevator elevator = new Elevator(30, 10);
+    elevator.start();
+    List<Request> requests = new ArrayList<>();
+    requests.add(new Request(0, 29));
+    requests.add(new Request(4, 12));
+    elevator.processRequests(requests);
+    for (int i = 0; i < 90; i++) {
+      sb.setLength(0);
+      ReportRenderer.appendElevator(sb, elevator.getPackedStatus());
+      assertEquals(elevator.getElevatorStatus().toString(), sb.toString());
+      elevator.step();
+    }
+  }
+
+}
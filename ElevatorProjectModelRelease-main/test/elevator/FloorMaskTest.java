@@ -0,0 +1,44 @@
+package elevator;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Test class for the FloorMask class.
+ */
+public class FloorMaskTest {
+  private static final int FLOORS_2_5_29 = (1 << 2) | (1 << 5) | (1 << 29);
+
+  @Test
+  public void isRequested() {
+    assertTrue(FloorMask.isRequested(FLOORS_2_5_29, 5));
+    assertFalse(FloorMask.isRequested(FLOORS_2_5_29, 4));
+  }
+
+  @Test
+  public void nextAbove() {
+    assertEquals(2, FloorMask.nextAbove(FLOORS_2_5_29, 0));
+    assertEquals(5, FloorMask.nextAbove(FLOORS_2_5_29, 2));
+    assertEquals(29, FloorMask.nextAbove(FLOORS_2_5_29, 5));
+    assertEquals(-1, FloorMask.nextAbove(FLOORS_2_5_29, 29));
+  }
+
+  @Test
+  public void nextBelow() {
+    assertEquals(5, FloorMask.nextBelow(FLOORS_2_5_29, 29));
+    assertEquals(2, FloorMask.nextBelow(FLOORS_2_5_29, 5));
+    assertEquals(-1, FloorMask.nextBelow(FLOORS_2_5_29, 2));
+    assertEquals(-1, FloorMask.nextBelow(FLOORS_2_5_29, 0));
+  }
+
+  @Test
+  public void arrayRoundTrip() {
+    boolean[] requests = {true, false, false, true};
+    assertEquals(9, FloorMask.fromArray(requests));
+    assertArrayEquals(requests, FloorMask.toArray(9, 4));
+  }
+}
@@ -0,0 +1,85 @@
+package simulation;
+
+import static org.junit.Assert.assertEquals;
+
+import building.Building;
+import building.MutableBuildingReport;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Test;
+
+/**
+ * Test class for the ChannelReportSink class.
+ */
+public class ChannelReportSinkTest {
+
+  /**
+   * Test that the sink writes the same text as printing each report.
+   */
+  @Test
+  public void testWritesReports() throws IOException {
+    Path file = Files.createTempFile("reports", ".txt");
+    Building building = new Building(10, 3, 5);
+    building.startElevatorSystem();
+    building.addRequest(1, 7);
+    building.addRequest(9, 0);
+    MutableBuildingReport report = new MutableBuildingReport();
+    StringBuilder expected = new StringBuilder();
+    try (ReportSink sink = ChannelReportSink.open(file, FlushPolicy.WHEN_FULL, 1)) {
+      for (int i = 0; i < 200; i++) {
+        building.step();
+        sink.write(building.getElevatorSystemStatus(report));
+        sink.write(building.getElevatorSystemStatus());
+        String text = building.getElevatorSystemStatus().toString();
+        expected.append(text).append('\n').append(text).append('\n');
+      }
+    }
+    assertEquals(expected.toString(), Files.readString(file, StandardCharsets.US_ASCII));
+    Files.delete(file);
+  }
+
+  /**
+   * Test that the flush policy decides when reports reach the channel.
+   */
+  @Test
+  public void testFlushPolicy() throws IOException {
+    Building building = new Building(10, 3, 5);
+    String line = building.getElevatorSystemStatus() + "\n";
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ReportSink sink = new ChannelReportSink(Channels.newChannel(out),
+        FlushPolicy.EVERY_REPORT, 1, 4096);
+    sink.write(building.getElevatorSystemStatus());
+    assertEquals(line, out.toString(StandardCharsets.US_ASCII));
+
+    out = new ByteArrayOutputStream();
+    sink = new ChannelReportSink(Channels.newChannel(out), FlushPolicy.EVERY_N_REPORTS, 3, 4096);
+    sink.write(building.getElevatorSystemStatus());
+    sink.write(building.getElevatorSystemStatus());
+    assertEquals(0, out.size());
+    sink.write(building.getElevatorSystemStatus());
+    assertEquals(line.repeat(3), out.toString(StandardCharsets.US_ASCII));
+
+    out = new ByteArrayOutputStream();
+    sink = new ChannelReportSink(Channels.newChannel(out), FlushPolicy.WHEN_FULL, 1, 64);
+    sink.write(building.getElevatorSystemStatus());
+    assertEquals(line.length() / 64 * 64, out.size());
+    sink.close();
+    assertEquals(line, out.toString(StandardCharsets.US_ASCII));
+  }
+
+  /**
+   * Test that a closed sink cannot be written to.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testWriteAfterClose() throws IOException {
+    ReportSink sink = new ChannelReportSink(Channels.newChannel(new ByteArrayOutputStream()),
+        FlushPolicy.WHEN_FULL, 1, 64);
+    sink.close();
+    sink.write(new Building(10, 3, 5).getElevatorSystemStatus());
+  }
+}
@@ -0,0 +1,79 @@
+package simulation;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Test class for the LatencyHistogram class.
+ */
+public class LatencyHistogramTest {
+
+  /**
+   * Test the mean, the max and the percentiles.
+   */
+  @Test
+  public void testStatistics() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int ticks = 1; ticks <= 100; ticks++) {
+      histogram.record(ticks);
+    }
+    assertEquals(100, histogram.getCount());
+    assertEquals(50.5, histogram.getMean(), 1e-9);
+    assertEquals(100, histogram.getMax());
+    assertEquals(50, histogram.getPercentile(50));
+    assertEquals(95, histogram.getPercentile(95));
+    assertEquals(1, histogram.getPercentile(0));
+    assertEquals(100, histogram.getPercentile(100));
+  }
+
+  /**
+   * Test that latencies past the last bucket are reported as the max.
+   */
+  @Test
+  public void testOverflow() {
+    LatencyHistogram histogram = new LatencyHistogram(10);
+    histogram.record(3);
+    histogram.record(500);
+    assertEquals(3, histogram.getPercentile(50));
+    assertEquals(500, histogram.getPercentile(99));
+    assertEquals(251.5, histogram.getMean(), 1e-9);
+  }
+
+  /**
+   * Test that merging gives the same histogram as recording everything in one.
+   */
+  @Test
+  public void testMerge() {
+    LatencyHistogram all = new LatencyHistogram();
+    LatencyHistogram first = new LatencyHistogram();
+    LatencyHistogram second = new LatencyHistogram();
+    for (int ticks = 0; ticks < 50; ticks++) {
+      all.record(ticks * 3);
+      (ticks % 2 == 0 ? first : second).record(ticks * 3);
+    }
+    first.merge(second);
+    assertEquals(all.getCount(), first.getCount());
+    assertEquals(all.getMean(), first.getMean(), 1e-9);
+    assertEquals(all.getMax(), first.getMax());
+    assertEquals(all.getPercentile(90), first.getPercentile(90));
+  }
+
+  /**
+   * Test that an empty histogram reports 0.
+   */
+  @Test
+  public void testEmpty() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    assertEquals(0, histogram.getPercentile(50));
+    assertEquals(0, histogram.getMean(), 1e-9);
+  }
+
+  /**
+   * Test that a negative latency cannot be recorded.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegative() {
+    new LatencyHistogram().record(-1);
+  }
+}
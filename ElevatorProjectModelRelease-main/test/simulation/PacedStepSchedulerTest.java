@@ -0,0 +1,200 @@
+package simulation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import building.Building;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+
+/**
+ * Test class for the PacedStepScheduler class.
+ */
+public class PacedStepSchedulerTest {
+
+  /**
+   * Test that paced ticks take at least their periods and step the building.
+   */
+  @Test
+  public void testPacedTicks() {
+    Building building = new Building(10, 2, 4);
+    building.startElevatorSystem();
+    PacedStepScheduler scheduler = new PacedStepScheduler(building::step, 2, TimeUnit.MILLISECONDS);
+
+    long start = System.nanoTime();
+    scheduler.run(20);
+    long elapsed = System.nanoTime() - start;
+
+    assertEquals(20, building.getCurrentTick());
+    assertEquals(20, scheduler.getStatistics().getTicks());
+    // the first tick starts right away, the last one 19 periods later
+    assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(38));
+  }
+
+  /**
+   * Test that ticks which take longer than the period are counted as overruns.
+   */
+  @Test
+  public void testOverruns() {
+    PacedStepScheduler scheduler = new PacedStepScheduler(
+        () -> sleep(3), 1, TimeUnit.MILLISECONDS);
+    scheduler.run(5);
+    TickStatistics statistics = scheduler.getStatistics();
+    assertEquals(5, statistics.getOverruns());
+    assertTrue(statistics.getMeanTickMicros() >= 3000);
+  }
+
+  /**
+   * Test that as fast as possible does not wait for the period.
+   */
+  @Test
+  public void testAsFastAsPossible() {
+    AtomicLong count = new AtomicLong();
+    PacedStepScheduler scheduler = new PacedStepScheduler(
+        count::incrementAndGet, 1, TimeUnit.SECONDS);
+    scheduler.setAsFastAsPossible(true);
+    long start = System.nanoTime();
+    scheduler.run(1000);
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+    assertEquals(1000, count.get());
+    assertEquals(0, scheduler.getStatistics().getOverruns());
+  }
+
+  /**
+   * Test that a scheduler started on its own thread stops.
+   */
+  @Test
+  public void testStartAndStop() throws InterruptedException {
+    AtomicLong count = new AtomicLong();
+    PacedStepScheduler scheduler = new PacedStepScheduler(
+        count::incrementAndGet, 1, TimeUnit.MILLISECONDS);
+    scheduler.start();
+    while (count.get() < 5) {
+      Thread.sleep(1);
+    }
+    scheduler.stop();
+    long stopped = count.get();
+    Thread.sleep(10);
+    assertEquals(stopped, count.get());
+    assertEquals(stopped, scheduler.getStatistics().getTicks());
+  }
+
+  /**
+   * Test that a tick which throws stops the scheduler, and that stop() rethrows it.
+   */
+  @Test
+  public void testFailedTickStopsScheduler() throws InterruptedException {
+    AtomicLong count = new AtomicLong();
+    PacedStepScheduler scheduler = new PacedStepScheduler(() -> {
+      if (count.incrementAndGet() == 3) {
+        throw new IllegalStateException("broken tick");
+      }
+    }, 1, TimeUnit.MILLISECONDS);
+    scheduler.start();
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (scheduler.isRunning() && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    assertFalse(scheduler.isRunning());
+    assertEquals("broken tick", scheduler.getFailure().getMessage());
+    try {
+      scheduler.stop();
+      fail("stop() should rethrow the failed tick.");
+    } catch (IllegalStateException e) {
+      assertEquals("broken tick", e.getCause().getMessage());
+    }
+    assertNull(scheduler.getFailure());
+
+    scheduler.run(2);
+    assertEquals(5, count.get());
+  }
+
+  /**
+   * Test that stop() called from another thread returns once run() returns,
+   * even though the thread that called run() is still alive.
+   */
+  @Test(timeout = 10000)
+  public void testStopDuringRun() throws InterruptedException {
+    AtomicLong count = new AtomicLong();
+    PacedStepScheduler scheduler = new PacedStepScheduler(
+        count::incrementAndGet, 1, TimeUnit.MILLISECONDS);
+    CountDownLatch returned = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Thread runner = new Thread(() -> {
+      scheduler.run(Long.MAX_VALUE);
+      returned.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    runner.start();
+    while (count.get() < 5) {
+      Thread.sleep(1);
+    }
+    scheduler.stop();
+    assertTrue(returned.await(5, TimeUnit.SECONDS));
+    assertTrue(runner.isAlive());
+    assertFalse(scheduler.isRunning());
+    release.countDown();
+    runner.join();
+  }
+
+  /**
+   * Test that a start() racing with stop() never has two loops ticking at once.
+   */
+  @Test(timeout = 10000)
+  public void testRestartNeverTicksTwice() throws InterruptedException {
+    AtomicInteger active = new AtomicInteger();
+    AtomicInteger most = new AtomicInteger();
+    PacedStepScheduler scheduler = new PacedStepScheduler(() -> {
+      most.accumulateAndGet(active.incrementAndGet(), Math::max);
+      sleep(1);
+      active.decrementAndGet();
+    }, 1, TimeUnit.MILLISECONDS);
+    scheduler.setAsFastAsPossible(true);
+    for (int i = 0; i < 20; i++) {
+      scheduler.start();
+      Thread stopper = new Thread(() -> {
+        try {
+          scheduler.stop();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      });
+      stopper.start();
+      while (scheduler.isRunning()) {
+        Thread.onSpinWait();
+      }
+      // the old loop may still be in its tick when the next run starts
+      scheduler.start();
+      sleep(2);
+      scheduler.stop();
+      stopper.join();
+    }
+    assertEquals(1, most.get());
+  }
+
+  /**
+   * Test that the period must be greater than 0.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidPeriod() {
+    new PacedStepScheduler(() -> { }, 0, TimeUnit.MILLISECONDS);
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,152 @@
+package simulation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import building.Building;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+/**
+ * Test class for the ReplayEngine class.
+ */
+public class ReplayEngineTest {
+
+  /**
+   * Build a text log of random requests.
+   *
+   * @param seed the seed of the requests
+   * @return the log
+   */
+  private static String randomLog(long seed) {
+    Random random = new Random(seed);
+    StringBuilder log = new StringBuilder("# tick startFloor endFloor\n");
+    long tick = 0;
+    for (int i = 0; i < 200; i++) {
+      tick += random.nextInt(8);
+      int start = random.nextInt(12);
+      int end = (start + 1 + random.nextInt(11)) % 12;
+      log.append(tick).append(' ').append(start).append(' ').append(end).append('\n');
+    }
+    return log.toString();
+  }
+
+  /**
+   * Replay a text log into the same kind of building the same way by hand.
+   *
+   * @param log the log
+   * @param extraTicks the ticks to run after the last request
+   * @return the building
+   */
+  private static Building replayByHand(String log, long extraTicks) {
+    Building building = new Building(12, 3, 8);
+    building.startElevatorSystem();
+    for (String line : log.split("\n")) {
+      if (line.startsWith("#")) {
+        continue;
+      }
+      String[] parts = line.split(" ");
+      while (building.getCurrentTick() < Long.parseLong(parts[0])) {
+        building.step();
+      }
+      building.addRequest(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+    }
+    for (int i = 0; i < extraTicks; i++) {
+      building.step();
+    }
+    return building;
+  }
+
+  /**
+   * Test that a fast replay gives the same run as adding and stepping by hand.
+   */
+  @Test
+  public void testReplayMatchesSteps() throws IOException {
+    String log = randomLog(5);
+    Building building = new Building(12, 3, 8);
+    building.startElevatorSystem();
+    ReplayResult result = new ReplayEngine(building).replay(
+        new TextRequestLog(new BufferedReader(new StringReader(log))), 50);
+    assertEquals(200, result.getRequests());
+    assertNull(result.getTickStatistics());
+
+    Building expected = replayByHand(log, 50);
+    assertEquals(expected.getCurrentTick(), result.getTicks());
+    assertEquals(expected.getElevatorSystemStatus().toString(),
+        building.getElevatorSystemStatus().toString());
+  }
+
+  /**
+   * Test that a paced replay gives the same run as a fast one.
+   */
+  @Test
+  public void testPacedReplayMatchesSteps() throws IOException {
+    String log = randomLog(9);
+    Building building = new Building(12, 3, 8);
+    building.startElevatorSystem();
+    ReplayEngine engine = new ReplayEngine(building);
+    engine.setTickPeriod(20, TimeUnit.MICROSECONDS);
+    ReplayResult result = engine.replay(
+        new TextRequestLog(new BufferedReader(new StringReader(log))), 10);
+    assertNotNull(result.getTickStatistics());
+
+    Building expected = replayByHand(log, 10);
+    assertEquals(expected.getCurrentTick(), result.getTicks());
+    assertEquals(expected.getElevatorSystemStatus().toString(),
+        building.getElevatorSystemStatus().toString());
+  }
+
+  /**
+   * Test that the requests of a recorded trace replay into the same run.
+   */
+  @Test
+  public void testReplayTrace() throws IOException {
+    Path file = Files.createTempFile("run", ".trace");
+    Building recorded = new Building(12, 3, 8);
+    recorded.startElevatorSystem();
+    Random random = new Random(2);
+    long lastRequestTick = 0;
+    try (TraceWriter writer = TraceWriter.open(file, recorded)) {
+      for (int i = 0; i < 500; i++) {
+        if (random.nextInt(3) == 0) {
+          int start = random.nextInt(12);
+          int end = (start + 1 + random.nextInt(11)) % 12;
+          writer.writeRequest(recorded.getCurrentTick(), start, end);
+          lastRequestTick = recorded.getCurrentTick();
+          recorded.addRequest(start, end);
+        }
+        recorded.step();
+        writer.writeState(recorded);
+      }
+    }
+
+    Building building = new Building(12, 3, 8);
+    building.startElevatorSystem();
+    try (TraceReader reader = TraceReader.open(file)) {
+      new ReplayEngine(building).replay(reader.requests(),
+          recorded.getCurrentTick() - lastRequestTick);
+    }
+    assertEquals(recorded.getCurrentTick(), building.getCurrentTick());
+    assertEquals(recorded.getElevatorSystemStatus().toString(),
+        building.getElevatorSystemStatus().toString());
+    Files.delete(file);
+  }
+
+  /**
+   * Test that a log that is not valid cannot be replayed.
+   */
+  @Test(expected = IOException.class)
+  public void testReplayBadLog() throws IOException {
+    Building building = new Building(12, 3, 8);
+    building.startElevatorSystem();
+    new ReplayEngine(building).replay(
+        new TextRequestLog(new BufferedReader(new StringReader("3 1 4\n2 1 4\n"))), 0);
+  }
+}
@@ -0,0 +1,120 @@
+package simulation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import building.Building;
+import org.junit.Test;
+
+/**
+ * Test class for the RequestTracker class.
+ */
+public class RequestTrackerTest {
+
+  /**
+   * Test that every request that was dropped off went through its life in order,
+   * and that its total is its wait plus its trip.
+   */
+  @Test
+  public void testLifecycle() {
+    Building building = new Building(12, 3, 8);
+    building.startElevatorSystem();
+    RequestTracker tracker = new RequestTracker(building, 100);
+    TrafficGenerator traffic = new TrafficGenerator(12, TrafficPattern.UNIFORM, 0.05, 3);
+    for (int tick = 0; tick < 500; tick++) {
+      traffic.addTo(building);
+      building.step();
+      tracker.afterStep(building.getCurrentTick());
+    }
+
+    assertTrue(tracker.getCompleted() > 0);
+    assertEquals(tracker.getCompleted(), tracker.getTotals().getCount());
+    assertEquals(tracker.getCompleted(), tracker.getTrips().getCount());
+    assertEquals(Math.min(100, tracker.getCompleted()), tracker.getHistorySize());
+    long waited = 0;
+    for (int i = 0; i < tracker.getHistorySize(); i++) {
+      assertTrue(tracker.getArrivalTick(i) <= tracker.getAssignTick(i));
+      assertTrue(tracker.getAssignTick(i) <= tracker.getPickupTick(i));
+      assertTrue(tracker.getPickupTick(i) <= tracker.getDropoffTick(i));
+      assertTrue(tracker.getElevatorId(i) >= 0 && tracker.getElevatorId(i) < 3);
+      assertTrue(tracker.getStartFloor(i) != tracker.getEndFloor(i));
+      if (i > 0) {
+        assertTrue(tracker.getDropoffTick(i - 1) <= tracker.getDropoffTick(i));
+      }
+      waited += tracker.getDropoffTick(i) - tracker.getArrivalTick(i);
+    }
+    if (tracker.getCompleted() <= 100) {
+      assertEquals((double) waited / tracker.getCompleted(), tracker.getTotals().getMean(), 1e-9);
+    }
+  }
+
+  /**
+   * Test that the history keeps only the requests that were dropped off last.
+   */
+  @Test
+  public void testHistoryKeepsLast() {
+    Building building = new Building(6, 1, 8);
+    building.startElevatorSystem();
+    RequestTracker tracker = new RequestTracker(building, 2);
+    for (int trip = 0; trip < 3; trip++) {
+      building.addRequest(trip % 2 == 0 ? 0 : 5, trip % 2 == 0 ? 5 : 0);
+      for (int tick = 0; tick < 100; tick++) {
+        building.step();
+        tracker.afterStep(building.getCurrentTick());
+      }
+    }
+
+    assertEquals(3, tracker.getCompleted());
+    assertEquals(2, tracker.getHistorySize());
+    assertEquals(5, tracker.getStartFloor(0));
+    assertEquals(0, tracker.getEndFloor(0));
+    assertEquals(0, tracker.getStartFloor(1));
+    assertEquals(5, tracker.getEndFloor(1));
+    assertEquals(0, tracker.getElevatorId(1));
+  }
+
+  /**
+   * Test that the requests on board when the system stops are not counted as dropped off.
+   */
+  @Test
+  public void testStopWithRequestsInFlight() {
+    Building building = new Building(10, 1, 8);
+    building.startElevatorSystem();
+    RequestTracker tracker = new RequestTracker(building, 10);
+    building.addRequest(2, 8);
+    for (int tick = 0; tick < 4; tick++) {
+      building.step();
+      tracker.afterStep(building.getCurrentTick());
+    }
+    building.stopElevatorSystem();
+    building.startElevatorSystem();
+    for (int tick = 0; tick < 50; tick++) {
+      building.step();
+      tracker.afterStep(building.getCurrentTick());
+    }
+
+    assertEquals(0, tracker.getCompleted());
+    assertEquals(1, tracker.getCancelled());
+    assertEquals(0, tracker.getHistorySize());
+    assertEquals(0, tracker.getTrips().getCount());
+    assertEquals(0, tracker.getTotals().getCount());
+  }
+
+  /**
+   * Test that a request outside of the history cannot be read.
+   */
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testHistoryIndexOutOfRange() {
+    Building building = new Building(6, 1, 8);
+    RequestTracker tracker = new RequestTracker(building, 4);
+    tracker.getArrivalTick(0);
+  }
+
+  /**
+   * Test that the history cannot have a negative size.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeHistory() {
+    new RequestTracker(new Building(6, 1, 8), -1);
+  }
+}
@@ -0,0 +1,73 @@
+package simulation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import building.enums.DispatchMode;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Test class for the ScenarioRunner class.
+ */
+public class ScenarioRunnerTest {
+
+  /**
+   * Test that a scenario always gives the same result for the same seed.
+   */
+  @Test
+  public void testScenarioIsRepeatable() {
+    Scenario scenario = new Scenario(12, 3, 8, DispatchMode.allAvailable, 0.1, 3000, 7);
+    ScenarioResult first = ScenarioRunner.runScenario(scenario);
+    ScenarioResult second = ScenarioRunner.runScenario(scenario);
+    assertEquals(first.toCsvRow("x"), second.toCsvRow("x"));
+    assertTrue(first.getRequests() > 200);
+    assertTrue(first.getCompleted() > 0);
+    assertEquals(first.getCompleted(), first.getTrips().getCount());
+    assertTrue(first.getWaits().getCount() >= first.getCompleted());
+  }
+
+  /**
+   * Test that running scenarios on many threads writes a row for each of them
+   * and gives the same summary as running them one at a time.
+   */
+  @Test
+  public void testRun() throws IOException {
+    List<Scenario> scenarios = new ArrayList<>();
+    for (int seed = 0; seed < 20; seed++) {
+      scenarios.add(new Scenario(10, 2, 6, DispatchMode.firstAvailable, 0.05, 2000, seed));
+      scenarios.add(new Scenario(10, 4, 6, DispatchMode.allAvailable, 0.05, 2000, seed));
+    }
+
+    Path output = Files.createTempFile("scenarios", ".csv");
+    try {
+      List<ScenarioResult> summaries = new ScenarioRunner(4).run(scenarios, output);
+      List<String> lines = Files.readAllLines(output);
+      assertEquals(ScenarioResult.CSV_HEADER, lines.get(0));
+      assertEquals(1 + scenarios.size() + 2, lines.size());
+
+      assertEquals(2, summaries.size());
+      ScenarioResult expected = ScenarioResult.summaryOf(scenarios.get(0).getConfiguration());
+      for (int i = 0; i < scenarios.size(); i += 2) {
+        expected.merge(ScenarioRunner.runScenario(scenarios.get(i)));
+      }
+      assertEquals(expected.toCsvRow("all"), summaries.get(0).toCsvRow("all"));
+      assertEquals(20, summaries.get(0).getScenarios());
+      assertEquals(expected.toCsvRow("all"), lines.get(lines.size() - 2));
+    } finally {
+      Files.delete(output);
+    }
+  }
+
+  /**
+   * Test that the runner needs at least one thread.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoThreads() {
+    new ScenarioRunner(0);
+  }
+}
@@ -0,0 +1,113 @@
+package simulation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import building.Building;
+import building.BuildingSnapshot;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Test class for the TraceWriter and TraceReader classes.
+ */
+public class TraceTest {
+
+  /**
+   * Test that a trace reads back the requests and elevator states that were written,
+   * and is much smaller than the text of the reports.
+   */
+  @Test
+  public void testTraceRoundTrip() throws IOException {
+    Path file = Files.createTempFile("run", ".trace");
+    Building building = new Building(20, 6, 10);
+    building.startElevatorSystem();
+    Random random = new Random(3);
+    List<long[]> requests = new ArrayList<>();
+    List<BuildingSnapshot> snapshots = new ArrayList<>();
+    long textBytes = 0;
+    try (TraceWriter writer = TraceWriter.open(file, building)) {
+      for (int i = 0; i < 2000; i++) {
+        if (random.nextInt(4) == 0) {
+          int start = random.nextInt(20);
+          int end = (start + 1 + random.nextInt(19)) % 20;
+          building.addRequest(start, end);
+          writer.writeRequest(building.getCurrentTick(), start, end);
+          requests.add(new long[] {building.getCurrentTick(), start, end});
+        }
+        building.step();
+        writer.writeState(building);
+        snapshots.add(building.getElevatorSystemSnapshot());
+        textBytes += building.getElevatorSystemStatus().toString().length() + 1;
+      }
+    }
+    assertTrue(Files.size(file) * 10 < textBytes);
+
+    int request = 0;
+    int states = 0;
+    try (TraceReader reader = TraceReader.open(file)) {
+      assertEquals(20, reader.getNumFloors());
+      assertEquals(6, reader.getNumElevators());
+      assertEquals(10, reader.getElevatorCapacity());
+      for (TraceRecord record = reader.next(); record != null; record = reader.next()) {
+        if (record == TraceRecord.REQUEST) {
+          assertEquals(requests.get(request)[0], reader.getTick());
+          assertEquals(requests.get(request)[1], reader.getStartFloor());
+          assertEquals(requests.get(request)[2], reader.getEndFloor());
+          request++;
+        } else {
+          BuildingSnapshot snapshot = snapshots.get((int) reader.getTick() - 1);
+          assertEquals(snapshot.getTick(), reader.getTick());
+          for (int i = 0; i < 6; i++) {
+            assertEquals(snapshot.getElevatorState(i), reader.getElevatorState(i));
+          }
+          assertTrue(reader.getChangedCount() > 0);
+          states++;
+        }
+      }
+      assertNull(reader.next());
+    }
+    assertEquals(requests.size(), request);
+    assertTrue(states > 0);
+    Files.delete(file);
+  }
+
+  /**
+   * Test that a trace that is cut short cannot be read to the end.
+   */
+  @Test(expected = EOFException.class)
+  public void testTraceCutShort() throws IOException {
+    Building building = new Building(10, 2, 5);
+    building.startElevatorSystem();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TraceWriter writer = new TraceWriter(Channels.newChannel(out), 10, 2, 5);
+    writer.writeState(building);
+    writer.flush();
+    TraceReader reader = new TraceReader(Channels.newChannel(
+        new ByteArrayInputStream(out.toByteArray())));
+    while (reader.next() != null) {
+      continue;
+    }
+  }
+
+  /**
+   * Test that the ticks of a trace cannot go back.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testTraceTickGoesBack() throws IOException {
+    TraceWriter writer = new TraceWriter(Channels.newChannel(new ByteArrayOutputStream()),
+        10, 2, 5);
+    writer.writeRequest(5, 1, 2);
+    writer.writeRequest(4, 1, 2);
+  }
+}
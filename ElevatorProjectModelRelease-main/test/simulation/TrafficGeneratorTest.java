@@ -0,0 +1,95 @@
+package simulation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import building.Building;
+import org.junit.Test;
+
+/**
+ * Test class for the TrafficGenerator class.
+ */
+public class TrafficGeneratorTest {
+
+  /**
+   * Test that the same seed always gives the same arrivals.
+   */
+  @Test
+  public void testSeedIsRepeatable() {
+    TrafficGenerator first = new TrafficGenerator(20, TrafficPattern.INTER_FLOOR, 0.7, 11);
+    TrafficGenerator second = new TrafficGenerator(20, TrafficPattern.INTER_FLOOR, 0.7, 11);
+    for (int tick = 0; tick < 5000; tick++) {
+      int count = first.nextTick();
+      assertEquals(count, second.nextTick());
+      for (int i = 0; i < count; i++) {
+        assertEquals(first.getStartFloor(i), second.getStartFloor(i));
+        assertEquals(first.getEndFloor(i), second.getEndFloor(i));
+        assertNotEquals(first.getStartFloor(i), first.getEndFloor(i));
+      }
+    }
+  }
+
+  /**
+   * Test that the arrivals have the mean rate, and the trips follow the weights.
+   */
+  @Test
+  public void testRateAndPattern() {
+    TrafficGenerator traffic = new TrafficGenerator(10, TrafficPattern.UP_PEAK, 2.5, 3);
+    int ticks = 40000;
+    long requests = 0;
+    long fromLobby = 0;
+    long toLobby = 0;
+    for (int tick = 0; tick < ticks; tick++) {
+      int count = traffic.nextTick();
+      requests += count;
+      for (int i = 0; i < count; i++) {
+        if (traffic.getStartFloor(i) == 0) {
+          fromLobby++;
+        } else if (traffic.getEndFloor(i) == 0) {
+          toLobby++;
+        }
+      }
+    }
+    assertEquals(2.5, (double) requests / ticks, 0.05);
+    assertEquals(0.85, (double) fromLobby / requests, 0.01);
+    assertEquals(0.05, (double) toLobby / requests, 0.01);
+  }
+
+  /**
+   * Test that a trip with no weight is never picked.
+   */
+  @Test
+  public void testOneTrip() {
+    double[][] weights = new double[5][5];
+    weights[3][1] = 2;
+    TrafficGenerator traffic = new TrafficGenerator(weights, 4, 1);
+    for (int tick = 0; tick < 1000; tick++) {
+      for (int i = 0; i < traffic.nextTick(); i++) {
+        assertEquals(3, traffic.getStartFloor(i));
+        assertEquals(1, traffic.getEndFloor(i));
+      }
+    }
+  }
+
+  /**
+   * Test that the arrivals are added to a building.
+   */
+  @Test
+  public void testAddTo() {
+    Building building = new Building(10, 2, 5);
+    building.startElevatorSystem();
+    TrafficGenerator traffic = new TrafficGenerator(10, TrafficPattern.DOWN_PEAK, 3, 8);
+    int added = traffic.addTo(building);
+    assertEquals(added, building.getUpRequestCount() + building.getDownRequestCount());
+  }
+
+  /**
+   * Test that a trip from a floor to itself is not allowed.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testTripToSameFloor() {
+    double[][] weights = new double[4][4];
+    weights[2][2] = 1;
+    new TrafficGenerator(weights, 1, 1);
+  }
+}